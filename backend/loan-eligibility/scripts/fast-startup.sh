@@ -0,0 +1,118 @@
+#!/usr/bin/env bash
+# Fast-startup build, launcher and startup benchmark for LoanEligibilityApplication.
+#
+#   scripts/fast-startup.sh build        AOT-processed jar for the fast-startup profile, extracted to target/fast-startup,
+#                                        plus an AppCDS archive (app.jsa) recorded by a training run that serves a few
+#                                        requests of each kind
+#   scripts/fast-startup.sh run [args]   starts the extracted application with AOT and the archive
+#   scripts/fast-startup.sh benchmark    time from JVM launch to the first 200 from POST /api/check-eligibility,
+#                                        RUNS times in each mode: plain, lazy, lazy+aot, lazy+aot+cds
+#
+# BASE_PROFILES is the storage profile the instances run with: empty for MongoDB (the default), "embedded" for the
+# memory-mapped store. AOT fixes the bean definitions at build time, so build and run must use the same value.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+BASE_PROFILES=${BASE_PROFILES:-}
+RUNS=${RUNS:-5}
+PORT=${PORT:-18090}
+OUT=target/fast-startup
+JAR=$OUT/loan-eligibility-0.0.1-SNAPSHOT.jar
+ARCHIVE=$OUT/app.jsa
+FAST_PROFILES=${BASE_PROFILES:+$BASE_PROFILES,}fast-startup
+ELIGIBILITY='{"name":"Asha Rao","age":32,"annualIncome":1500000,"creditScore":760,"monthlyDebtPayments":10000,"requestedAmount":500000,"loanTenure":60,"employmentType":"FULL_TIME"}'
+APPLICATION='{"name":"Asha Rao","email":"asha.rao@example.com","phone":"9876543210","age":32,"annualIncome":1500000,"creditScore":760,"monthlyDebtPayments":10000,"requestedAmount":500000,"loanTenure":60,"employmentType":"FULL_TIME","loanPurpose":"HOME"}'
+
+# Storage for one launch; embedded instances get a fresh directory so runs do not depend on earlier data
+storage_args() {
+    if [[ ",$BASE_PROFILES," == *",embedded,"* ]]; then
+        echo "--embedded.storage.directory=$(mktemp -d)"
+    fi
+}
+
+post() {
+    curl -s -o /dev/null -w '%{http_code}' -X POST "http://localhost:$PORT$1" -H 'Content-Type: application/json' -d "$2"
+}
+
+# Polls until the eligibility endpoint answers 200; prints nothing, fails after 120 s
+wait_for_first_eligibility() {
+    local deadline=$((SECONDS + 120))
+    until [[ $(post /api/check-eligibility "$ELIGIBILITY") == 200 ]]; do
+        if ((SECONDS > deadline)); then
+            echo "No 200 from /api/check-eligibility within 120 s" >&2
+            return 1
+        fi
+        sleep 0.01
+    done
+}
+
+stop() {
+    kill -TERM "$1" 2>/dev/null || true
+    wait "$1" 2>/dev/null || true
+}
+
+build() {
+    mvn -B -q -Pfast-startup -Dfast-startup.profiles="$FAST_PROFILES" package -DskipTests
+    rm -rf "$OUT"
+    java -Djarmode=tools -jar target/loan-eligibility-0.0.1-SNAPSHOT.jar extract --destination "$OUT"
+
+    # Training run: classes loaded while starting and serving each kind of request go into the archive, which the
+    # JVM writes when it exits
+    echo "Recording the class-data archive ($FAST_PROFILES)"
+    java -XX:ArchiveClassesAtExit="$ARCHIVE" -Dspring.aot.enabled=true -jar "$JAR" \
+        --spring.profiles.active="$FAST_PROFILES" --server.port="$PORT" $(storage_args) > "$OUT/training.log" 2>&1 &
+    local pid=$!
+    wait_for_first_eligibility
+    for _ in 1 2 3; do
+        post /api/check-eligibility-and-save "$APPLICATION" > /dev/null
+        curl -s -o /dev/null "http://localhost:$PORT/api/get-applications?email=asha.rao@example.com"
+        curl -s -o /dev/null "http://localhost:$PORT/api/admin/stats"
+        curl -s -o /dev/null "http://localhost:$PORT/actuator/health"
+    done
+    stop "$pid"
+    ls -l "$ARCHIVE"
+}
+
+run() {
+    exec java -XX:SharedArchiveFile="$ARCHIVE" -Dspring.aot.enabled=true -jar "$JAR" \
+        --spring.profiles.active="$FAST_PROFILES" "$@"
+}
+
+# Milliseconds from launch to the first 200 for one start of the given mode
+measure() {
+    local mode=$1 jvm_args=() profiles=$FAST_PROFILES
+    case $mode in
+        plain) profiles=$BASE_PROFILES ;;
+        lazy) ;;
+        lazy+aot) jvm_args=(-Dspring.aot.enabled=true) ;;
+        lazy+aot+cds) jvm_args=(-Dspring.aot.enabled=true -XX:SharedArchiveFile="$ARCHIVE") ;;
+    esac
+    local start=$(date +%s%N)
+    java "${jvm_args[@]}" -jar "$JAR" ${profiles:+--spring.profiles.active=$profiles} --server.port="$PORT" \
+        $(storage_args) > "$OUT/benchmark-$mode.log" 2>&1 &
+    local pid=$!
+    wait_for_first_eligibility
+    echo $(( ($(date +%s%N) - start) / 1000000 ))
+    stop "$pid"
+}
+
+benchmark() {
+    [[ -f $ARCHIVE ]] || { echo "Run '$0 build' first" >&2; exit 1; }
+    echo "Time to first successful POST /api/check-eligibility, $RUNS starts per mode (base profiles: ${BASE_PROFILES:-none})"
+    printf '%-14s %8s %8s %8s\n' mode min_ms median_ms max_ms
+    for mode in plain lazy lazy+aot lazy+aot+cds; do
+        local times=()
+        for ((i = 0; i < RUNS; i++)); do
+            times+=("$(measure "$mode")")
+        done
+        local sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+        printf '%-14s %8s %8s %8s\n' "$mode" "${sorted[0]}" "${sorted[$((RUNS / 2))]}" "${sorted[$((RUNS - 1))]}"
+    done
+}
+
+case ${1:-} in
+    build) build ;;
+    run) shift; run "$@" ;;
+    benchmark) benchmark ;;
+    *) sed -n '2,13p' "$0"; exit 1 ;;
+esac
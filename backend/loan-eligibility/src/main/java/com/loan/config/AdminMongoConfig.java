@@ -0,0 +1,83 @@
+package com.loan.config;
+
+import com.loan.entity.LoanApplication;
+import com.loan.repository.LoanApplicationRepository;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactoryBean;
+
+import java.util.concurrent.TimeUnit;
+
+// A second MongoClient, with its own small connection pool and timeouts, for the admin and analytics reads that
+// AdminBulkhead runs. It has the same connection settings and metrics listeners as the main client (every
+// MongoClientSettingsBuilderCustomizer is applied), so it shows up as a separate pool in mongodb.driver.pool.*.
+//
+// The beans are not default candidates: everything injecting a MongoClient, MongoTemplate or
+// LoanApplicationRepository by type still gets the main ones, and Boot still creates them. Only
+// LoanApplicationService and ApplicationRangeIndex ask for "adminLoanApplicationRepository", by name.
+@Configuration
+@Profile("!embedded & !reactive")
+public class AdminMongoConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminMongoConfig.class);
+
+    @Bean(destroyMethod = "close", defaultCandidate = false)
+    public MongoClient adminMongoClient(ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+                                        @Value("${admin.mongodb.max-pool-size:10}") int maxPoolSize,
+                                        @Value("${admin.mongodb.max-wait-ms:2000}") long maxWaitMs,
+                                        @Value("${admin.mongodb.read-timeout-ms:20000}") long readTimeoutMs) {
+        MongoClientSettings.Builder settings = MongoClientSettings.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(settings));
+        settings.applicationName("loan-eligibility-admin")
+                .applyToConnectionPoolSettings(pool -> pool.maxSize(maxPoolSize).minSize(0)
+                        .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket.readTimeout((int) readTimeoutMs, TimeUnit.MILLISECONDS));
+        log.info("Admin MongoClient: pool {}, connection wait {} ms, read timeout {} ms", maxPoolSize, maxWaitMs, readTimeoutMs);
+        return MongoClients.create(settings.build());
+    }
+
+    // Read-only, so no auditing; a mapping context of its own with index creation off, as the main template
+    // already creates the indexes (and would otherwise share its event publisher with this one)
+    @Bean(defaultCandidate = false)
+    public MongoTemplate adminMongoTemplate(@Qualifier("adminMongoClient") MongoClient adminMongoClient,
+                                            MongoProperties properties, MongoCustomConversions conversions) {
+        SimpleMongoClientDatabaseFactory factory =
+                new SimpleMongoClientDatabaseFactory(adminMongoClient, properties.getMongoClientDatabase());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.setAutoIndexCreation(false);
+        MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(factory), mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return new MongoTemplate(factory, converter);
+    }
+
+    // The same repository interface over the admin template; a factory bean like the ones @EnableMongoRepositories
+    // registers, so MongoMetricsConfig tags its commands with the repository method as well
+    @Bean(defaultCandidate = false)
+    public MongoRepositoryFactoryBean<LoanApplicationRepository, LoanApplication, String> adminLoanApplicationRepository(
+            @Qualifier("adminMongoTemplate") MongoTemplate adminMongoTemplate) {
+        MongoRepositoryFactoryBean<LoanApplicationRepository, LoanApplication, String> factory =
+                new MongoRepositoryFactoryBean<>(LoanApplicationRepository.class);
+        factory.setMongoOperations(adminMongoTemplate);
+        factory.setMappingContext(adminMongoTemplate.getConverter().getMappingContext());
+        return factory;
+    }
+}
@@ -0,0 +1,100 @@
+package com.loan.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+// Binary bodies for internal and batch clients, chosen by Content-Type / Accept; JSON stays the default
+// (a request without Accept, or with */*, gets JSON):
+//   application/cbor            CBOR (RFC 8949)
+//   application/x-jackson-smile Smile
+// Both are Jackson formats, so the request DTOs, @Valid and the ApiResponses records are unchanged. The mappers
+// come from Boot's Jackson2ObjectMapperBuilder, so they carry the same modules (Blackbird, java.time) and
+// spring.jackson.* settings as the JSON one; Spring's built-in defaults for these formats would not.
+// Compared in WireFormatBenchmark (decode/encode time per format, bytes per body, allocation with -prof gc).
+@Configuration
+public class BinaryFormatsConfig {
+
+    private static final MimeType SMILE = new MimeType("application", "x-jackson-smile");
+
+    // Spring MVC: HttpMessageConverters uses these beans in place of its default CBOR and Smile converters
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    // WebFlux ("reactive" profile): Smile is a default codec, CBOR has to be registered as a custom one. Custom
+    // writers are consulted before the default ones, so a JSON encoder goes in ahead of CBOR; otherwise CBOR would
+    // be picked for Accept: */* (and for WebClient bodies without a content type).
+    @Bean
+    CodecCustomizer binaryCodecs(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder cborBuilder,
+                                 Jackson2ObjectMapperBuilder smileBuilder) {
+        ObjectMapper cbor = cborMapper(cborBuilder);
+        ObjectMapper smile = smileMapper(smileBuilder);
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile, SMILE));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile, SMILE));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new CborEncoder(cbor));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cbor, MediaType.APPLICATION_CBOR));
+        };
+    }
+
+    // The builder bean is prototype-scoped, so each mapper gets its own
+    static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory()).build();
+    }
+
+    static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory()).build();
+    }
+
+    // Spring's CBOR encoder only implements encodeValue, but EncoderHttpMessageWriter always calls encode. A single
+    // value is encoded as is; a stream is collected and written as one CBOR array, as the JSON encoder does for
+    // non-streaming media types.
+    static final class CborEncoder extends Jackson2CborEncoder {
+
+        CborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> input, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                       MimeType mimeType, Map<String, Object> hints) {
+            if (input instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return Flux.from(input).collectList()
+                    .map(values -> encodeValue(values, bufferFactory, ResolvableType.forClassWithGenerics(List.class,
+                            elementType), mimeType, hints))
+                    .flux();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.loan.config;
+
+import com.loan.service.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Adaptive concurrency limit per endpoint group (concurrency-limit.groups.*), so a slow dependency only backs up the
+// endpoints that use it: when MongoDB slows down the submission group's limit falls and the excess is refused, while
+// /api/check-eligibility, which never touches it, keeps its own permits. Refused requests get 503 with Retry-After
+// straight away, before security and the handler run. Paths outside every group are not limited.
+//
+// Runs after the http.server.requests observation filter, so refusals are counted there as 503s. Metrics per
+// group: http.server.concurrency.limit, http.server.concurrency.inflight (gauges), http.server.concurrency.rejected.
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final byte[] OVERLOADED_BODY =
+            "{\"success\":false,\"message\":\"Server is busy, retry shortly\",\"code\":\"OVERLOADED\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ConcurrencyLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Group> groups = new ArrayList<>();
+
+    private record Group(String name, List<String> methods, List<PathPattern> patterns,
+                         AdaptiveConcurrencyLimiter limiter, Counter rejected) {
+
+        boolean matches(String method, PathContainer path) {
+            for (int i = 0; i < patterns.size(); i++) {
+                String expected = methods.get(i);
+                if ((expected == null || expected.equals(method)) && patterns.get(i).matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        for (Map.Entry<String, ConcurrencyLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            String name = entry.getKey();
+            ConcurrencyLimitProperties.Group settings = entry.getValue();
+            List<String> methods = new ArrayList<>();
+            List<PathPattern> patterns = new ArrayList<>();
+            for (String path : settings.getPaths()) {
+                String[] parts = path.trim().split("\\s+", 2);
+                methods.add(parts.length == 2 ? parts[0] : null);
+                patterns.add(PathPatternParser.defaultInstance.parse(parts[parts.length - 1]));
+            }
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimiter.Settings(
+                    settings.getInitialLimit(), settings.getMinLimit(), settings.getMaxLimit(), settings.getTolerance(),
+                    TimeUnit.MILLISECONDS.toNanos(settings.getWindowMs()), settings.getWindowMinSamples(),
+                    settings.getLongWindow(), settings.getSmoothing()), System::nanoTime);
+            Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("group", name).description("Current adaptive concurrency limit").register(meterRegistry);
+            Gauge.builder("http.server.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                    .tag("group", name).description("Requests holding a permit").register(meterRegistry);
+            Counter rejected = Counter.builder("http.server.concurrency.rejected").tag("group", name)
+                    .description("Requests refused with 503 because the group was at its limit").register(meterRegistry);
+            groups.add(new Group(name, methods, patterns, limiter, rejected));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || groups.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Group group = groupOf(request);
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = group.limiter().tryAcquire();
+        if (start < 0) {
+            group.rejected().increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+            // The browser frontend is cross-origin (LoanController allows any origin); without this it could not
+            // tell a refusal from a network error
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(OVERLOADED_BODY.length);
+            response.getOutputStream().write(OVERLOADED_BODY);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            group.limiter().release(start);
+        }
+    }
+
+    private Group groupOf(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        String method = request.getMethod();
+        for (Group group : groups) {
+            if (group.matches(method, path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.loan.config;
+
+import com.loan.entity.IdempotencyRecord;
+import com.loan.entity.LoanApplication;
+import com.loan.entity.User;
+import com.loan.repository.LoanApplicationRepository;
+import com.loan.repository.UserRepository;
+import com.loan.repository.embedded.EmbeddedCollection;
+import com.loan.repository.embedded.EmbeddedIdempotencyRecordRepository;
+import com.loan.repository.embedded.EmbeddedLoanApplicationRepository;
+import com.loan.repository.embedded.EmbeddedUserRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Replaces the MongoDB repositories with the embedded memory-mapped store ("embedded" profile).
+// The Mongo auto-configuration is excluded in application-embedded.properties, so no server is needed.
+@Configuration
+@Profile("embedded")
+public class EmbeddedStorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedCollection<LoanApplication> loanApplicationCollection(EmbeddedStorageProperties properties) throws IOException {
+        return new EmbeddedCollection<>("loan_applications", LoanApplication.class,
+                LoanApplication::getId, LoanApplication::setId,
+                Path.of(properties.getDirectory(), "loan_applications.log"),
+                properties.getInitialSizeBytes(), properties.isSyncOnWrite(),
+                properties.getCompactionRatio(), properties.getCompactionMinBytes());
+    }
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedCollection<User> userCollection(EmbeddedStorageProperties properties) throws IOException {
+        return new EmbeddedCollection<>("users", User.class,
+                User::getId, User::setId,
+                Path.of(properties.getDirectory(), "users.log"),
+                properties.getInitialSizeBytes(), properties.isSyncOnWrite(),
+                properties.getCompactionRatio(), properties.getCompactionMinBytes());
+    }
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedCollection<IdempotencyRecord> idempotencyRecordCollection(EmbeddedStorageProperties properties) throws IOException {
+        return new EmbeddedCollection<>("idempotency_keys", IdempotencyRecord.class,
+                IdempotencyRecord::getId, IdempotencyRecord::setId,
+                Path.of(properties.getDirectory(), "idempotency_keys.log"),
+                properties.getInitialSizeBytes(), properties.isSyncOnWrite(),
+                properties.getCompactionRatio(), properties.getCompactionMinBytes());
+    }
+
+    @Bean
+    public LoanApplicationRepository loanApplicationRepository(EmbeddedCollection<LoanApplication> loanApplicationCollection) {
+        return new EmbeddedLoanApplicationRepository(loanApplicationCollection);
+    }
+
+    @Bean
+    public UserRepository userRepository(EmbeddedCollection<User> userCollection) {
+        return new EmbeddedUserRepository(userCollection);
+    }
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedIdempotencyRecordRepository idempotencyRecordRepository(EmbeddedCollection<IdempotencyRecord> idempotencyRecordCollection,
+                                                                           EmbeddedStorageProperties properties) {
+        EmbeddedIdempotencyRecordRepository repository = new EmbeddedIdempotencyRecordRepository(idempotencyRecordCollection);
+        repository.startTtlMonitor(properties.getTtlMonitorIntervalMs());
+        return repository;
+    }
+}
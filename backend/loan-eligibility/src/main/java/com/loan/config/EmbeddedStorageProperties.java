@@ -0,0 +1,64 @@
+package com.loan.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "embedded.storage")
+public class EmbeddedStorageProperties {
+    
+    private String directory = "data/embedded";
+    private int initialSizeBytes = 1024 * 1024;
+    private boolean syncOnWrite = false;
+    private double compactionRatio = 0.5;
+    private int compactionMinBytes = 4 * 1024 * 1024;
+    private long ttlMonitorIntervalMs = 60000;
+    
+    public String getDirectory() {
+        return directory;
+    }
+    
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+    
+    public int getInitialSizeBytes() {
+        return initialSizeBytes;
+    }
+    
+    public void setInitialSizeBytes(int initialSizeBytes) {
+        this.initialSizeBytes = initialSizeBytes;
+    }
+    
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+    
+    public void setSyncOnWrite(boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+    
+    public double getCompactionRatio() {
+        return compactionRatio;
+    }
+    
+    public void setCompactionRatio(double compactionRatio) {
+        this.compactionRatio = compactionRatio;
+    }
+    
+    public int getCompactionMinBytes() {
+        return compactionMinBytes;
+    }
+    
+    public void setCompactionMinBytes(int compactionMinBytes) {
+        this.compactionMinBytes = compactionMinBytes;
+    }
+    
+    public long getTtlMonitorIntervalMs() {
+        return ttlMonitorIntervalMs;
+    }
+    
+    public void setTtlMonitorIntervalMs(long ttlMonitorIntervalMs) {
+        this.ttlMonitorIntervalMs = ttlMonitorIntervalMs;
+    }
+}
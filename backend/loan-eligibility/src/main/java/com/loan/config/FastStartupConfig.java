@@ -0,0 +1,43 @@
+package com.loan.config;
+
+import com.loan.controller.LoanController;
+import com.loan.service.LoanEligibilityService;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ContextAnnotationAutowireCandidateResolver;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.repository.Repository;
+
+// "fast-startup" profile, for instances started to absorb a traffic spike (see application-fast-startup.properties
+// and scripts/fast-startup.sh). Beans are created lazily, except the /api/check-eligibility path below, which is
+// built during startup so the first requests do not pay for it.
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    // LoanController brings in the services it calls directly; their repositories stay lazy (see below)
+    @Bean
+    static LazyInitializationExcludeFilter eagerEligibilityPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(LoanController.class, LoanEligibilityService.class);
+    }
+
+    // Repositories are injected as lazy-resolution proxies and set up on first use, not while the services that
+    // depend on them are built. This is what Spring Data's BootstrapMode.LAZY does; the Mongo module has no switch.
+    @Bean
+    static BeanFactoryPostProcessor lazyRepositoryInjection() {
+        return beanFactory -> {
+            if (beanFactory instanceof DefaultListableBeanFactory factory) {
+                factory.setAutowireCandidateResolver(new ContextAnnotationAutowireCandidateResolver() {
+                    @Override
+                    protected boolean isLazy(DependencyDescriptor descriptor) {
+                        return super.isLazy(descriptor) || Repository.class.isAssignableFrom(descriptor.getDependencyType());
+                    }
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.loan.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Boot registers every Module bean with the shared ObjectMapper (MVC, WebFlux and IdempotencySupport).
+// Blackbird replaces Jackson's reflective getter/field access with LambdaMetafactory-generated accessors,
+// built once per property and cached in the serializer, so the response records in ApiResponses are
+// written without Method.invoke on every request.
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
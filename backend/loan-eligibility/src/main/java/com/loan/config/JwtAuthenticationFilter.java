@@ -0,0 +1,74 @@
+package com.loan.config;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Authenticates "Authorization: Bearer <jwt>" requests for the servlet chain. A request without a bearer
+// token continues anonymously (the chain's rules decide whether that is enough); a token that fails
+// verification is answered with 401 straight away. Verification goes through JwtUtil.verify, so each token
+// is parsed at most once per request and repeat tokens are served from its cache.
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String BEARER_PREFIX = "Bearer ";
+    static final byte[] INVALID_TOKEN_BODY =
+            "{\"success\":false,\"message\":\"Invalid or expired token\",\"code\":\"INVALID_TOKEN\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final JwtUtil jwtUtil;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = bearerToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+        if (token == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Authentication authentication;
+        try {
+            authentication = authentication(jwtUtil.verify(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(INVALID_TOKEN_BODY);
+            return;
+        }
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    static String bearerToken(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? null : token;
+    }
+
+    static Authentication authentication(JwtUtil.VerifiedToken verified) {
+        return new UsernamePasswordAuthenticationToken(verified.getSubject(), null, List.of());
+    }
+}
@@ -0,0 +1,264 @@
+package com.loan.config;
+
+import com.mongodb.RequestContext;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Mongo driver CommandListener that records, per collection, command and repository method:
+//   mongo.command            latency timer (percentile histogram), tagged with the outcome
+//   mongo.command.documents  documents returned (first cursor batch) or written ("n")
+//   mongo.command.bytes      size of the server reply
+//   mongo.command.slow       commands slower than mongo.metrics.slow-query-threshold-ms
+// Slow commands are also logged and kept (with their filter shape: the filter with every value replaced
+// by "?") for the mongoslowqueries actuator endpoint.
+//
+// The repository method comes from MongoMetricsConfig's repository advice: a thread-local for the blocking
+// driver, which raises events on the calling thread, and the driver's RequestContext (filled from the
+// Reactor context) for the reactive one. Commands issued outside a repository are tagged "none".
+public class MongoCommandMetrics implements CommandListener {
+
+    static final String METHOD_KEY = MongoCommandMetrics.class.getName() + ".method";
+    static final ThreadLocal<String> CURRENT_METHOD = new ThreadLocal<>();
+
+    private static final Logger log = LoggerFactory.getLogger(MongoCommandMetrics.class);
+
+    // Handshake, auth and monitoring commands are not application queries
+    private static final Set<String> IGNORED_COMMANDS = Set.of(
+            "hello", "ismaster", "isMaster", "ping", "buildInfo", "saslStart", "saslContinue", "endSessions", "killCursors");
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+    private final int slowHistorySize;
+
+    private final Map<Integer, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Map<List<String>, Meters> meters = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    public MongoCommandMetrics(MeterRegistry registry, long slowThresholdMs, int slowHistorySize) {
+        this.registry = registry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.slowHistorySize = slowHistorySize;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (IGNORED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        // The command document is only valid during this callback, so the filter shape is taken now
+        inFlight.put(event.getRequestId(), new InFlight(collection(event.getCommandName(), command),
+                method(event.getRequestContext()), filterShape(event.getCommandName(), command)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        InFlight command = inFlight.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        long elapsedNanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        BsonDocument response = event.getResponse();
+        long documents = documentCount(response);
+        Meters meters = meters(command, event.getCommandName(), "success");
+        meters.latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meters.documents.record(documents);
+        meters.bytes.record(replySize(response));
+        if (elapsedNanos >= slowThresholdNanos) {
+            slow(command, event.getCommandName(), elapsedNanos, documents, meters);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        InFlight command = inFlight.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        long elapsedNanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        Meters meters = meters(command, event.getCommandName(), "failure");
+        meters.latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (elapsedNanos >= slowThresholdNanos) {
+            slow(command, event.getCommandName(), elapsedNanos, 0, meters);
+        }
+    }
+
+    // Most recent slow commands, newest first
+    public List<SlowQuery> recentSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    private void slow(InFlight command, String commandName, long elapsedNanos, long documents, Meters meters) {
+        meters.slow.increment();
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), command.collection, commandName, command.method,
+                command.filterShape, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), documents);
+        log.warn("Slow Mongo {} on {} from {}: {} ms, {} documents, filter {}", commandName, command.collection,
+                command.method, slowQuery.getDurationMs(), documents, command.filterShape);
+        synchronized (slowQueries) {
+            slowQueries.addFirst(slowQuery);
+            while (slowQueries.size() > slowHistorySize) {
+                slowQueries.removeLast();
+            }
+        }
+    }
+
+    private Meters meters(InFlight command, String commandName, String outcome) {
+        return meters.computeIfAbsent(List.of(command.collection, commandName, command.method, outcome), key -> new Meters(
+                Timer.builder("mongo.command")
+                        .description("Mongo command latency by collection and repository method")
+                        .tags("collection", command.collection, "command", commandName, "method", command.method, "outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                DistributionSummary.builder("mongo.command.documents")
+                        .description("Documents returned or written per Mongo command")
+                        .tags("collection", command.collection, "command", commandName, "method", command.method, "outcome", outcome)
+                        .register(registry),
+                DistributionSummary.builder("mongo.command.bytes")
+                        .description("Size of the Mongo server reply")
+                        .baseUnit("bytes")
+                        .tags("collection", command.collection, "command", commandName, "method", command.method, "outcome", outcome)
+                        .register(registry),
+                Counter.builder("mongo.command.slow")
+                        .description("Mongo commands slower than mongo.metrics.slow-query-threshold-ms")
+                        .tags("collection", command.collection, "command", commandName, "method", command.method, "outcome", outcome)
+                        .register(registry)));
+    }
+
+    private static String method(RequestContext context) {
+        if (context != null && context.hasKey(METHOD_KEY)) {
+            return context.get(METHOD_KEY);
+        }
+        String method = CURRENT_METHOD.get();
+        return method != null ? method : "none";
+    }
+
+    private static String collection(String commandName, BsonDocument command) {
+        BsonValue target = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+        return target != null && target.isString() ? target.asString().getValue() : "none";
+    }
+
+    // The query part of the command with every value masked, e.g. {"email": "?", "created_at": {"$gt": "?"}}
+    static String filterShape(String commandName, BsonDocument command) {
+        BsonValue filter = switch (commandName) {
+            case "find" -> command.get("filter");
+            case "count", "distinct", "findAndModify" -> command.get("query");
+            case "aggregate" -> command.get("pipeline");
+            case "update" -> firstStatementField(command.get("updates"), "q");
+            case "delete" -> firstStatementField(command.get("deletes"), "q");
+            default -> null;
+        };
+        return filter == null ? "" : (filter.isDocument()
+                ? shape(filter).asDocument().toJson()
+                : new BsonDocument("pipeline", shape(filter)).toJson());
+    }
+
+    private static BsonValue firstStatementField(BsonValue statements, String field) {
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return null;
+        }
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get(field) : null;
+    }
+
+    private static BsonValue shape(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shaped = new BsonDocument();
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                shaped.put(entry.getKey(), shape(entry.getValue()));
+            }
+            return shaped;
+        }
+        if (value.isArray()) {
+            // $and/$or clauses and pipeline stages keep their structure; lists of values collapse to ["?"]
+            BsonArray shaped = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                BsonValue elementShape = shape(element);
+                if (!shaped.contains(elementShape)) {
+                    shaped.add(elementShape);
+                }
+            }
+            return shaped;
+        }
+        return new BsonString("?");
+    }
+
+    private static long documentCount(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().containsKey("firstBatch")
+                    ? cursor.asDocument().get("firstBatch")
+                    : cursor.asDocument().get("nextBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : 0;
+        }
+        BsonValue n = response.get("n");
+        return n != null && n.isNumber() ? n.asNumber().longValue() : 0;
+    }
+
+    private static long replySize(BsonDocument response) {
+        if (response instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        return new RawBsonDocument(response, new BsonDocumentCodec()).getByteBuffer().remaining();
+    }
+
+    private record InFlight(String collection, String method, String filterShape) {
+    }
+
+    private record Meters(Timer latency, DistributionSummary documents, DistributionSummary bytes, Counter slow) {
+    }
+
+    public static class SlowQuery {
+        private final Instant timestamp;
+        private final String collection;
+        private final String command;
+        private final String method;
+        private final String filterShape;
+        private final long durationMs;
+        private final long documents;
+
+        SlowQuery(Instant timestamp, String collection, String command, String method, String filterShape,
+                  long durationMs, long documents) {
+            this.timestamp = timestamp;
+            this.collection = collection;
+            this.command = command;
+            this.method = method;
+            this.filterShape = filterShape;
+            this.durationMs = durationMs;
+            this.documents = documents;
+        }
+
+        public Instant getTimestamp() { return timestamp; }
+        public String getCollection() { return collection; }
+        public String getCommand() { return command; }
+        public String getMethod() { return method; }
+        public String getFilterShape() { return filterShape; }
+        public long getDurationMs() { return durationMs; }
+        public long getDocuments() { return documents; }
+    }
+}
@@ -0,0 +1,25 @@
+package com.loan.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+
+// Auditing needs the Mongo mapping context, which doesn't exist under the "embedded" profile
+@Configuration
+public class MongoConfig {
+
+    // Blocking MongoTemplate (default)
+    @Configuration
+    @EnableMongoAuditing
+    @Profile("!embedded & !reactive")
+    static class BlockingMongoConfig {
+    }
+
+    // The "reactive" profile only has the reactive template
+    @Configuration
+    @EnableReactiveMongoAuditing
+    @Profile("reactive")
+    static class ReactiveMongoConfig {
+    }
+}
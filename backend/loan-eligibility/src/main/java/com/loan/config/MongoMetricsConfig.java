@@ -0,0 +1,172 @@
+package com.loan.config;
+
+import com.mongodb.RequestContext;
+import com.mongodb.reactivestreams.client.ReactiveContextProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Wires MongoCommandMetrics into whichever Mongo client the profile creates (not under "embedded", which has none)
+@Configuration
+@Profile("!embedded")
+public class MongoMetricsConfig {
+
+    @Bean
+    public MongoCommandMetrics mongoCommandMetrics(MeterRegistry registry,
+                                                   @Value("${mongo.metrics.slow-query-threshold-ms:100}") long slowQueryThresholdMs,
+                                                   @Value("${mongo.metrics.slow-query-history:100}") int slowQueryHistory) {
+        return new MongoCommandMetrics(registry, slowQueryThresholdMs, slowQueryHistory);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetricsCustomizer(MongoCommandMetrics metrics) {
+        return settings -> settings.addCommandListener(metrics);
+    }
+
+    // The reactive driver raises command events on its own threads, so the repository method travels in the
+    // Reactor context and the driver copies it into the command's RequestContext
+    @Bean
+    @Profile("reactive")
+    public MongoClientSettingsBuilderCustomizer mongoReactiveContextCustomizer() {
+        return settings -> settings.contextProvider((ReactiveContextProvider) subscriber ->
+                new MethodRequestContext(subscriber instanceof CoreSubscriber<?> core ? core.currentContext() : Context.empty()));
+    }
+
+    // Static so the post-processor is registered before the repository factory beans it customizes
+    @Bean
+    public static BeanPostProcessor repositoryMethodTagging() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryMethodTagger(information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MongoSlowQueriesEndpoint mongoSlowQueriesEndpoint(MongoCommandMetrics metrics) {
+        return new MongoSlowQueriesEndpoint(metrics);
+    }
+
+    // GET /actuator/mongoslowqueries - the most recent slow commands with their filter shapes
+    @Endpoint(id = "mongoslowqueries")
+    public static class MongoSlowQueriesEndpoint {
+
+        private final MongoCommandMetrics metrics;
+
+        MongoSlowQueriesEndpoint(MongoCommandMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @ReadOperation
+        public List<MongoCommandMetrics.SlowQuery> slowQueries() {
+            return metrics.recentSlowQueries();
+        }
+    }
+
+    // Names the repository method ("UserRepository.findByEmail") for the commands it issues
+    static class RepositoryMethodTagger implements MethodInterceptor {
+
+        private final String repository;
+        private final Map<String, String> names = new ConcurrentHashMap<>();
+
+        RepositoryMethodTagger(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String method = names.computeIfAbsent(invocation.getMethod().getName(), name -> repository + "." + name);
+            String previous = MongoCommandMetrics.CURRENT_METHOD.get();
+            MongoCommandMetrics.CURRENT_METHOD.set(method);
+            try {
+                Object result = invocation.proceed();
+                if (result instanceof Mono<?> mono) {
+                    return mono.contextWrite(Context.of(MongoCommandMetrics.METHOD_KEY, method));
+                }
+                if (result instanceof Flux<?> flux) {
+                    return flux.contextWrite(Context.of(MongoCommandMetrics.METHOD_KEY, method));
+                }
+                return result;
+            } finally {
+                if (previous == null) {
+                    MongoCommandMetrics.CURRENT_METHOD.remove();
+                } else {
+                    MongoCommandMetrics.CURRENT_METHOD.set(previous);
+                }
+            }
+        }
+    }
+
+    // The driver's per-command context, seeded with the repository method from the subscriber's Reactor context
+    static class MethodRequestContext implements RequestContext {
+
+        private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+        MethodRequestContext(ContextView context) {
+            if (context.hasKey(MongoCommandMetrics.METHOD_KEY)) {
+                values.put(MongoCommandMetrics.METHOD_KEY, context.get(MongoCommandMetrics.METHOD_KEY));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key) {
+            return (T) values.get(key);
+        }
+
+        @Override
+        public boolean hasKey(Object key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return values.isEmpty();
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void delete(Object key) {
+            values.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public Stream<Map.Entry<Object, Object>> stream() {
+            return values.entrySet().stream();
+        }
+    }
+}
@@ -1,28 +1,79 @@
 package com.loan.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
 
 @Configuration
-@EnableWebSecurity
 public class SecurityConfig {
 
-    @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {        http
-            .csrf(csrf -> csrf.disable())  // Disable CSRF for API endpoints
-            .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/api/**").permitAll()  // Allow all API endpoints
-                .anyRequest().authenticated()  // Require authentication for other endpoints
-            );
-
-        return http.build();
+    // Servlet stack (default)
+    @Configuration
+    @EnableWebSecurity
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletSecurityConfig {
+
+        @Bean
+        public SecurityFilterChain filterChain(HttpSecurity http, JwtUtil jwtUtil,
+                                               @Value("${jwt.require-auth-for-admin:false}") boolean requireAuthForAdmin) throws Exception {        http
+                .csrf(csrf -> csrf.disable())  // Disable CSRF for API endpoints
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeHttpRequests(authz -> {
+                    if (requireAuthForAdmin) {
+                        authz.requestMatchers("/api/admin/**").authenticated();  // Bearer token from /api/auth/login
+                    }
+                    authz
+                        .requestMatchers("/api/**").permitAll()  // Allow all API endpoints
+                        .requestMatchers("/actuator/**").permitAll()  // Metrics, like the /api/admin endpoints, are open for now
+                        .anyRequest().authenticated();  // Require authentication for other endpoints
+                });
+
+            return http.build();
+        }
+    }
+
+    // WebFlux stack ("reactive" profile) - same rules as the servlet chain
+    @Configuration
+    @EnableWebFluxSecurity
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveSecurityConfig {
+
+        @Bean
+        public SecurityWebFilterChain reactiveFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil,
+                                                          @Value("${jwt.require-auth-for-admin:false}") boolean requireAuthForAdmin) {
+            http
+                .csrf(csrf -> csrf.disable())  // Disable CSRF for API endpoints
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(jwtUtil), SecurityWebFiltersOrder.AUTHENTICATION)
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeExchange(exchanges -> {
+                    if (requireAuthForAdmin) {
+                        exchanges.pathMatchers("/api/admin/**").authenticated();  // Bearer token from /api/auth/login
+                    }
+                    exchanges
+                        .pathMatchers("/api/**").permitAll()  // Allow all API endpoints
+                        .pathMatchers("/actuator/**").permitAll()  // Metrics, like the /api/admin endpoints, are open for now
+                        .anyExchange().authenticated();  // Require authentication for other endpoints
+                });
+
+            return http.build();
+        }
     }
-    
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -0,0 +1,28 @@
+package com.loan.config;
+
+import com.loan.service.SubmissionTimings;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Stamps the submission endpoint's requests once the handler is chosen but before the body is read, so
+// LoanController can report body parsing and @Valid as the "validation" phase of its Server-Timing header
+@Configuration
+@Profile("!reactive")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                request.setAttribute(SubmissionTimings.RECEIVED_AT, System.nanoTime());
+                return true;
+            }
+        }).addPathPatterns("/api/check-eligibility-and-save");
+    }
+}
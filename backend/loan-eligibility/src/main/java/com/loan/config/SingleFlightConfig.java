@@ -0,0 +1,130 @@
+package com.loan.config;
+
+import com.loan.service.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Proxies beans with @SingleFlight methods. Metrics: single.flight.executions and single.flight.coalesced
+// (counters, method=<name>), the calls that ran and the calls that joined one already in flight.
+@Configuration
+public class SingleFlightConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlightConfig.class);
+
+    // Static so the post-processor is registered before the services it wraps; the registry is looked up on
+    // first use rather than forcing the metrics beans to be created this early
+    @Bean
+    public static BeanPostProcessor singleFlightProxies(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Class<?> type = AopUtils.getTargetClass(bean);
+                Map<Method, String> names = new ConcurrentHashMap<>();
+                ReflectionUtils.doWithMethods(type, method -> {
+                    SingleFlight annotation = AnnotatedElementUtils.findMergedAnnotation(method, SingleFlight.class);
+                    if (annotation == null) {
+                        return;
+                    }
+                    if (Publisher.class.isAssignableFrom(method.getReturnType())) {
+                        throw new IllegalStateException("@SingleFlight is for blocking methods: " + method);
+                    }
+                    String name = annotation.value().isEmpty()
+                            ? type.getSimpleName() + "." + method.getName() : annotation.value();
+                    if (environment.getProperty("single-flight.methods." + name + ".enabled", Boolean.class, true)) {
+                        names.put(method, name);
+                    }
+                });
+                if (names.isEmpty() || !environment.getProperty("single-flight.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                log.info("Single-flight calls on {}: {}", beanName, names.values());
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.setProxyTargetClass(true);
+                proxyFactory.addAdvice(new SingleFlightInterceptor(names, meterRegistry));
+                return proxyFactory.getProxy(type.getClassLoader());
+            }
+        };
+    }
+
+    static class SingleFlightInterceptor implements MethodInterceptor {
+
+        private final Map<Method, String> names;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+        private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+        SingleFlightInterceptor(Map<Method, String> names, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.names = names;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String name = names.get(invocation.getMethod());
+            if (name == null) {
+                return invocation.proceed();
+            }
+            Counter[] metrics = counters(name);
+            Key key = new Key(name, Arrays.asList(invocation.getArguments()));
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+            if (leader != null) {
+                metrics[1].increment();
+                try {
+                    return leader.join();
+                } catch (CompletionException e) {
+                    throw e.getCause();
+                }
+            }
+            metrics[0].increment();
+            try {
+                Object result = invocation.proceed();
+                flight.complete(result);
+                return result;
+            } catch (Throwable e) {
+                flight.completeExceptionally(e);
+                throw e;
+            } finally {
+                // Callers arriving from here on start a new execution
+                inFlight.remove(key, flight);
+            }
+        }
+
+        private Counter[] counters(String name) {
+            return counters.computeIfAbsent(name, n -> {
+                MeterRegistry registry = meterRegistry.getObject();
+                return new Counter[] {
+                        Counter.builder("single.flight.executions").tag("method", n)
+                                .description("Single-flight calls that ran the method").register(registry),
+                        Counter.builder("single.flight.coalesced").tag("method", n)
+                                .description("Single-flight calls that shared an execution already in flight").register(registry)
+                };
+            });
+        }
+    }
+
+    record Key(String method, List<Object> arguments) {
+    }
+}
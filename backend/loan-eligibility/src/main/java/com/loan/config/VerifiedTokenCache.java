@@ -0,0 +1,75 @@
+package com.loan.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// Bounded LRU of tokens whose signature has already been checked, so a client that sends the same bearer
+// token on every request pays for the HMAC verification once. Entries are keyed by the SHA-256 digest of the
+// token (the raw token is never kept) and are dropped once the token expires.
+final class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<String, JwtUtil.VerifiedToken> entries;
+
+    VerifiedTokenCache(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxEntries, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtUtil.VerifiedToken> eldest) {
+                return size() > VerifiedTokenCache.this.maxEntries;
+            }
+        };
+    }
+
+    JwtUtil.VerifiedToken get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = digest(token);
+        synchronized (entries) {
+            JwtUtil.VerifiedToken verified = entries.get(key);
+            if (verified != null && verified.getExpiresAtMillis() <= clock.getAsLong()) {
+                entries.remove(key);
+                return null;
+            }
+            return verified;
+        }
+    }
+
+    void put(String token, JwtUtil.VerifiedToken verified) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        String key = digest(token);
+        synchronized (entries) {
+            entries.put(key, verified);
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            // MessageDigest instances are not thread-safe; getInstance is cheap next to an HMAC check
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
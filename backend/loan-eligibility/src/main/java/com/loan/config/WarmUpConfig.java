@@ -0,0 +1,25 @@
+package com.loan.config;
+
+import com.loan.service.StartupWarmUp;
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Requests replayed by StartupWarmUp are not traffic: leave them out of http.server.requests (servlet and reactive
+// stacks) so the per-route histograms and error rates only describe real clients
+@Configuration
+public class WarmUpConfig {
+
+    @Bean
+    ObservationPredicate ignoreWarmUpRequests() {
+        return (name, context) -> {
+            if (context instanceof org.springframework.http.server.observation.ServerRequestObservationContext servlet) {
+                return servlet.getCarrier().getHeader(StartupWarmUp.WARM_UP_HEADER) == null;
+            }
+            if (context instanceof org.springframework.http.server.reactive.observation.ServerRequestObservationContext reactive) {
+                return !reactive.getCarrier().getHeaders().containsKey(StartupWarmUp.WARM_UP_HEADER);
+            }
+            return true;
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.loan.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loan.entity.LoanApplication;
+import com.loan.entity.User;
+import com.loan.service.LoanApplicationService;
+import com.loan.service.LoanEligibilityService;
+import com.loan.service.UserImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Response bodies for LoanController and AuthController. Each endpoint returns one of these immutable records
+// instead of a HashMap built per request: the JSON field names are unchanged, primitives are not boxed, and
+// Jackson builds one bean serializer per record type (accessors generated by Blackbird, see JacksonConfig)
+// rather than walking a map. Nullable components are left out of the JSON, as the maps never had them.
+//
+// Error bodies that never vary are serialized once at class load and written as bytes (see the PreSerialized
+// constants); errors carrying an exception message use ErrorResponse. The records are written in the negotiated
+// format (JSON, CBOR or Smile, see BinaryFormatsConfig); the PreSerialized bodies are always JSON.
+public final class ApiResponses {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ApiResponses() {
+    }
+
+    // 1. /check-eligibility
+    public record EligibilityResponse(boolean eligible, String reason, double maxLoanAmount, double approvedAmount,
+                                      double interestRate, double monthlyEmi, long timestamp) {
+        static EligibilityResponse of(LoanEligibilityService.EligibilityResult result) {
+            return new EligibilityResponse(result.isEligible(), result.getReason(), result.getMaxLoanAmount(),
+                    result.getApprovedAmount(), result.getInterestRate(), result.getMonthlyEmi(), System.currentTimeMillis());
+        }
+    }
+
+    // 2. /save-application
+    public record ApplicationSavedResponse(boolean success, String message, String applicationId, String status,
+                                           long timestamp) {
+    }
+
+    // 3. /check-eligibility-and-save
+    public record EligibilityAndSaveResponse(boolean success, boolean eligible, String reason, double maxLoanAmount,
+                                             double approvedAmount, double interestRate, double monthlyEmi,
+                                             String applicationId, String applicationStatus, long timestamp) {
+        static EligibilityAndSaveResponse of(LoanEligibilityService.EligibilityResult result, LoanApplication application) {
+            return new EligibilityAndSaveResponse(true, result.isEligible(), result.getReason(), result.getMaxLoanAmount(),
+                    result.getApprovedAmount(), result.getInterestRate(), result.getMonthlyEmi(),
+                    application.getId(), application.getStatus(), System.currentTimeMillis());
+        }
+    }
+
+    // 4, 5, 11, 12. Application lists
+    public record ApplicationListResponse(boolean success, List<LoanApplication> applications, int count, long timestamp) {
+        static ApplicationListResponse of(List<LoanApplication> applications) {
+            return new ApplicationListResponse(true, applications, applications.size(), System.currentTimeMillis());
+        }
+    }
+
+    // 6, 7. A single application; message only on status updates
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ApplicationResponse(boolean success, String message, LoanApplication application, long timestamp) {
+    }
+
+    // 8. /admin/stats
+    public record StatsResponse(boolean success, LoanApplicationService.ApplicationStats stats, long timestamp) {
+    }
+
+    // 9. /user
+    public record UserResponse(boolean success, User user, long timestamp) {
+    }
+
+    // 10. /health and /auth/health; version only on the former
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record HealthResponse(String status, String message, long timestamp, String version) {
+    }
+
+    // 13. /admin/users/search
+    public record UserSearchResponse(boolean success, List<LoanApplicationService.UserMatch> users, int total,
+                                     int page, int size, long timestamp) {
+    }
+
+    // 14. /admin/applications/status
+    public record BulkStatusResponse(boolean success, String status, int updated,
+                                     List<LoanApplicationService.StatusChangeOutcome> results, long timestamp) {
+    }
+
+    // 15, 16. /admin/users/import; the job carries the report once it has completed
+    public record ImportJobResponse(boolean success, UserImportService.ImportJob job, long timestamp) {
+    }
+
+    // /auth/signup and /auth/login; token only on login
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record AuthResponse(boolean success, String message, UserSummary user, String token) {
+    }
+
+    // The user as returned by the auth endpoints, without the password hash
+    public record UserSummary(String id, String name, String email, LocalDateTime createdAt) {
+        static UserSummary of(User user) {
+            return new UserSummary(user.getId(), user.getName(), user.getEmail(), user.getCreatedAt());
+        }
+    }
+
+    // Failure body: LoanController errors carry error (+ message), AuthController errors carry message + code
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ErrorResponse(boolean success, String error, String message, String code) {
+        static ErrorResponse of(String error, Exception e) {
+            return new ErrorResponse(false, error, e.getMessage(), null);
+        }
+    }
+
+    static ResponseEntity<ErrorResponse> error(HttpStatus status, String error, Exception e) {
+        return ResponseEntity.status(status).body(ErrorResponse.of(error, e));
+    }
+
+    // Fixed error bodies, serialized once
+    static final class PreSerialized {
+        static final byte[] INVALID_CREDENTIALS =
+                serialize(new ErrorResponse(false, null, "Invalid email or password", "INVALID_CREDENTIALS"));
+        static final byte[] DUPLICATE_EMAIL =
+                serialize(new ErrorResponse(false, null, "User with this email already exists", "DUPLICATE_EMAIL"));
+        static final byte[] STATUS_REQUIRED =
+                serialize(new ErrorResponse(false, "Status is required", null, null));
+        static final byte[] IDS_OR_FILTER_REQUIRED =
+                serialize(new ErrorResponse(false, "Either ids or filter is required, not both", null, null));
+
+        private PreSerialized() {
+        }
+
+        // The bytes go out through ByteArrayHttpMessageConverter, so the content type has to be set here
+        static ResponseEntity<byte[]> respond(HttpStatus status, byte[] body) {
+            return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+
+        static byte[] serialize(Object body) {
+            try {
+                return MAPPER.writeValueAsBytes(body);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize " + body, e);
+            }
+        }
+    }
+}
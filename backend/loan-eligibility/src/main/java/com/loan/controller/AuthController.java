@@ -1,162 +1,141 @@
 package com.loan.controller;
 
+import com.loan.config.JwtUtil;
 import com.loan.entity.User;
+import com.loan.exception.GlobalExceptionHandler;
 import com.loan.repository.UserRepository;
+import com.loan.service.ApplicantSearchIndex;
+import com.loan.service.EventLog;
+import com.loan.service.LoginRateLimiter;
+import com.loan.service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.validation.annotation.Validated;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*") // TODO: Restrict origins in production
 @Validated
+@Profile("!reactive")
 public class AuthController {
     
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashing;
+    
+    @Autowired
+    private ApplicantSearchIndex searchIndex;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+    
+    @Autowired
+    private EventLog eventLog;
     
     // Health check endpoint
     @GetMapping("/health")
     public ResponseEntity<?> health() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "OK");
-        response.put("message", "Auth service is running");
-        response.put("timestamp", System.currentTimeMillis());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(new ApiResponses.HealthResponse("OK", "Auth service is running", System.currentTimeMillis(), null));
     }
 
     // Signup endpoint
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@Valid @RequestBody SignupRequestDTO request) {
         try {
-            System.out.println("🔍 Signup request received for email: " + request.getEmail());
-            
             // Check if user already exists
             Optional<User> existingUser = userRepository.findByEmail(request.getEmail());
             if (existingUser.isPresent()) {
-                System.out.println("❌ User already exists: " + request.getEmail());
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("success", false);
-                errorResponse.put("message", "User with this email already exists");
-                errorResponse.put("code", "DUPLICATE_EMAIL");
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+                eventLog.log("auth.signup.duplicate", "email", request.getEmail());
+                return ApiResponses.PreSerialized.respond(HttpStatus.CONFLICT, ApiResponses.PreSerialized.DUPLICATE_EMAIL);
             }
             
             // Create new user
             User user = new User();
             user.setName(request.getName());
             user.setEmail(request.getEmail());
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
+            user.setPassword(passwordHashing.encodeAndWait(request.getPassword()));
             user.setCreatedAt(java.time.LocalDateTime.now());
             user.setUpdatedAt(java.time.LocalDateTime.now());
             
-            System.out.println("📝 Creating user: " + user.getName() + " (" + user.getEmail() + ")");
-            
             // Save user to database
             User savedUser = userRepository.save(user);
-            
-            System.out.println("✅ User saved with ID: " + savedUser.getId());
+            searchIndex.indexed(savedUser);
             
             // Create response (excluding password)
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "User created successfully");
-            response.put("user", Map.of(
-                "id", savedUser.getId(),
-                "name", savedUser.getName(),
-                "email", savedUser.getEmail(),
-                "createdAt", savedUser.getCreatedAt()
-            ));
+            ApiResponses.AuthResponse response = new ApiResponses.AuthResponse(true, "User created successfully",
+                    ApiResponses.UserSummary.of(savedUser), null);
             
-            System.out.println("🎉 Signup successful for: " + savedUser.getEmail());
+            eventLog.log("auth.signup.success", "userId", savedUser.getId(), "email", savedUser.getEmail());
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
+        } catch (GlobalExceptionHandler.PasswordHashingBusyException e) {
+            eventLog.log("auth.busy", "operation", "signup");
+            return GlobalExceptionHandler.passwordHashingBusy(e);
         } catch (Exception e) {
-            System.err.println("🚨 Signup error: " + e.getMessage());
-            e.printStackTrace();
-            
             // Check if it's a duplicate key error (MongoDB)
-            if (e.getMessage().contains("duplicate key") || e.getMessage().contains("E11000")) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("success", false);
-                errorResponse.put("message", "User with this email already exists");
-                errorResponse.put("code", "DUPLICATE_EMAIL");
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+            if (e.getMessage() != null && (e.getMessage().contains("duplicate key") || e.getMessage().contains("E11000"))) {
+                eventLog.log("auth.signup.duplicate", "email", request.getEmail());
+                return ApiResponses.PreSerialized.respond(HttpStatus.CONFLICT, ApiResponses.PreSerialized.DUPLICATE_EMAIL);
             }
             
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "Failed to create user: " + e.getMessage());
-            errorResponse.put("code", "INTERNAL_ERROR");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            eventLog.log("auth.signup.error", "email", request.getEmail(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponses.ErrorResponse(
+                    false, null, "Failed to create user: " + e.getMessage(), "INTERNAL_ERROR"));
         }
     }
     
     // Login endpoint
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDTO request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDTO request, HttpServletRequest httpRequest) {
         try {
-            System.out.println("🔍 Login request received for email: " + request.getEmail());
+            // Before any lookup or hashing
+            loginRateLimiter.acquire(request.getEmail(), httpRequest.getRemoteAddr());
             
             // Find user by email
             Optional<User> userOptional = userRepository.findByEmail(request.getEmail());
             if (userOptional.isEmpty()) {
-                System.out.println("❌ User not found: " + request.getEmail());
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("success", false);
-                errorResponse.put("message", "Invalid email or password");
-                errorResponse.put("code", "INVALID_CREDENTIALS");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+                eventLog.log("auth.login.failure", "email", request.getEmail(), "reason", "unknown_user");
+                return ApiResponses.PreSerialized.respond(HttpStatus.UNAUTHORIZED, ApiResponses.PreSerialized.INVALID_CREDENTIALS);
             }
             
             User user = userOptional.get();
-            System.out.println("✅ User found: " + user.getEmail());
             
             // Check password
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-                System.out.println("❌ Invalid password for: " + request.getEmail());
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("success", false);
-                errorResponse.put("message", "Invalid email or password");
-                errorResponse.put("code", "INVALID_CREDENTIALS");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
+            if (!passwordHashing.matchesAndWait(request.getPassword(), user.getPassword())) {
+                eventLog.log("auth.login.failure", "email", request.getEmail(), "reason", "bad_password");
+                return ApiResponses.PreSerialized.respond(HttpStatus.UNAUTHORIZED, ApiResponses.PreSerialized.INVALID_CREDENTIALS);
             }
             
-            System.out.println("✅ Password verified for: " + user.getEmail());
-            
             // Create response (excluding password)
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Login successful");
-            response.put("user", Map.of(
-                "id", user.getId(),
-                "name", user.getName(),
-                "email", user.getEmail(),
-                "createdAt", user.getCreatedAt()
-            ));
+            // Send the token as "Authorization: Bearer <token>"
+            ApiResponses.AuthResponse response = new ApiResponses.AuthResponse(true, "Login successful",
+                    ApiResponses.UserSummary.of(user), jwtUtil.generateToken(user.getEmail()));
             
-            System.out.println("🎉 Login successful for: " + user.getEmail());
+            eventLog.log("auth.login.success", "userId", user.getId(), "email", user.getEmail());
             return ResponseEntity.ok(response);
             
+        } catch (GlobalExceptionHandler.TooManyLoginAttemptsException e) {
+            eventLog.log("auth.login.rate-limited", "email", request.getEmail(), "ip", httpRequest.getRemoteAddr());
+            return GlobalExceptionHandler.tooManyLoginAttempts(e);
+        } catch (GlobalExceptionHandler.PasswordHashingBusyException e) {
+            eventLog.log("auth.busy", "operation", "login");
+            return GlobalExceptionHandler.passwordHashingBusy(e);
         } catch (Exception e) {
-            System.err.println("🚨 Login error: " + e.getMessage());
-            e.printStackTrace();
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "Login failed: " + e.getMessage());
-            errorResponse.put("code", "INTERNAL_ERROR");
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            eventLog.log("auth.login.error", "email", request.getEmail(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ApiResponses.ErrorResponse(
+                    false, null, "Login failed: " + e.getMessage(), "INTERNAL_ERROR"));
         }
     }
     
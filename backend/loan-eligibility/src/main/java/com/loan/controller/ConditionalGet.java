@@ -0,0 +1,45 @@
+package com.loan.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// ETag handling for the polled read endpoints. The ETag is checked against If-None-Match before the documents
+// are read, using the version probes in LoanApplicationService, so an unchanged poll is a 304 with no body
+// and no serialization. Responses carry Cache-Control: no-cache, so clients revalidate on every poll
+// instead of the no-store default Spring Security adds.
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    // Strong ETag: "<kind>-<version in hex>"
+    static String etag(String kind, long version) {
+        return "\"" + kind + "-" + Long.toHexString(version) + "\"";
+    }
+
+    // If-None-Match is a list of entity tags or "*"; it uses weak comparison, so a W/ prefix is ignored
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ResponseEntity<Object> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+    }
+
+    static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body);
+    }
+}
@@ -2,24 +2,35 @@ package com.loan.controller;
 
 import com.loan.entity.LoanApplication;
 import com.loan.entity.User;
+import com.loan.exception.GlobalExceptionHandler;
+import com.loan.service.AdminBulkhead;
+import com.loan.service.IdempotencyService;
 import com.loan.service.LoanApplicationService;
 import com.loan.service.LoanEligibilityService;
+import com.loan.service.SubmissionPhaseMetrics;
+import com.loan.service.SubmissionTimings;
+import com.loan.service.UserImportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.validation.annotation.Validated;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
+import java.net.URI;
 import java.util.List;
 import java.util.Optional;
-import java.util.HashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*") // TODO: Restrict origins in production
 @Validated
+@Profile("!reactive")
 public class LoanController {
     
     @Autowired
@@ -27,6 +38,23 @@ public class LoanController {
     
     @Autowired
     private LoanApplicationService applicationService;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    // Only endpoints 15 and 16 use it; resolved on first use, so under lazy initialization (fast-startup profile)
+    // building this controller does not also build the import and password hashing services
+    @Lazy
+    @Autowired
+    private UserImportService userImportService;
+    
+    @Autowired
+    private SubmissionPhaseMetrics submissionPhaseMetrics;
+    
+    // The admin reads (5, 8, 11, 12, 13) run on their own bounded pool, see AdminBulkhead. A full pool or an overrun
+    // surfaces as AdminBusyException, answered by GlobalExceptionHandler (503 with Retry-After)
+    @Autowired
+    private AdminBulkhead adminBulkhead;
 
     // 1. Check Eligibility Endpoint (without saving application)
     @PostMapping("/check-eligibility")
@@ -48,28 +76,22 @@ public class LoanController {
             LoanEligibilityService.EligibilityResult result = eligibilityService.checkEligibility(serviceRequest);
             
             // Create response
-            Map<String, Object> response = new HashMap<>();
-            response.put("eligible", result.isEligible());
-            response.put("reason", result.getReason());
-            response.put("maxLoanAmount", result.getMaxLoanAmount());
-            response.put("approvedAmount", result.getApprovedAmount());
-            response.put("interestRate", result.getInterestRate());
-            response.put("monthlyEmi", result.getMonthlyEmi());
-            response.put("timestamp", System.currentTimeMillis());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponses.EligibilityResponse.of(result));
             
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Failed to check eligibility");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to check eligibility", e);
         }
     }
     
     // 2. Save Application Endpoint (FIXED)
     @PostMapping("/save-application")
-    public ResponseEntity<?> saveApplication(@Valid @RequestBody SaveApplicationRequestDTO request) {
+    public ResponseEntity<?> saveApplication(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                             @Valid @RequestBody SaveApplicationRequestDTO request) {
+        // Retries carrying the same Idempotency-Key replay the first response instead of saving again
+        return idempotencyService.execute(idempotencyKey, "save-application", request, () -> doSaveApplication(request));
+    }
+    
+    private ResponseEntity<?> doSaveApplication(SaveApplicationRequestDTO request) {
         try {
             // Convert DTO to service request
             LoanApplicationService.LoanApplicationRequest serviceRequest = new LoanApplicationService.LoanApplicationRequest();
@@ -97,29 +119,36 @@ public class LoanController {
             // Save application
             LoanApplication savedApplication = applicationService.saveApplication(serviceRequest);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Application saved successfully");
-            response.put("applicationId", savedApplication.getId());
-            response.put("status", savedApplication.getStatus());
-            response.put("timestamp", System.currentTimeMillis());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new ApiResponses.ApplicationSavedResponse(true, "Application saved successfully",
+                    savedApplication.getId(), savedApplication.getStatus(), System.currentTimeMillis()));
             
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Failed to save application");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to save application", e);
         }
     }
     
     // 3. Check Eligibility AND Save Application (NEW ENDPOINT)
+    // Responses carry Server-Timing (validation, eligibility, user-upsert, insert, total), also aggregated
+    // in loan.submission.phase; replays of an Idempotency-Key have none, as nothing was run
     @PostMapping("/check-eligibility-and-save")
-    public ResponseEntity<?> checkEligibilityAndSave(@Valid @RequestBody SaveApplicationRequestDTO request) {
+    public ResponseEntity<?> checkEligibilityAndSave(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                     @RequestAttribute(value = SubmissionTimings.RECEIVED_AT, required = false) Long receivedAt,
+                                                     @Valid @RequestBody SaveApplicationRequestDTO request) {
+        SubmissionTimings timings = new SubmissionTimings();
+        long start = receivedAt != null ? receivedAt : System.nanoTime();
+        if (receivedAt != null) {
+            timings.record(SubmissionTimings.Phase.VALIDATION, receivedAt);
+        }
+        // Retries carrying the same Idempotency-Key replay the first response without rerunning eligibility
+        return idempotencyService.execute(idempotencyKey, "check-eligibility-and-save", request,
+                () -> doCheckEligibilityAndSave(request, timings, start));
+    }
+    
+    private ResponseEntity<?> doCheckEligibilityAndSave(SaveApplicationRequestDTO request, SubmissionTimings timings, long start) {
+        String outcome = SubmissionPhaseMetrics.ERROR;
+        ResponseEntity<?> response;
         try {
-            // First, check eligibility
+            // Eligibility request
             LoanEligibilityService.EligibilityRequest eligibilityRequest = new LoanEligibilityService.EligibilityRequest(
                 request.getName(),
                 request.getAge(),
@@ -131,9 +160,7 @@ public class LoanController {
                 request.getEmploymentType()
             );
             
-            LoanEligibilityService.EligibilityResult eligibilityResult = eligibilityService.checkEligibility(eligibilityRequest);
-            
-            // Then save the application with complete data
+            // Application data - eligibility and the user upsert run concurrently in the service
             LoanApplicationService.LoanApplicationRequest appRequest = new LoanApplicationService.LoanApplicationRequest();
             appRequest.setName(request.getName());
             appRequest.setEmail(request.getEmail());
@@ -146,110 +173,91 @@ public class LoanController {
             appRequest.setLoanTenure(request.getLoanTenure());
             appRequest.setEmploymentType(request.getEmploymentType());
             appRequest.setLoanPurpose(request.getLoanPurpose());
-            appRequest.setEligible(eligibilityResult.isEligible());
-            appRequest.setEligibilityReason(eligibilityResult.getReason());
-            appRequest.setApprovedAmount(eligibilityResult.getApprovedAmount());
-            appRequest.setInterestRate(eligibilityResult.getInterestRate());
-            appRequest.setMonthlyEmi(eligibilityResult.getMonthlyEmi());
             
-            LoanApplication savedApplication = applicationService.saveApplication(appRequest);
+            LoanApplicationService.SubmissionResult submission = applicationService.checkEligibilityAndSave(eligibilityRequest, appRequest, timings);
+            LoanEligibilityService.EligibilityResult eligibilityResult = submission.getEligibilityResult();
+            LoanApplication savedApplication = submission.getApplication();
             
             // Create comprehensive response
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("eligible", eligibilityResult.isEligible());
-            response.put("reason", eligibilityResult.getReason());
-            response.put("maxLoanAmount", eligibilityResult.getMaxLoanAmount());
-            response.put("approvedAmount", eligibilityResult.getApprovedAmount());
-            response.put("interestRate", eligibilityResult.getInterestRate());
-            response.put("monthlyEmi", eligibilityResult.getMonthlyEmi());
-            response.put("applicationId", savedApplication.getId());
-            response.put("applicationStatus", savedApplication.getStatus());
-            response.put("timestamp", System.currentTimeMillis());
-            
-            return ResponseEntity.ok(response);
+            response = ResponseEntity.ok(ApiResponses.EligibilityAndSaveResponse.of(eligibilityResult, savedApplication));
+            outcome = SubmissionPhaseMetrics.SUCCESS;
             
+        } catch (GlobalExceptionHandler.SubmissionTimeoutException e) {
+            response = ApiResponses.error(HttpStatus.SERVICE_UNAVAILABLE, "Application processing timed out", e);
+            outcome = SubmissionPhaseMetrics.TIMEOUT;
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Failed to process application");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            response = ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to process application", e);
         }
+        timings.record(SubmissionTimings.Phase.TOTAL, start);
+        submissionPhaseMetrics.record(timings, outcome);
+        // Timing-Allow-Origin lets the cross-origin frontend read the phases from the Resource Timing API
+        return ResponseEntity.status(response.getStatusCode())
+                .header("Server-Timing", timings.serverTiming())
+                .header("Timing-Allow-Origin", "*")
+                .body(response.getBody());
     }
     
     // 4. Get Applications by Email
+    // Conditional: a poll with If-None-Match set to the current ETag gets a 304 after an id/updatedAt probe
     @GetMapping("/get-applications")
-    public ResponseEntity<?> getApplications(@RequestParam String email) {
+    public ResponseEntity<?> getApplications(@RequestParam String email,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            if (ifNoneMatch != null) {
+                String current = ConditionalGet.etag("applications", applicationService.getApplicationsVersionByEmail(email));
+                if (ConditionalGet.matches(ifNoneMatch, current)) {
+                    return ConditionalGet.notModified(current);
+                }
+            }
             List<LoanApplication> applications = applicationService.getApplicationsByEmail(email);
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("applications", applications);
-            response.put("count", applications.size());
-            response.put("timestamp", System.currentTimeMillis());
-            
-            return ResponseEntity.ok(response);
+            return ConditionalGet.ok(ConditionalGet.etag("applications", LoanApplicationService.versionOf(applications)),
+                    ApiResponses.ApplicationListResponse.of(applications));
             
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Failed to retrieve applications");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve applications", e);
         }
     }
     
     // 5. Get All Applications (Admin)
     @GetMapping("/admin/applications")
     public ResponseEntity<?> getAllApplications() {
-        try {
-            List<LoanApplication> applications = applicationService.getAllApplications();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("applications", applications);
-            response.put("count", applications.size());
-            response.put("timestamp", System.currentTimeMillis());
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Failed to retrieve applications");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+        return adminBulkhead.call(() -> {
+            try {
+                List<LoanApplication> applications = applicationService.getAllApplications();
+                
+                return ResponseEntity.ok(ApiResponses.ApplicationListResponse.of(applications));
+                
+            } catch (Exception e) {
+                return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve applications", e);
+            }
+        });
     }
     
     // 6. Get Application by ID
+    // Conditional, like 4
     @GetMapping("/application/{id}")
-    public ResponseEntity<?> getApplicationById(@PathVariable String id) {
+    public ResponseEntity<?> getApplicationById(@PathVariable String id,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            if (ifNoneMatch != null) {
+                Optional<Long> version = applicationService.getApplicationVersion(id);
+                if (version.isPresent() && ConditionalGet.matches(ifNoneMatch, ConditionalGet.etag("application", version.get()))) {
+                    return ConditionalGet.notModified(ConditionalGet.etag("application", version.get()));
+                }
+            }
             Optional<LoanApplication> application = applicationService.getApplicationById(id);
             
             if (application.isPresent()) {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("application", application.get());
-                response.put("timestamp", System.currentTimeMillis());
-                return ResponseEntity.ok(response);
+                return ConditionalGet.ok(ConditionalGet.etag("application", LoanApplicationService.versionOf(application.get())),
+                        new ApiResponses.ApplicationResponse(true, null, application.get(), System.currentTimeMillis()));
             } else {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("success", false);
-                errorResponse.put("error", "Application not found");
-                errorResponse.put("message", "No application found with ID: " + id);
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponses.ErrorResponse(
+                        false, "Application not found", "No application found with ID: " + id, null));
             }
             
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Failed to retrieve application");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve application", e);
         }
     }
     
@@ -259,57 +267,40 @@ public class LoanController {
         try {
             String newStatus = statusUpdate.get("status");
             if (newStatus == null || newStatus.trim().isEmpty()) {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("success", false);
-                errorResponse.put("error", "Status is required");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+                return ApiResponses.PreSerialized.respond(HttpStatus.BAD_REQUEST, ApiResponses.PreSerialized.STATUS_REQUIRED);
             }
             
             LoanApplication updatedApplication = applicationService.updateApplicationStatus(id, newStatus.toUpperCase());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Application status updated successfully");
-            response.put("application", updatedApplication);
-            response.put("timestamp", System.currentTimeMillis());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new ApiResponses.ApplicationResponse(true, "Application status updated successfully",
+                    updatedApplication, System.currentTimeMillis()));
             
         } catch (RuntimeException e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Application not found");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            return ApiResponses.error(HttpStatus.NOT_FOUND, "Application not found", e);
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Failed to update application status");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to update application status", e);
         }
     }
     
     // 8. Get Application Statistics (Admin)
+    // Conditional on the stats version (application count and latest update), checked before the full scan.
+    // The version is read first, so a write racing the scan can only make the ETag older than the body.
     @GetMapping("/admin/stats")
-    public ResponseEntity<?> getApplicationStats() {
-        try {
-            LoanApplicationService.ApplicationStats stats = applicationService.getApplicationStats();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("stats", stats);
-            response.put("timestamp", System.currentTimeMillis());
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Failed to retrieve statistics");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+    public ResponseEntity<?> getApplicationStats(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return adminBulkhead.call(() -> {
+            try {
+                String etag = ConditionalGet.etag("stats", applicationService.getStatsVersion());
+                if (ConditionalGet.matches(ifNoneMatch, etag)) {
+                    return ConditionalGet.notModified(etag);
+                }
+                LoanApplicationService.ApplicationStats stats = applicationService.getApplicationStats();
+                
+                return ConditionalGet.ok(etag, new ApiResponses.StatsResponse(true, stats, System.currentTimeMillis()));
+                
+            } catch (Exception e) {
+                return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve statistics", e);
+            }
+        });
     }
     
     // 9. Get User by Email
@@ -319,38 +310,127 @@ public class LoanController {
             User user = applicationService.getUserByEmail(email);
             
             if (user != null) {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("user", user);
-                response.put("timestamp", System.currentTimeMillis());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok(new ApiResponses.UserResponse(true, user, System.currentTimeMillis()));
             } else {
-                Map<String, Object> errorResponse = new HashMap<>();
-                errorResponse.put("success", false);
-                errorResponse.put("error", "User not found");
-                errorResponse.put("message", "No user found with email: " + email);
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponses.ErrorResponse(
+                        false, "User not found", "No user found with email: " + email, null));
             }
             
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Failed to retrieve user");
-            errorResponse.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+            return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve user", e);
         }
     }
     
     // 10. Health Check Endpoint
     @GetMapping("/health")
     public ResponseEntity<?> healthCheck() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
-        response.put("message", "Loan Eligibility API is running");
-        response.put("timestamp", System.currentTimeMillis());
-        response.put("version", "1.0.0");
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(new ApiResponses.HealthResponse("UP", "Loan Eligibility API is running",
+                System.currentTimeMillis(), "1.0.0"));
+    }
+    
+    // 11. Get Applications by Credit Score Range (Admin)
+    @GetMapping("/admin/applications/credit-score")
+    public ResponseEntity<?> getApplicationsByCreditScore(@RequestParam int min, @RequestParam int max) {
+        return adminBulkhead.call(() -> {
+            try {
+                List<LoanApplication> applications = applicationService.getApplicationsByCreditScoreRange(min, max);
+                
+                return ResponseEntity.ok(ApiResponses.ApplicationListResponse.of(applications));
+                
+            } catch (Exception e) {
+                return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve applications", e);
+            }
+        });
+    }
+    
+    // 12. Get High-Value Eligible Applications (Admin)
+    @GetMapping("/admin/applications/high-value")
+    public ResponseEntity<?> getHighValueApplications(@RequestParam double minAmount) {
+        return adminBulkhead.call(() -> {
+            try {
+                List<LoanApplication> applications = applicationService.getHighValueEligibleApplications(minAmount);
+                
+                return ResponseEntity.ok(ApiResponses.ApplicationListResponse.of(applications));
+                
+            } catch (Exception e) {
+                return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve applications", e);
+            }
+        });
+    }
+
+    // 13. Search Applicants by Name, Email or Phone (Admin)
+    @GetMapping("/admin/users/search")
+    public ResponseEntity<?> searchUsers(@RequestParam @Size(min = 2, message = "Search query must be at least 2 characters") String q,
+                                         @RequestParam(defaultValue = "0") @Min(value = 0, message = "Page must not be negative") int page,
+                                         @RequestParam(defaultValue = "20") @Min(value = 1, message = "Size must be at least 1")
+                                         @Max(value = 100, message = "Size must not exceed 100") int size) {
+        return adminBulkhead.call(() -> {
+            try {
+                LoanApplicationService.UserSearchPage result = applicationService.searchUsers(q, page, size);
+                
+                return ResponseEntity.ok(new ApiResponses.UserSearchResponse(true, result.getUsers(), result.getTotal(),
+                        page, size, System.currentTimeMillis()));
+                
+            } catch (Exception e) {
+                return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to search users", e);
+            }
+        });
+    }
+
+    // 14. Bulk Update Application Status (Admin)
+    // Body: {"status": "APPROVED", "ids": [...]} or {"status": "APPROVED", "filter": {"status": "PENDING", "eligible": true}}
+    @PostMapping("/admin/applications/status")
+    public ResponseEntity<?> bulkUpdateApplicationStatus(@Valid @RequestBody BulkStatusUpdateRequestDTO request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == (request.getFilter() != null)) {
+            return ApiResponses.PreSerialized.respond(HttpStatus.BAD_REQUEST, ApiResponses.PreSerialized.IDS_OR_FILTER_REQUIRED);
+        }
+        try {
+            String newStatus = request.getStatus().trim().toUpperCase();
+            LoanApplicationService.BulkStatusResult result = byIds
+                    ? applicationService.updateApplicationStatuses(request.getIds(), newStatus)
+                    : applicationService.updateApplicationStatusesMatching(
+                            request.getFilter().getStatus().trim().toUpperCase(), request.getFilter().getEligible(), newStatus);
+            
+            return ResponseEntity.ok(new ApiResponses.BulkStatusResponse(true, result.getStatus(), result.getUpdated(),
+                    result.getResults(), System.currentTimeMillis()));
+            
+        } catch (IllegalArgumentException e) {
+            return ApiResponses.error(HttpStatus.BAD_REQUEST, "Invalid bulk status update", e);
+        } catch (Exception e) {
+            return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to update application statuses", e);
+        }
+    }
+
+    // 15. Bulk Import Users (Admin)
+    // multipart/form-data "file": CSV with a header row name,email,password[,phone]. Answers 202 with the job as
+    // soon as the file is staged; poll 16 for the report
+    @PostMapping(value = "/admin/users/import", consumes = "multipart/form-data")
+    public ResponseEntity<?> importUsers(@RequestParam("file") MultipartFile file) {
+        try {
+            UserImportService.ImportJob job = userImportService.startImport(file.getInputStream());
+            
+            return ResponseEntity.accepted().location(URI.create("/api/admin/users/import/" + job.getId()))
+                    .body(new ApiResponses.ImportJobResponse(true, job, System.currentTimeMillis()));
+            
+        } catch (IllegalArgumentException e) {
+            return ApiResponses.error(HttpStatus.BAD_REQUEST, "Invalid import file", e);
+        } catch (UserImportService.ImportAlreadyRunningException e) {
+            return ApiResponses.error(HttpStatus.CONFLICT, "Import not started", e);
+        } catch (Exception e) {
+            return ApiResponses.error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to start user import", e);
+        }
+    }
+
+    // 16. User Import Status and Report (Admin)
+    @GetMapping("/admin/users/import/{jobId}")
+    public ResponseEntity<?> getImportJob(@PathVariable String jobId) {
+        Optional<UserImportService.ImportJob> job = userImportService.findJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponses.ErrorResponse(
+                    false, "Import not found", "No user import found with ID: " + jobId, null));
+        }
+        return ResponseEntity.ok(new ApiResponses.ImportJobResponse(true, job.get(), System.currentTimeMillis()));
     }
 
     // DTO Classes for Request/Response
@@ -450,4 +530,38 @@ public class LoanController {
         public double getMonthlyEmi() { return monthlyEmi; }
         public void setMonthlyEmi(double monthlyEmi) { this.monthlyEmi = monthlyEmi; }
     }
-}
\ No newline at end of file
+
+    public static class BulkStatusUpdateRequestDTO {
+        @NotBlank(message = "Status is required")
+        private String status;
+        
+        private List<String> ids;
+        
+        @Valid
+        private BulkStatusFilterDTO filter;
+        
+        // Getters and Setters
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        
+        public List<String> getIds() { return ids; }
+        public void setIds(List<String> ids) { this.ids = ids; }
+        
+        public BulkStatusFilterDTO getFilter() { return filter; }
+        public void setFilter(BulkStatusFilterDTO filter) { this.filter = filter; }
+    }
+
+    public static class BulkStatusFilterDTO {
+        @NotBlank(message = "Filter status is required")
+        private String status;
+        
+        private Boolean eligible;
+        
+        // Getters and Setters
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        
+        public Boolean getEligible() { return eligible; }
+        public void setEligible(Boolean eligible) { this.eligible = eligible; }
+    }
+}
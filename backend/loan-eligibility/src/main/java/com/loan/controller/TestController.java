@@ -2,6 +2,7 @@ package com.loan.controller;
 
 import com.loan.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
@@ -10,6 +11,7 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/test")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class TestController {
 
     @Autowired
@@ -0,0 +1,165 @@
+package com.loan.controller.reactive;
+
+import com.loan.config.JwtUtil;
+import com.loan.controller.AuthController.LoginRequestDTO;
+import com.loan.controller.AuthController.SignupRequestDTO;
+import com.loan.entity.User;
+import com.loan.exception.GlobalExceptionHandler;
+import com.loan.repository.reactive.ReactiveUserRepository;
+import com.loan.service.EventLog;
+import com.loan.service.LoginRateLimiter;
+import com.loan.service.PasswordHashingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Mono;
+import java.util.HashMap;
+import java.util.Map;
+
+// WebFlux variant of AuthController, served when the "reactive" profile is active.
+// BCrypt is CPU-bound and blocking, so hashing runs on PasswordHashingService's pool rather than the event loop.
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*") // TODO: Restrict origins in production
+@Validated
+@Profile("reactive")
+public class ReactiveAuthController {
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashing;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private EventLog eventLog;
+
+    // Health check endpoint
+    @GetMapping("/health")
+    public Mono<ResponseEntity<Map<String, Object>>> health() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "OK");
+        response.put("message", "Auth service is running");
+        response.put("timestamp", System.currentTimeMillis());
+        return Mono.just(ResponseEntity.ok(response));
+    }
+
+    // Signup endpoint
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<Map<String, Object>>> signup(@Valid @RequestBody SignupRequestDTO request) {
+        return userRepository.existsByEmail(request.getEmail())
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.just(duplicateEmail(request.getEmail()));
+                    }
+                    return Mono.defer(() -> Mono.fromFuture(passwordHashing.encode(request.getPassword())))
+                            .flatMap(encodedPassword -> {
+                                // Create new user
+                                User user = new User();
+                                user.setName(request.getName());
+                                user.setEmail(request.getEmail());
+                                user.setPassword(encodedPassword);
+                                user.setCreatedAt(java.time.LocalDateTime.now());
+                                user.setUpdatedAt(java.time.LocalDateTime.now());
+                                return userRepository.save(user);
+                            })
+                            .map(savedUser -> {
+                                eventLog.log("auth.signup.success", "userId", savedUser.getId(), "email", savedUser.getEmail());
+                                // Create response (excluding password)
+                                Map<String, Object> response = new HashMap<>();
+                                response.put("success", true);
+                                response.put("message", "User created successfully");
+                                response.put("user", userSummary(savedUser));
+                                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                            });
+                })
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(duplicateEmail(request.getEmail())))
+                .onErrorResume(GlobalExceptionHandler.PasswordHashingBusyException.class, e -> {
+                    eventLog.log("auth.busy", "operation", "signup");
+                    return Mono.just(GlobalExceptionHandler.passwordHashingBusy(e));
+                })
+                .onErrorResume(e -> {
+                    eventLog.log("auth.signup.error", "email", request.getEmail(), e);
+                    return Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create user: " + e.getMessage(), "INTERNAL_ERROR"));
+                });
+    }
+
+    // Login endpoint
+    @PostMapping("/login")
+    public Mono<ResponseEntity<Map<String, Object>>> login(@Valid @RequestBody LoginRequestDTO request, ServerHttpRequest httpRequest) {
+        String clientIp = httpRequest.getRemoteAddress() == null ? null : httpRequest.getRemoteAddress().getAddress().getHostAddress();
+        try {
+            // Before any lookup or hashing
+            loginRateLimiter.acquire(request.getEmail(), clientIp);
+        } catch (GlobalExceptionHandler.TooManyLoginAttemptsException e) {
+            eventLog.log("auth.login.rate-limited", "email", request.getEmail(), "ip", clientIp);
+            return Mono.just(GlobalExceptionHandler.tooManyLoginAttempts(e));
+        }
+        return userRepository.findByEmail(request.getEmail())
+                .flatMap(user -> Mono.defer(() -> Mono.fromFuture(passwordHashing.matches(request.getPassword(), user.getPassword())))
+                        .map(matches -> {
+                            if (!matches) {
+                                eventLog.log("auth.login.failure", "email", request.getEmail(), "reason", "bad_password");
+                                return invalidCredentials();
+                            }
+                            eventLog.log("auth.login.success", "userId", user.getId(), "email", user.getEmail());
+                            // Create response (excluding password)
+                            Map<String, Object> response = new HashMap<>();
+                            response.put("success", true);
+                            response.put("message", "Login successful");
+                            response.put("user", userSummary(user));
+                            response.put("token", jwtUtil.generateToken(user.getEmail()));  // Send as "Authorization: Bearer <token>"
+                            return ResponseEntity.ok(response);
+                        }))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    eventLog.log("auth.login.failure", "email", request.getEmail(), "reason", "unknown_user");
+                    return invalidCredentials();
+                }))
+                .onErrorResume(GlobalExceptionHandler.PasswordHashingBusyException.class, e -> {
+                    eventLog.log("auth.busy", "operation", "login");
+                    return Mono.just(GlobalExceptionHandler.passwordHashingBusy(e));
+                })
+                .onErrorResume(e -> {
+                    eventLog.log("auth.login.error", "email", request.getEmail(), e);
+                    return Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Login failed: " + e.getMessage(), "INTERNAL_ERROR"));
+                });
+    }
+
+    private static Map<String, Object> userSummary(User user) {
+        return Map.of(
+            "id", user.getId(),
+            "name", user.getName(),
+            "email", user.getEmail(),
+            "createdAt", user.getCreatedAt()
+        );
+    }
+
+    private ResponseEntity<Map<String, Object>> duplicateEmail(String email) {
+        eventLog.log("auth.signup.duplicate", "email", email);
+        return error(HttpStatus.CONFLICT, "User with this email already exists", "DUPLICATE_EMAIL");
+    }
+
+    private static ResponseEntity<Map<String, Object>> invalidCredentials() {
+        return error(HttpStatus.UNAUTHORIZED, "Invalid email or password", "INVALID_CREDENTIALS");
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String message, String code) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", message);
+        errorResponse.put("code", code);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
@@ -0,0 +1,322 @@
+package com.loan.controller.reactive;
+
+import com.loan.controller.LoanController.BulkStatusUpdateRequestDTO;
+import com.loan.controller.LoanController.EligibilityRequestDTO;
+import com.loan.controller.LoanController.SaveApplicationRequestDTO;
+import com.loan.entity.LoanApplication;
+import com.loan.service.IdempotencyService;
+import com.loan.service.LoanApplicationService;
+import com.loan.service.LoanEligibilityService;
+import com.loan.service.ReactiveIdempotencyService;
+import com.loan.service.ReactiveLoanApplicationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.validation.annotation.Validated;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.HashMap;
+import java.util.Map;
+
+// WebFlux variant of LoanController - same paths and payloads, served when the "reactive" profile is active.
+// List endpoints additionally stream documents as NDJSON when the client asks for application/x-ndjson.
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*") // TODO: Restrict origins in production
+@Validated
+@Profile("reactive")
+public class ReactiveLoanController {
+
+    @Autowired
+    private LoanEligibilityService eligibilityService;
+
+    @Autowired
+    private ReactiveLoanApplicationService applicationService;
+
+    @Autowired
+    private ReactiveIdempotencyService idempotencyService;
+
+    // 1. Check Eligibility Endpoint (without saving application)
+    @PostMapping("/check-eligibility")
+    public Mono<ResponseEntity<Map<String, Object>>> checkEligibility(@Valid @RequestBody EligibilityRequestDTO request) {
+        return Mono.fromSupplier(() -> {
+                    LoanEligibilityService.EligibilityResult result = eligibilityService.checkEligibility(toEligibilityRequest(request));
+
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("eligible", result.isEligible());
+                    response.put("reason", result.getReason());
+                    response.put("maxLoanAmount", result.getMaxLoanAmount());
+                    response.put("approvedAmount", result.getApprovedAmount());
+                    response.put("interestRate", result.getInterestRate());
+                    response.put("monthlyEmi", result.getMonthlyEmi());
+                    response.put("timestamp", System.currentTimeMillis());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> {
+                    Map<String, Object> errorResponse = new HashMap<>();
+                    errorResponse.put("error", "Failed to check eligibility");
+                    errorResponse.put("message", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse));
+                });
+    }
+
+    // 2. Save Application Endpoint
+    @PostMapping("/save-application")
+    public Mono<ResponseEntity<?>> saveApplication(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                   @Valid @RequestBody SaveApplicationRequestDTO request) {
+        // Retries carrying the same Idempotency-Key replay the first response instead of saving again
+        return idempotencyService.execute(idempotencyKey, "save-application", request, () -> doSaveApplication(request));
+    }
+
+    private Mono<ResponseEntity<Map<String, Object>>> doSaveApplication(SaveApplicationRequestDTO request) {
+        LoanApplicationService.LoanApplicationRequest serviceRequest = toApplicationRequest(request);
+        serviceRequest.setEligible(request.isEligible());
+        serviceRequest.setEligibilityReason(request.getEligibilityReason());
+        serviceRequest.setApprovedAmount(request.getApprovedAmount());
+        serviceRequest.setInterestRate(request.getInterestRate());
+        serviceRequest.setMonthlyEmi(request.getMonthlyEmi());
+
+        return applicationService.saveApplication(serviceRequest)
+                .map(savedApplication -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("message", "Application saved successfully");
+                    response.put("applicationId", savedApplication.getId());
+                    response.put("status", savedApplication.getStatus());
+                    response.put("timestamp", System.currentTimeMillis());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to save application", e.getMessage())));
+    }
+
+    // 3. Check Eligibility AND Save Application
+    @PostMapping("/check-eligibility-and-save")
+    public Mono<ResponseEntity<?>> checkEligibilityAndSave(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                           @Valid @RequestBody SaveApplicationRequestDTO request) {
+        // Retries carrying the same Idempotency-Key replay the first response without rerunning eligibility
+        return idempotencyService.execute(idempotencyKey, "check-eligibility-and-save", request, () -> doCheckEligibilityAndSave(request));
+    }
+
+    private Mono<ResponseEntity<Map<String, Object>>> doCheckEligibilityAndSave(SaveApplicationRequestDTO request) {
+        return Mono.fromSupplier(() -> eligibilityService.checkEligibility(toEligibilityRequest(request)))
+                .flatMap(eligibilityResult -> {
+                    LoanApplicationService.LoanApplicationRequest appRequest = toApplicationRequest(request);
+                    appRequest.setEligible(eligibilityResult.isEligible());
+                    appRequest.setEligibilityReason(eligibilityResult.getReason());
+                    appRequest.setApprovedAmount(eligibilityResult.getApprovedAmount());
+                    appRequest.setInterestRate(eligibilityResult.getInterestRate());
+                    appRequest.setMonthlyEmi(eligibilityResult.getMonthlyEmi());
+
+                    return applicationService.saveApplication(appRequest).map(savedApplication -> {
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("success", true);
+                        response.put("eligible", eligibilityResult.isEligible());
+                        response.put("reason", eligibilityResult.getReason());
+                        response.put("maxLoanAmount", eligibilityResult.getMaxLoanAmount());
+                        response.put("approvedAmount", eligibilityResult.getApprovedAmount());
+                        response.put("interestRate", eligibilityResult.getInterestRate());
+                        response.put("monthlyEmi", eligibilityResult.getMonthlyEmi());
+                        response.put("applicationId", savedApplication.getId());
+                        response.put("applicationStatus", savedApplication.getStatus());
+                        response.put("timestamp", System.currentTimeMillis());
+                        return ResponseEntity.ok(response);
+                    });
+                })
+                .onErrorResume(e -> Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to process application", e.getMessage())));
+    }
+
+    // 4. Get Applications by Email
+    @GetMapping("/get-applications")
+    public Mono<ResponseEntity<Map<String, Object>>> getApplications(@RequestParam String email) {
+        return applicationService.getApplicationsByEmail(email)
+                .collectList()
+                .map(applications -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("applications", applications);
+                    response.put("count", applications.size());
+                    response.put("timestamp", System.currentTimeMillis());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve applications", e.getMessage())));
+    }
+
+    // 4b. Stream Applications by Email (one document per line, no buffering)
+    @GetMapping(value = "/get-applications", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<LoanApplication> streamApplications(@RequestParam String email) {
+        return applicationService.getApplicationsByEmail(email);
+    }
+
+    // 5. Get All Applications (Admin)
+    @GetMapping("/admin/applications")
+    public Mono<ResponseEntity<Map<String, Object>>> getAllApplications() {
+        return applicationService.getAllApplications()
+                .collectList()
+                .map(applications -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("applications", applications);
+                    response.put("count", applications.size());
+                    response.put("timestamp", System.currentTimeMillis());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve applications", e.getMessage())));
+    }
+
+    // 5b. Stream All Applications (Admin)
+    @GetMapping(value = "/admin/applications", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<LoanApplication> streamAllApplications() {
+        return applicationService.getAllApplications();
+    }
+
+    // 6. Get Application by ID
+    @GetMapping("/application/{id}")
+    public Mono<ResponseEntity<Map<String, Object>>> getApplicationById(@PathVariable String id) {
+        return applicationService.getApplicationById(id)
+                .map(application -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("application", application);
+                    response.put("timestamp", System.currentTimeMillis());
+                    return ResponseEntity.ok(response);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> error(HttpStatus.NOT_FOUND, "Application not found", "No application found with ID: " + id)))
+                .onErrorResume(e -> Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve application", e.getMessage())));
+    }
+
+    // 7. Update Application Status (Admin)
+    @PutMapping("/admin/application/{id}/status")
+    public Mono<ResponseEntity<Map<String, Object>>> updateApplicationStatus(@PathVariable String id, @RequestBody Map<String, String> statusUpdate) {
+        String newStatus = statusUpdate.get("status");
+        if (newStatus == null || newStatus.trim().isEmpty()) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", "Status is required");
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse));
+        }
+
+        return applicationService.updateApplicationStatus(id, newStatus.toUpperCase())
+                .map(updatedApplication -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("message", "Application status updated successfully");
+                    response.put("application", updatedApplication);
+                    response.put("timestamp", System.currentTimeMillis());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> Mono.just(error(HttpStatus.NOT_FOUND, "Application not found", e.getMessage())));
+    }
+
+    // 14. Bulk Update Application Status (Admin)
+    @PostMapping("/admin/applications/status")
+    public Mono<ResponseEntity<Map<String, Object>>> bulkUpdateApplicationStatus(@Valid @RequestBody BulkStatusUpdateRequestDTO request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == (request.getFilter() != null)) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("error", "Either ids or filter is required, not both");
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse));
+        }
+
+        String newStatus = request.getStatus().trim().toUpperCase();
+        Mono<LoanApplicationService.BulkStatusResult> result = byIds
+                ? applicationService.updateApplicationStatuses(request.getIds(), newStatus)
+                : applicationService.updateApplicationStatusesMatching(
+                        request.getFilter().getStatus().trim().toUpperCase(), request.getFilter().getEligible(), newStatus);
+        return result
+                .map(bulkResult -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("status", bulkResult.getStatus());
+                    response.put("updated", bulkResult.getUpdated());
+                    response.put("results", bulkResult.getResults());
+                    response.put("timestamp", System.currentTimeMillis());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(error(HttpStatus.BAD_REQUEST, "Invalid bulk status update", e.getMessage())))
+                .onErrorResume(e -> Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to update application statuses", e.getMessage())));
+    }
+
+    // 8. Get Application Statistics (Admin)
+    @GetMapping("/admin/stats")
+    public Mono<ResponseEntity<Map<String, Object>>> getApplicationStats() {
+        return applicationService.getApplicationStats()
+                .map(stats -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("stats", stats);
+                    response.put("timestamp", System.currentTimeMillis());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve statistics", e.getMessage())));
+    }
+
+    // 9. Get User by Email
+    @GetMapping("/user")
+    public Mono<ResponseEntity<Map<String, Object>>> getUserByEmail(@RequestParam String email) {
+        return applicationService.getUserByEmail(email)
+                .map(user -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("user", user);
+                    response.put("timestamp", System.currentTimeMillis());
+                    return ResponseEntity.ok(response);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> error(HttpStatus.NOT_FOUND, "User not found", "No user found with email: " + email)))
+                .onErrorResume(e -> Mono.just(error(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to retrieve user", e.getMessage())));
+    }
+
+    // 10. Health Check Endpoint
+    @GetMapping("/health")
+    public Mono<ResponseEntity<Map<String, Object>>> healthCheck() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "UP");
+        response.put("message", "Loan Eligibility API is running");
+        response.put("timestamp", System.currentTimeMillis());
+        response.put("version", "1.0.0");
+
+        return Mono.just(ResponseEntity.ok(response));
+    }
+
+    private static LoanEligibilityService.EligibilityRequest toEligibilityRequest(EligibilityRequestDTO request) {
+        return new LoanEligibilityService.EligibilityRequest(
+            request.getName(),
+            request.getAge(),
+            request.getAnnualIncome(),
+            request.getCreditScore(),
+            request.getMonthlyDebtPayments(),
+            request.getRequestedAmount(),
+            request.getLoanTenure(),
+            request.getEmploymentType()
+        );
+    }
+
+    private static LoanApplicationService.LoanApplicationRequest toApplicationRequest(SaveApplicationRequestDTO request) {
+        LoanApplicationService.LoanApplicationRequest appRequest = new LoanApplicationService.LoanApplicationRequest();
+        appRequest.setName(request.getName());
+        appRequest.setEmail(request.getEmail());
+        appRequest.setPhone(request.getPhone());
+        appRequest.setAge(request.getAge());
+        appRequest.setAnnualIncome(request.getAnnualIncome());
+        appRequest.setCreditScore(request.getCreditScore());
+        appRequest.setMonthlyDebtPayments(request.getMonthlyDebtPayments());
+        appRequest.setRequestedAmount(request.getRequestedAmount());
+        appRequest.setLoanTenure(request.getLoanTenure());
+        appRequest.setEmploymentType(request.getEmploymentType());
+        appRequest.setLoanPurpose(request.getLoanPurpose());
+        return appRequest;
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String error, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", error);
+        errorResponse.put("message", message);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
@@ -0,0 +1,78 @@
+package com.loan.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import java.time.LocalDateTime;
+
+// Stored outcome of a request made with an Idempotency-Key header.
+// The key (scoped by endpoint) is the _id, so MongoDB's unique _id index arbitrates concurrent claims.
+// An IN_PROGRESS claim is only honoured until its lease expires, so a claim left behind by a crashed
+// instance doesn't block the key for the whole TTL; the claim token identifies which claim a release targets.
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    
+    public static final long TTL_HOURS = 24;
+    
+    @Id
+    private String id;
+    
+    @Field("request_hash")
+    private String requestHash;
+    
+    private String status; // IN_PROGRESS, COMPLETED
+    
+    @Field("claim_token")
+    private String claimToken;
+    
+    @Field("lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+    
+    @Field("http_status")
+    private int httpStatus;
+    
+    @Field("response_body")
+    private String responseBody;
+    
+    @Field("created_at")
+    @Indexed(expireAfter = TTL_HOURS + "h")
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public IdempotencyRecord() {}
+    
+    public IdempotencyRecord(String id, String requestHash, String claimToken, LocalDateTime leaseExpiresAt) {
+        this.id = id;
+        this.requestHash = requestHash;
+        this.status = "IN_PROGRESS";
+        this.claimToken = claimToken;
+        this.leaseExpiresAt = leaseExpiresAt;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+    
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+    
+    public int getHttpStatus() { return httpStatus; }
+    public void setHttpStatus(int httpStatus) { this.httpStatus = httpStatus; }
+    
+    public String getResponseBody() { return responseBody; }
+    public void setResponseBody(String responseBody) { this.responseBody = responseBody; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
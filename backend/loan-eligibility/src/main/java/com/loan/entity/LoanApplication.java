@@ -1,6 +1,7 @@
 package com.loan.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import java.time.LocalDateTime;
@@ -15,6 +16,7 @@ public class LoanApplication {
     private String userId;
     
     private String name;
+    @Indexed
     private String email;
     private String phone;
     private int age;
@@ -61,6 +63,8 @@ public class LoanApplication {
     @Field("created_at")
     private LocalDateTime createdAt;
     
+    // Indexed for the /admin/stats version probe (latest update)
+    @Indexed
     @Field("updated_at")
     private LocalDateTime updatedAt;
     
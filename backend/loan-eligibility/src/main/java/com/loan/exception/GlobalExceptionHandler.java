@@ -1,11 +1,15 @@
 package com.loan.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebInputException;
 import org.springframework.validation.FieldError;
 import jakarta.validation.ConstraintViolationException;
 import java.util.HashMap;
@@ -37,6 +41,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
     
+    // Handle validation errors for request body (WebFlux, "reactive" profile)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        Map<String, Object> response = new HashMap<>();
+        Map<String, String> errors = new HashMap<>();
+        
+        ex.getFieldErrors().forEach((error) -> {
+            errors.put(error.getField(), error.getDefaultMessage());
+        });
+        
+        response.put("success", false);
+        response.put("error", "Validation failed");
+        response.put("message", "Please check the provided data");
+        response.put("validationErrors", errors);
+        response.put("timestamp", System.currentTimeMillis());
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+    
     // Handle validation errors for request parameters
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Map<String, Object>> handleConstraintViolationException(ConstraintViolationException ex) {
@@ -70,6 +93,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
     
+    // Handle missing request parameters and unreadable input (WebFlux, "reactive" profile)
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Map<String, Object>> handleServerWebInputException(ServerWebInputException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        if (ex instanceof MissingRequestValueException missing) {
+            response.put("error", "Missing required parameter");
+            response.put("message", "Required parameter '" + missing.getName() + "' is missing");
+            response.put("parameterName", missing.getName());
+            response.put("parameterType", missing.getType().getSimpleName());
+        } else {
+            response.put("error", "Invalid request");
+            response.put("message", ex.getReason());
+        }
+        response.put("timestamp", System.currentTimeMillis());
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+    
     // Handle IllegalArgumentException
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
@@ -139,6 +181,63 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
     
+    // Concurrent submission steps did not finish within loan.submission.timeout-ms
+    @ExceptionHandler(SubmissionTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleSubmissionTimeoutException(SubmissionTimeoutException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("error", "Application processing timed out");
+        response.put("message", ex.getMessage());
+        response.put("timestamp", System.currentTimeMillis());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+    
+    // The password hashing pool is saturated (see PasswordHashingService)
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, Object>> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        return passwordHashingBusy(ex);
+    }
+    
+    public static ResponseEntity<Map<String, Object>> passwordHashingBusy(PasswordHashingBusyException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", ex.getMessage());
+        response.put("code", "AUTH_BUSY");
+        response.put("timestamp", System.currentTimeMillis());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+    }
+    
+    // The admin query bulkhead is full or the query overran admin.bulkhead.timeout-ms (see AdminBulkhead)
+    @ExceptionHandler(AdminBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleAdminBusyException(AdminBusyException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", ex.getMessage());
+        response.put("code", "ADMIN_BUSY");
+        response.put("timestamp", System.currentTimeMillis());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+    }
+    
+    // Login attempts over the per-IP or per-email budget (see LoginRateLimiter)
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyLoginAttemptsException(TooManyLoginAttemptsException ex) {
+        return tooManyLoginAttempts(ex);
+    }
+    
+    public static ResponseEntity<Map<String, Object>> tooManyLoginAttempts(TooManyLoginAttemptsException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", ex.getMessage());
+        response.put("code", "TOO_MANY_ATTEMPTS");
+        response.put("timestamp", System.currentTimeMillis());
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds())).body(response);
+    }
+    
     // Custom exception classes
     public static class ApplicationNotFoundException extends RuntimeException {
         public ApplicationNotFoundException(String message) {
@@ -151,4 +250,35 @@ public class GlobalExceptionHandler {
             super(message);
         }
     }
+    
+    public static class SubmissionTimeoutException extends RuntimeException {
+        public SubmissionTimeoutException(String message) {
+            super(message);
+        }
+    }
+    
+    public static class PasswordHashingBusyException extends RuntimeException {
+        public PasswordHashingBusyException(String message) {
+            super(message);
+        }
+    }
+    
+    public static class AdminBusyException extends RuntimeException {
+        public AdminBusyException(String message) {
+            super(message);
+        }
+    }
+    
+    public static class TooManyLoginAttemptsException extends RuntimeException {
+        private final long retryAfterSeconds;
+        
+        public TooManyLoginAttemptsException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+        
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
 }
\ No newline at end of file
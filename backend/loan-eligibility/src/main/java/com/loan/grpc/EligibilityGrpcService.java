@@ -0,0 +1,120 @@
+package com.loan.grpc;
+
+import com.loan.controller.LoanController;
+import com.loan.grpc.api.EligibilityCheck;
+import com.loan.grpc.api.EligibilityDecision;
+import com.loan.grpc.api.EligibilityGrpc;
+import com.loan.service.LoanEligibilityService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// loan.eligibility.v1.Eligibility (src/main/proto/eligibility.proto): a bidirectional stream of eligibility checks
+// over one connection, evaluated by the same LoanEligibilityService as POST /api/check-eligibility after the same
+// validation (the constraints on LoanController.EligibilityRequestDTO).
+//
+// Flow control is manual: the next check is requested from the client only once the previous decision has been
+// handed to the transport and the outbound buffer is below its threshold (isReady). A client that stops reading
+// decisions therefore stops being read from, instead of decisions piling up on the server.
+@Component
+public class EligibilityGrpcService extends EligibilityGrpc.EligibilityImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(EligibilityGrpcService.class);
+
+    @Autowired
+    private LoanEligibilityService eligibilityService;
+
+    @Autowired
+    private Validator validator;
+
+    @Override
+    public StreamObserver<EligibilityCheck> checkEligibility(StreamObserver<EligibilityDecision> responseObserver) {
+        ServerCallStreamObserver<EligibilityDecision> decisions = (ServerCallStreamObserver<EligibilityDecision>) responseObserver;
+        decisions.disableAutoRequest();
+        // Set when a check has been requested and not yet answered; the onReady handler only requests when clear
+        AtomicBoolean awaitingCheck = new AtomicBoolean();
+        decisions.setOnReadyHandler(() -> {
+            if (decisions.isReady() && awaitingCheck.compareAndSet(false, true)) {
+                decisions.request(1);
+            }
+        });
+
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(EligibilityCheck check) {
+                EligibilityDecision decision;
+                try {
+                    decision = decide(check);
+                } catch (RuntimeException e) {
+                    log.error("Eligibility check {} failed", check.getCorrelationId(), e);
+                    decisions.onError(Status.INTERNAL.withDescription("Failed to check eligibility").asRuntimeException());
+                    return;
+                }
+                decisions.onNext(decision);
+                if (decisions.isReady()) {
+                    decisions.request(1);
+                } else {
+                    awaitingCheck.set(false);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                // Client cancelled or the connection dropped; nothing left to send to
+                log.debug("Eligibility stream ended by the client: {}", Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                decisions.onCompleted();
+            }
+        };
+    }
+
+    EligibilityDecision decide(EligibilityCheck check) {
+        LoanController.EligibilityRequestDTO request = toRequest(check);
+        Set<ConstraintViolation<LoanController.EligibilityRequestDTO>> violations = validator.validate(request);
+        EligibilityDecision.Builder decision = EligibilityDecision.newBuilder().setCorrelationId(check.getCorrelationId());
+        if (!violations.isEmpty()) {
+            for (ConstraintViolation<LoanController.EligibilityRequestDTO> violation : violations) {
+                decision.putValidationErrors(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            return decision.setEligible(false).setReason("Validation failed").build();
+        }
+
+        LoanEligibilityService.EligibilityResult result = eligibilityService.checkEligibility(
+                new LoanEligibilityService.EligibilityRequest(request.getName(), request.getAge(),
+                        request.getAnnualIncome(), request.getCreditScore(), request.getMonthlyDebtPayments(),
+                        request.getRequestedAmount(), request.getLoanTenure(), request.getEmploymentType()));
+        return decision.setEligible(result.isEligible())
+                .setReason(result.getReason())
+                .setMaxLoanAmount(result.getMaxLoanAmount())
+                .setApprovedAmount(result.getApprovedAmount())
+                .setInterestRate(result.getInterestRate())
+                .setMonthlyEmi(result.getMonthlyEmi())
+                .build();
+    }
+
+    // proto3 strings are never null: an unset name or employment type arrives as "" and fails @NotBlank as in REST
+    private static LoanController.EligibilityRequestDTO toRequest(EligibilityCheck check) {
+        LoanController.EligibilityRequestDTO request = new LoanController.EligibilityRequestDTO();
+        request.setName(check.getName());
+        request.setAge(check.getAge());
+        request.setAnnualIncome(check.getAnnualIncome());
+        request.setCreditScore(check.getCreditScore());
+        request.setMonthlyDebtPayments(check.getMonthlyDebtPayments());
+        request.setRequestedAmount(check.getRequestedAmount());
+        request.setLoanTenure(check.getLoanTenure());
+        request.setEmploymentType(check.getEmploymentType());
+        return request;
+    }
+}
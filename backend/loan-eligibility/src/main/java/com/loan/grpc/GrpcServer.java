@@ -0,0 +1,103 @@
+package com.loan.grpc;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.grpc.MetricCollectingServerInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Netty gRPC server for EligibilityGrpcService, on its own port (grpc.server.port, 0 picks a free one) next to the
+// HTTP server, in either web stack. Calls run on virtual threads like the HTTP requests. Plaintext, as the HTTP
+// port: TLS is terminated in front of the instance. Metrics: grpc.server.* per method, from Micrometer's interceptor.
+//
+// On shutdown new calls are refused and open streams get grpc.server.shutdown-grace-ms to finish before they are
+// cancelled.
+@Component
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServer.class);
+
+    @Autowired
+    private EligibilityGrpcService eligibilityService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${grpc.server.enabled:true}")
+    private boolean enabled;
+
+    @Value("${grpc.server.port:9090}")
+    private int port;
+
+    @Value("${grpc.server.shutdown-grace-ms:10000}")
+    private long shutdownGraceMs;
+
+    @Value("${grpc.server.max-inbound-message-bytes:65536}")
+    private int maxInboundMessageBytes;
+
+    private ExecutorService executor;
+    private volatile Server server;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            server = NettyServerBuilder.forPort(port)
+                    .executor(executor)
+                    .maxInboundMessageSize(maxInboundMessageBytes)
+                    // Partner streams are long-lived; let their keepalive pings through without GOAWAY
+                    .permitKeepAliveTime(30, TimeUnit.SECONDS)
+                    .addService(eligibilityService)
+                    .intercept(new MetricCollectingServerInterceptor(meterRegistry))
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            executor.shutdown();
+            throw new UncheckedIOException("Failed to start the gRPC server on port " + port, e);
+        }
+        log.info("gRPC server started on port {}", server.getPort());
+    }
+
+    @Override
+    public void stop() {
+        Server running = server;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(shutdownGraceMs, TimeUnit.MILLISECONDS)) {
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            running.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        executor.shutdown();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public int getPort() {
+        Server running = server;
+        return running != null ? running.getPort() : -1;
+    }
+}
@@ -1,13 +1,19 @@
 package com.loan.repository;
 
 import com.loan.entity.LoanApplication;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
+@Profile("!reactive")
 public interface LoanApplicationRepository extends MongoRepository<LoanApplication, String> {
     
     // Find applications by email
@@ -54,4 +60,31 @@ public interface LoanApplicationRepository extends MongoRepository<LoanApplicati
     // Find recent applications (last N days)
     @Query("{'createdAt': {$gte: ?0}}")
     List<LoanApplication> findRecentApplications(LocalDateTime fromDate);
+    
+    // Id and status only, for planning a bulk status change
+    @Query(value = "{'_id': {$in: ?0}}", fields = "{'status': 1}")
+    List<LoanApplication> findStatusesByIdIn(Collection<String> ids);
+    
+    // Ids (and status) of the applications a bulk status filter selects
+    @Query(value = "{'status': ?0}", fields = "{'status': 1}")
+    List<LoanApplication> findStatusesByStatus(String status, Limit limit);
+    
+    @Query(value = "{'status': ?0, 'eligible': ?1}", fields = "{'status': 1}")
+    List<LoanApplication> findStatusesByStatusAndEligible(String status, boolean eligible, Limit limit);
+    
+    // Id and updatedAt only: the version probes answering conditional GETs without loading the documents
+    @Query(value = "{'_id': ?0}", fields = "{'updated_at': 1}")
+    Optional<LoanApplication> findVersionById(String id);
+    
+    @Query(value = "{'email': ?0}", fields = "{'updated_at': 1}")
+    List<LoanApplication> findVersionsByEmail(String email);
+    
+    // Most recently updated first; with Limit.of(1), one key from the updated_at index
+    @Query(value = "{}", fields = "{'updated_at': 1}", sort = "{'updated_at': -1}")
+    List<LoanApplication> findLatestVersions(Limit limit);
+    
+    // Bulk status change in one updateMany; only applications still in one of the given statuses are changed
+    @Query("{'_id': {$in: ?0}, 'status': {$in: ?1}}")
+    @Update("{'$set': {'status': ?2, 'updatedAt': ?3}}")
+    long updateStatusByIdInAndStatusIn(Collection<String> ids, Collection<String> fromStatuses, String status, LocalDateTime updatedAt);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.loan.repository;
+
+import com.loan.entity.User;
+
+import java.util.List;
+
+// Repository fragment for the bulk user import: one unordered insert per batch, with the unique email index
+// (not a read beforehand) deciding which rows are duplicates
+public interface UserBulkOperations {
+
+    BulkInsertResult insertUnordered(List<User> users);
+
+    class BulkInsertResult {
+        private final int inserted;
+        private final List<InsertFailure> failures;
+
+        public BulkInsertResult(int inserted, List<InsertFailure> failures) {
+            this.inserted = inserted;
+            this.failures = failures;
+        }
+
+        public int getInserted() { return inserted; }
+        public List<InsertFailure> getFailures() { return failures; }
+    }
+
+    // index is the position in the list passed to insertUnordered
+    class InsertFailure {
+        private final int index;
+        private final boolean duplicateKey;
+        private final String message;
+
+        public InsertFailure(int index, boolean duplicateKey, String message) {
+            this.index = index;
+            this.duplicateKey = duplicateKey;
+            this.message = message;
+        }
+
+        public int getIndex() { return index; }
+        public boolean isDuplicateKey() { return duplicateKey; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,41 @@
+package com.loan.repository;
+
+import com.loan.entity.User;
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// MongoDB implementation of UserBulkOperations, picked up by Spring Data as the UserRepository fragment
+class UserBulkOperationsImpl implements UserBulkOperations {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public BulkInsertResult insertUnordered(List<User> users) {
+        if (users.isEmpty()) {
+            return new BulkInsertResult(0, List.of());
+        }
+        try {
+            // Unordered: the server attempts every document, so one duplicate does not stop the rest of the batch
+            int inserted = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)
+                    .insert(users)
+                    .execute()
+                    .getInsertedCount();
+            return new BulkInsertResult(inserted, List.of());
+        } catch (BulkOperationException e) {
+            List<InsertFailure> failures = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.add(new InsertFailure(error.getIndex(), error.getCode() == DUPLICATE_KEY, error.getMessage()));
+            }
+            return new BulkInsertResult(e.getResult().getInsertedCount(), failures);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.loan.repository;
 
 import com.loan.entity.User;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
@@ -8,7 +9,8 @@ import java.util.List;
 import java.time.LocalDateTime;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+@Profile("!reactive")
+public interface UserRepository extends MongoRepository<User, String>, UserBulkOperations {
     
     // Find user by email (unique)
     Optional<User> findByEmail(String email);
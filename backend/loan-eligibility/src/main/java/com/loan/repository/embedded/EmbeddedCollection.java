@@ -0,0 +1,333 @@
+package com.loan.repository.embedded;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// One collection of documents held in memory and persisted to an EmbeddedLog.
+// Stored instances are never handed out: reads return copies, so callers can mutate what they get
+// back (as they do with Mongo results) without corrupting the secondary indexes.
+public class EmbeddedCollection<T> implements Closeable {
+
+    // Receives every change under the collection's write lock so repositories can keep their indexes in step
+    public interface IndexListener<T> {
+        void added(T document);
+        void removed(T document);
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final String name;
+    private final Class<T> type;
+    private final Function<T, String> idGetter;
+    private final BiConsumer<T, String> idSetter;
+    private final EmbeddedLog log;
+    private final double compactionRatio;
+    private final int compactionMinBytes;
+
+    private final Map<String, T> documents = new LinkedHashMap<>();
+    private final Map<String, Integer> recordSizes = new HashMap<>();
+    private final List<IndexListener<T>> listeners = new ArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long liveBytes;
+
+    public EmbeddedCollection(String name, Class<T> type, Function<T, String> idGetter, BiConsumer<T, String> idSetter,
+                              Path file, int initialCapacity, boolean syncOnWrite,
+                              double compactionRatio, int compactionMinBytes) throws IOException {
+        this.name = name;
+        this.type = type;
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+        this.compactionRatio = compactionRatio;
+        this.compactionMinBytes = compactionMinBytes;
+        this.log = new EmbeddedLog(file, initialCapacity, syncOnWrite);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        log.replay((op, key, payload, recordSize) -> {
+            Integer previousSize = recordSizes.remove(key);
+            if (previousSize != null) {
+                liveBytes -= previousSize;
+            }
+            if (op == EmbeddedLog.PUT) {
+                documents.put(key, decode(payload));
+                recordSizes.put(key, recordSize);
+                liveBytes += recordSize;
+            } else {
+                documents.remove(key);
+            }
+        });
+        compactIfNeeded();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void addIndexListener(IndexListener<T> listener) {
+        lock.writeLock().lock();
+        try {
+            listeners.add(listener);
+            documents.values().forEach(listener::added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public T save(T document) {
+        return write(document, false);
+    }
+
+    public T insert(T document) {
+        return write(document, true);
+    }
+
+    private T write(T document, boolean insertOnly) {
+        lock.writeLock().lock();
+        try {
+            String id = idGetter.apply(document);
+            if (id == null) {
+                id = new ObjectId().toHexString();
+                idSetter.accept(document, id);
+            } else if (insertOnly && documents.containsKey(id)) {
+                throw duplicateKey("_id", id);
+            }
+
+            byte[] payload = encode(document);
+            T stored = decode(payload);
+            T previous = documents.get(id);
+            if (previous != null) {
+                listeners.forEach(listener -> listener.removed(previous));
+            }
+            int recordSize;
+            try {
+                listeners.forEach(listener -> listener.added(stored));
+                recordSize = log.append(EmbeddedLog.PUT, id, payload);
+            } catch (RuntimeException | IOException e) {
+                // A unique index rejected the document or the write failed; put the previous version back
+                listeners.forEach(listener -> listener.removed(stored));
+                if (previous != null) {
+                    listeners.forEach(listener -> listener.added(previous));
+                }
+                throw e;
+            }
+
+            documents.put(id, stored);
+            Integer previousSize = recordSizes.put(id, recordSize);
+            liveBytes += recordSize - (previousSize != null ? previousSize : 0);
+            compactIfNeeded();
+            return document;
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to write to embedded collection " + name, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applies the update to each listed document that matches the condition, under one write lock (so the
+    // batch is atomic with respect to other writes here, unlike Mongo's updateMany); returns how many changed
+    public long updateIf(Collection<String> ids, Predicate<T> condition, Consumer<T> update) {
+        lock.writeLock().lock();
+        try {
+            long modified = 0;
+            for (String id : ids) {
+                T current = documents.get(id);
+                if (current != null && condition.test(current)) {
+                    T changed = copy(current);
+                    update.accept(changed);
+                    write(changed, false);
+                    modified++;
+                }
+            }
+            return modified;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(String id) {
+        return deleteIf(id, document -> true);
+    }
+
+    // Deletes the document only if it matches the condition, atomically with respect to other writes
+    public boolean deleteIf(String id, Predicate<T> condition) {
+        lock.writeLock().lock();
+        try {
+            T current = documents.get(id);
+            if (current == null || !condition.test(current)) {
+                return false;
+            }
+            T removed = documents.remove(id);
+            listeners.forEach(listener -> listener.removed(removed));
+            log.append(EmbeddedLog.DELETE, id, new byte[0]);
+            liveBytes -= recordSizes.remove(id);
+            compactIfNeeded();
+            return true;
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to write to embedded collection " + name, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public T findById(String id) {
+        return read(() -> {
+            T document = documents.get(id);
+            return document != null ? copy(document) : null;
+        });
+    }
+
+    public boolean exists(String id) {
+        return read(() -> documents.containsKey(id));
+    }
+
+    public long count() {
+        return read(() -> (long) documents.size());
+    }
+
+    // Copies of all documents, in insertion order
+    public List<T> findAll() {
+        return read(() -> copyAll(documents.values()));
+    }
+
+    // Copies of the documents with the given ids, skipping ids that are no longer present
+    public List<T> findAllById(Iterable<String> ids) {
+        return read(() -> {
+            List<T> result = new ArrayList<>();
+            for (String id : ids) {
+                T document = documents.get(id);
+                if (document != null) {
+                    result.add(copy(document));
+                }
+            }
+            return result;
+        });
+    }
+
+    // Runs an index lookup under the read lock so it sees a consistent view of documents and indexes
+    public <R> R read(Supplier<R> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Stored instances for scans and index lookups; only call inside read(...) and never leak the instances
+    Iterable<T> storedDocuments() {
+        return documents.values();
+    }
+    
+    T stored(String id) {
+        return documents.get(id);
+    }
+
+    public T copy(T document) {
+        return MAPPER.convertValue(document, type);
+    }
+
+    // Converts a document to another shape through its JSON form, as a Mongo read into a DTO would
+    public <R> R convert(Object document, Class<R> resultType) {
+        return MAPPER.convertValue(document, resultType);
+    }
+
+    public List<T> copyAll(Iterable<T> stored) {
+        List<T> result = new ArrayList<>();
+        for (T document : stored) {
+            result.add(copy(document));
+        }
+        return result;
+    }
+
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            Map<String, byte[]> live = new LinkedHashMap<>();
+            for (Map.Entry<String, T> entry : documents.entrySet()) {
+                live.put(entry.getKey(), encode(entry.getValue()));
+            }
+            log.compact(live);
+            liveBytes = 0;
+            recordSizes.clear();
+            log.replay((op, key, payload, recordSize) -> {
+                recordSizes.put(key, recordSize);
+                liveBytes += recordSize;
+            });
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to compact embedded collection " + name, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Compact once dead records make up more than compactionRatio of a log larger than compactionMinBytes
+    private void compactIfNeeded() {
+        int size = log.size();
+        if (size >= compactionMinBytes && size - liveBytes > size * compactionRatio) {
+            compact();
+        }
+    }
+
+    public long logSize() {
+        return log.size();
+    }
+
+    public void flush() {
+        log.force();
+    }
+
+    private byte[] encode(T document) {
+        try {
+            return MAPPER.writeValueAsBytes(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private T decode(byte[] payload) {
+        try {
+            return MAPPER.readValue(payload, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static DuplicateKeyException duplicateKey(String index, Object value) {
+        // Same wording as the MongoDB server error so existing "E11000" / "duplicate key" checks keep working
+        return new DuplicateKeyException("E11000 duplicate key error index: " + index + " dup key: { " + index + ": \"" + value + "\" }");
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
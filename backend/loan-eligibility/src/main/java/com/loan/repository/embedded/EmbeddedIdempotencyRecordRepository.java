@@ -0,0 +1,102 @@
+package com.loan.repository.embedded;
+
+import com.loan.entity.IdempotencyRecord;
+import com.loan.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// IdempotencyRecordRepository over an EmbeddedCollection. There is no server-side TTL index here, so
+// startTtlMonitor() runs the equivalent sweep: records older than IdempotencyRecord.TTL_HOURS are deleted
+// periodically and the log reclaims their space at the next compaction.
+public class EmbeddedIdempotencyRecordRepository extends EmbeddedRepositorySupport<IdempotencyRecord>
+        implements IdempotencyRecordRepository, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedIdempotencyRecordRepository.class);
+
+    private ScheduledExecutorService ttlMonitor;
+
+    public EmbeddedIdempotencyRecordRepository(EmbeddedCollection<IdempotencyRecord> collection) {
+        super(collection);
+    }
+
+    public synchronized void startTtlMonitor(long intervalMillis) {
+        if (ttlMonitor != null || intervalMillis <= 0) {
+            return;
+        }
+        ttlMonitor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "idempotency-ttl-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ttlMonitor.scheduleWithFixedDelay(() -> {
+            try {
+                deleteExpired();
+            } catch (RuntimeException e) {
+                // An exception would cancel the schedule; the next run retries
+                log.warn("Idempotency TTL sweep failed: {}", e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Deletes records whose created_at is older than the TTL, like MongoDB's TTL monitor; returns how many
+    public long deleteExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(IdempotencyRecord.TTL_HOURS);
+        List<String> expired = collection.read(() -> {
+            List<String> ids = new ArrayList<>();
+            for (IdempotencyRecord record : collection.storedDocuments()) {
+                if (isExpired(record, cutoff)) {
+                    ids.add(record.getId());
+                }
+            }
+            return ids;
+        });
+        long deleted = 0;
+        for (String id : expired) {
+            if (collection.deleteIf(id, record -> isExpired(record, cutoff))) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static boolean isExpired(IdempotencyRecord record, LocalDateTime cutoff) {
+        return record.getCreatedAt() == null || record.getCreatedAt().isBefore(cutoff);
+    }
+
+    @Override
+    public long deleteByIdAndClaimToken(String id, String claimToken) {
+        return collection.deleteIf(id, record -> Objects.equals(record.getClaimToken(), claimToken)) ? 1 : 0;
+    }
+
+    @Override
+    public long completeByIdAndClaimToken(String id, String claimToken, int httpStatus, String responseBody) {
+        return collection.updateIf(List.of(id), record -> Objects.equals(record.getClaimToken(), claimToken), record -> {
+            record.setStatus("COMPLETED");
+            record.setHttpStatus(httpStatus);
+            record.setResponseBody(responseBody);
+            record.setLeaseExpiresAt(null);
+        });
+    }
+
+    @Override
+    protected String idOf(IdempotencyRecord entity) {
+        return entity.getId();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (ttlMonitor != null) {
+            ttlMonitor.shutdownNow();
+            ttlMonitor = null;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.loan.repository.embedded;
+
+import com.loan.entity.LoanApplication;
+import com.loan.repository.LoanApplicationRepository;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+// LoanApplicationRepository over an EmbeddedCollection, with in-memory indexes on
+// email, userId, status and createdAt. The remaining finders scan the collection.
+public class EmbeddedLoanApplicationRepository extends EmbeddedRepositorySupport<LoanApplication>
+        implements LoanApplicationRepository {
+
+    // Matches Mongo's descending sort: newest first, documents without createdAt last
+    private static final Comparator<LoanApplication> NEWEST_FIRST = Comparator.comparing(
+            LoanApplication::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed();
+
+    private final Map<String, Set<String>> byEmail = new HashMap<>();
+    private final Map<String, Set<String>> byUserId = new HashMap<>();
+    private final Map<String, Set<String>> byStatus = new HashMap<>();
+    private final NavigableMap<LocalDateTime, Set<String>> byCreatedAt = new TreeMap<>();
+    private final Set<String> withoutCreatedAt = new LinkedHashSet<>();
+
+    public EmbeddedLoanApplicationRepository(EmbeddedCollection<LoanApplication> collection) {
+        super(collection);
+        collection.addIndexListener(new EmbeddedCollection.IndexListener<>() {
+            @Override
+            public void added(LoanApplication application) {
+                add(byEmail, application.getEmail(), application.getId());
+                add(byUserId, application.getUserId(), application.getId());
+                add(byStatus, application.getStatus(), application.getId());
+                if (application.getCreatedAt() != null) {
+                    add(byCreatedAt, application.getCreatedAt(), application.getId());
+                } else {
+                    withoutCreatedAt.add(application.getId());
+                }
+            }
+
+            @Override
+            public void removed(LoanApplication application) {
+                remove(byEmail, application.getEmail(), application.getId());
+                remove(byUserId, application.getUserId(), application.getId());
+                remove(byStatus, application.getStatus(), application.getId());
+                if (application.getCreatedAt() != null) {
+                    remove(byCreatedAt, application.getCreatedAt(), application.getId());
+                } else {
+                    withoutCreatedAt.remove(application.getId());
+                }
+            }
+        });
+    }
+
+    private static <K> void add(Map<K, Set<String>> index, K key, String id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+        }
+    }
+
+    private static <K> void remove(Map<K, Set<String>> index, K key, String id) {
+        if (key == null) {
+            return;
+        }
+        Set<String> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    // Copies of the indexed documents, newest first
+    private List<LoanApplication> lookup(Map<String, Set<String>> index, String key) {
+        List<LoanApplication> result = collection.read(() -> {
+            Set<String> ids = index.get(key);
+            return ids == null ? new ArrayList<LoanApplication>() : fetch(ids);
+        });
+        result.sort(NEWEST_FIRST);
+        return result;
+    }
+
+    // Walks the createdAt index from newest to oldest; must be called under the collection's read lock
+    private List<LoanApplication> newestFirst(NavigableMap<LocalDateTime, Set<String>> range) {
+        List<LoanApplication> result = new ArrayList<>();
+        for (Set<String> ids : range.descendingMap().values()) {
+            result.addAll(fetch(ids));
+        }
+        return result;
+    }
+
+    private List<LoanApplication> fetch(Collection<String> ids) {
+        List<LoanApplication> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            result.add(collection.copy(collection.stored(id)));
+        }
+        return result;
+    }
+
+    @Override
+    protected String idOf(LoanApplication entity) {
+        return entity.getId();
+    }
+
+    @Override
+    public List<LoanApplication> findByEmailOrderByCreatedAtDesc(String email) {
+        return lookup(byEmail, email);
+    }
+
+    @Override
+    public List<LoanApplication> findByUserIdOrderByCreatedAtDesc(String userId) {
+        return lookup(byUserId, userId);
+    }
+
+    @Override
+    public List<LoanApplication> findByStatusOrderByCreatedAtDesc(String status) {
+        return lookup(byStatus, status);
+    }
+
+    @Override
+    public List<LoanApplication> findAllByOrderByCreatedAtDesc() {
+        return collection.read(() -> {
+            List<LoanApplication> result = newestFirst(byCreatedAt);
+            result.addAll(fetch(withoutCreatedAt));
+            return result;
+        });
+    }
+
+    @Override
+    public List<LoanApplication> findByEligibleOrderByCreatedAtDesc(boolean eligible) {
+        return scan(application -> application.isEligible() == eligible, NEWEST_FIRST);
+    }
+
+    @Override
+    public List<LoanApplication> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime startDate, LocalDateTime endDate) {
+        // Spring Data's "Between" is exclusive on both ends for Mongo
+        return collection.read(() -> newestFirst(byCreatedAt.subMap(startDate, false, endDate, false)));
+    }
+
+    @Override
+    public List<LoanApplication> findByRequestedAmountGreaterThanOrderByCreatedAtDesc(double amount) {
+        return scan(application -> application.getRequestedAmount() > amount, NEWEST_FIRST);
+    }
+
+    @Override
+    public List<LoanApplication> findByApprovedAmountGreaterThanOrderByCreatedAtDesc(double amount) {
+        return scan(application -> application.getApprovedAmount() > amount, NEWEST_FIRST);
+    }
+
+    @Override
+    public List<LoanApplication> findByEmploymentTypeOrderByCreatedAtDesc(String employmentType) {
+        return scan(application -> employmentType != null && employmentType.equals(application.getEmploymentType()), NEWEST_FIRST);
+    }
+
+    @Override
+    public List<LoanApplication> findByCreditScoreRange(int minScore, int maxScore) {
+        return scan(application -> application.getCreditScore() >= minScore && application.getCreditScore() <= maxScore, null);
+    }
+
+    @Override
+    public List<LoanApplication> findHighValueEligibleApplications(double minAmount) {
+        return scan(application -> application.isEligible() && application.getRequestedAmount() >= minAmount, null);
+    }
+
+    @Override
+    public long countByStatus(String status) {
+        return collection.read(() -> {
+            Set<String> ids = byStatus.get(status);
+            return ids == null ? 0L : (long) ids.size();
+        });
+    }
+
+    @Override
+    public long countByEligible(boolean eligible) {
+        return scanCount(application -> application.isEligible() == eligible);
+    }
+
+    @Override
+    public List<LoanApplication> findRecentApplications(LocalDateTime fromDate) {
+        return collection.read(() -> newestFirst(byCreatedAt.tailMap(fromDate, true)));
+    }
+
+    @Override
+    public List<LoanApplication> findStatusesByIdIn(Collection<String> ids) {
+        return collection.findAllById(ids);
+    }
+
+    @Override
+    public List<LoanApplication> findStatusesByStatus(String status, Limit limit) {
+        return limited(lookup(byStatus, status), limit);
+    }
+
+    @Override
+    public List<LoanApplication> findStatusesByStatusAndEligible(String status, boolean eligible, Limit limit) {
+        List<LoanApplication> matching = lookup(byStatus, status);
+        matching.removeIf(application -> application.isEligible() != eligible);
+        return limited(matching, limit);
+    }
+
+    @Override
+    public Optional<LoanApplication> findVersionById(String id) {
+        return Optional.ofNullable(collection.read(() -> versionOf(collection.stored(id))));
+    }
+
+    @Override
+    public List<LoanApplication> findVersionsByEmail(String email) {
+        return collection.read(() -> {
+            Set<String> ids = byEmail.get(email);
+            List<LoanApplication> versions = new ArrayList<>();
+            if (ids != null) {
+                for (String id : ids) {
+                    versions.add(versionOf(collection.stored(id)));
+                }
+            }
+            return versions;
+        });
+    }
+
+    // No updatedAt index here: one pass over the stored documents, without copying them. Limit.of(1), the
+    // stats probe, only tracks the maximum.
+    @Override
+    public List<LoanApplication> findLatestVersions(Limit limit) {
+        Comparator<LoanApplication> latestFirst = Comparator.comparing(LoanApplication::getUpdatedAt,
+                Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed();
+        if (limit.isLimited() && limit.max() == 1) {
+            return collection.read(() -> {
+                LoanApplication latest = null;
+                for (LoanApplication application : collection.storedDocuments()) {
+                    if (latest == null || latestFirst.compare(application, latest) < 0) {
+                        latest = application;
+                    }
+                }
+                return latest == null ? new ArrayList<LoanApplication>() : new ArrayList<>(List.of(versionOf(latest)));
+            });
+        }
+        List<LoanApplication> versions = collection.read(() -> {
+            List<LoanApplication> all = new ArrayList<>();
+            for (LoanApplication application : collection.storedDocuments()) {
+                all.add(versionOf(application));
+            }
+            return all;
+        });
+        versions.sort(latestFirst);
+        return limited(versions, limit);
+    }
+
+    // The projection the Mongo finders return: id and updatedAt only
+    private static LoanApplication versionOf(LoanApplication stored) {
+        if (stored == null) {
+            return null;
+        }
+        LoanApplication version = new LoanApplication();
+        version.setId(stored.getId());
+        version.setUpdatedAt(stored.getUpdatedAt());
+        return version;
+    }
+
+    @Override
+    public long updateStatusByIdInAndStatusIn(Collection<String> ids, Collection<String> fromStatuses, String status, LocalDateTime updatedAt) {
+        return collection.updateIf(ids, application -> fromStatuses.contains(application.getStatus()), application -> {
+            application.setStatus(status);
+            application.setUpdatedAt(updatedAt);
+        });
+    }
+
+    private static List<LoanApplication> limited(List<LoanApplication> applications, Limit limit) {
+        return limit.isLimited() && applications.size() > limit.max()
+                ? new ArrayList<>(applications.subList(0, limit.max()))
+                : applications;
+    }
+}
@@ -0,0 +1,188 @@
+package com.loan.repository.embedded;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Append-only, memory-mapped record log backing one embedded collection.
+//
+// Record layout: [int bodyLength][int crc32(body)][body], body = [byte op][short keyLength][key][payload].
+// The file is pre-extended with zeros, so a zero length marks the end of the log. On open the log is
+// replayed up to the first record that is truncated or fails its checksum (a torn write from a crash);
+// everything after that point is discarded. Compaction rewrites the live records into a sibling file
+// and atomically renames it over the original, so a crash mid-compaction leaves the old log intact.
+final class EmbeddedLog implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private static final int RECORD_HEADER = 8;
+    private static final int BODY_HEADER = 3;
+
+    interface RecordVisitor {
+        void visit(byte op, String key, byte[] payload, int recordSize);
+    }
+
+    private final Path path;
+    private final int initialCapacity;
+    private final boolean syncOnWrite;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;
+
+    EmbeddedLog(Path path, int initialCapacity, boolean syncOnWrite) throws IOException {
+        this.path = path;
+        this.initialCapacity = initialCapacity;
+        this.syncOnWrite = syncOnWrite;
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        // A leftover compaction file means we crashed before the rename; the original is still authoritative
+        Files.deleteIfExists(compactionPath());
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Embedded log " + path + " exceeds the 2 GB mapping limit");
+        }
+        map((int) Math.max(size, initialCapacity));
+        position = 0;
+    }
+
+    private void map(int capacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    // Replays every intact record in order and positions the log after the last one (crash recovery)
+    synchronized void replay(RecordVisitor visitor) {
+        int offset = 0;
+        while (offset + RECORD_HEADER <= buffer.capacity()) {
+            int bodyLength = buffer.getInt(offset);
+            if (bodyLength < BODY_HEADER || offset + RECORD_HEADER + bodyLength > buffer.capacity()) {
+                break;
+            }
+            byte[] body = new byte[bodyLength];
+            buffer.get(offset + RECORD_HEADER, body);
+            if (crc(body) != buffer.getInt(offset + 4)) {
+                break;
+            }
+
+            int keyLength = ((body[1] & 0xFF) << 8) | (body[2] & 0xFF);
+            String key = new String(body, BODY_HEADER, keyLength, StandardCharsets.UTF_8);
+            byte[] payload = new byte[bodyLength - BODY_HEADER - keyLength];
+            System.arraycopy(body, BODY_HEADER + keyLength, payload, 0, payload.length);
+            visitor.visit(body[0], key, payload, RECORD_HEADER + bodyLength);
+
+            offset += RECORD_HEADER + bodyLength;
+        }
+        position = offset;
+
+        // Wipe a torn tail so stale bytes can never be mistaken for records appended later
+        for (int i = position; i < buffer.capacity() && i < position + RECORD_HEADER; i++) {
+            if (buffer.get(i) != 0) {
+                buffer.put(position, new byte[buffer.capacity() - position]);
+                break;
+            }
+        }
+    }
+
+    // Appends one record and returns its size in bytes
+    synchronized int append(byte op, String key, byte[] payload) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Embedded log keys are limited to 65535 bytes");
+        }
+        int bodyLength = BODY_HEADER + keyBytes.length + payload.length;
+        int recordSize = RECORD_HEADER + bodyLength;
+        ensureCapacity(recordSize);
+
+        byte[] body = new byte[bodyLength];
+        body[0] = op;
+        body[1] = (byte) (keyBytes.length >>> 8);
+        body[2] = (byte) keyBytes.length;
+        System.arraycopy(keyBytes, 0, body, BODY_HEADER, keyBytes.length);
+        System.arraycopy(payload, 0, body, BODY_HEADER + keyBytes.length, payload.length);
+
+        // Body first, header last: a crash between the two leaves a zero length, i.e. a clean end of log
+        buffer.put(position + RECORD_HEADER, body);
+        buffer.putInt(position + 4, crc(body));
+        buffer.putInt(position, bodyLength);
+        position += recordSize;
+
+        if (syncOnWrite) {
+            buffer.force();
+        }
+        return recordSize;
+    }
+
+    private void ensureCapacity(int recordSize) throws IOException {
+        // Keep room for the zero terminator after the record
+        long required = (long) position + recordSize + RECORD_HEADER;
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        long capacity = buffer.capacity();
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Embedded log " + path + " exceeds the 2 GB mapping limit");
+        }
+        buffer.force();
+        map((int) capacity);
+    }
+
+    // Rewrites the log so it holds exactly one PUT record per live key
+    synchronized void compact(Map<String, byte[]> liveRecords) throws IOException {
+        Path compacted = compactionPath();
+        Files.deleteIfExists(compacted);
+        try (EmbeddedLog target = new EmbeddedLog(compacted, initialCapacity, false)) {
+            for (Map.Entry<String, byte[]> entry : liveRecords.entrySet()) {
+                target.append(PUT, entry.getKey(), entry.getValue());
+            }
+            target.buffer.force();
+        }
+
+        buffer.force();
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+        replay((op, key, payload, recordSize) -> { });
+    }
+
+    synchronized int size() {
+        return position;
+    }
+
+    synchronized void force() {
+        buffer.force();
+    }
+
+    private Path compactionPath() {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    private static int crc(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            buffer.force();
+            channel.close();
+        }
+    }
+}
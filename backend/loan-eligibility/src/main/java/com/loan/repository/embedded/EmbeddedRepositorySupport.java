@@ -0,0 +1,424 @@
+package com.loan.repository.embedded;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.NullValueInNestedPathException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.ExampleMatcherAccessor;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// MongoRepository plumbing shared by the embedded repositories; subclasses add the derived finders.
+// Query-by-example scans the collection (see findByExample).
+public abstract class EmbeddedRepositorySupport<T> implements MongoRepository<T, String> {
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    protected final EmbeddedCollection<T> collection;
+
+    protected EmbeddedRepositorySupport(EmbeddedCollection<T> collection) {
+        this.collection = collection;
+    }
+
+    // Full scan for finders that have no index
+    protected List<T> scan(Predicate<T> filter, Comparator<T> order) {
+        List<T> result = collection.read(() -> {
+            List<T> matches = new ArrayList<>();
+            for (T document : collection.storedDocuments()) {
+                if (filter.test(document)) {
+                    matches.add(collection.copy(document));
+                }
+            }
+            return matches;
+        });
+        if (order != null) {
+            result.sort(order);
+        }
+        return result;
+    }
+
+    protected long scanCount(Predicate<T> filter) {
+        return collection.read(() -> {
+            long count = 0;
+            for (T document : collection.storedDocuments()) {
+                if (filter.test(document)) {
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        collection.save(entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> result = new ArrayList<>();
+        entities.forEach(entity -> result.add(save(entity)));
+        return result;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        collection.insert(entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> result = new ArrayList<>();
+        entities.forEach(entity -> result.add(insert(entity)));
+        return result;
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(collection.findById(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return collection.exists(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return collection.findAll();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        return collection.findAllById(ids);
+    }
+
+    @Override
+    public long count() {
+        return collection.count();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        collection.delete(id);
+    }
+
+    @Override
+    public void delete(T entity) {
+        collection.delete(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(collection::delete);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        collection.findAll().forEach(this::delete);
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        List<T> result = collection.findAll();
+        result.sort(comparator(sort));
+        return result;
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return page(findAll(pageable.getSort()), pageable);
+    }
+
+    protected abstract String idOf(T entity);
+
+    // Orders by bean properties the way a Mongo sort would, nulls first
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected static <T> Comparator<T> comparator(Sort sort) {
+        Comparator<T> result = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<T> byProperty = Comparator.comparing(
+                    document -> (Comparable) new BeanWrapperImpl(document).getPropertyValue(order.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            result = result.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return result;
+    }
+
+    // Query by example, evaluated over the stored documents the way Mongo's example mapper builds its filter: every
+    // non-null probe property (primitives included, as the Mongo converter writes them) is compared, nested beans
+    // property by property, honouring the matcher's ignored paths, null handling, string matchers, case and value
+    // transformers. There is no index for an example, so each query scans the collection.
+    @SuppressWarnings("unchecked")
+    protected <S extends T> List<S> findByExample(Example<S> example, Sort sort) {
+        Predicate<T> filter = exampleFilter(example);
+        return (List<S>) scan(filter, sort.isSorted() ? comparator(sort) : null);
+    }
+
+    private static <T> Predicate<T> exampleFilter(Example<? extends T> example) {
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(example.getMatcher());
+        Map<String, Object> probe = new LinkedHashMap<>();
+        probeValues(example.getProbe(), "", accessor, probe);
+        boolean all = example.getMatcher().isAllMatching();
+        return document -> {
+            if (probe.isEmpty()) {
+                return true;
+            }
+            BeanWrapper candidate = new BeanWrapperImpl(document);
+            for (Map.Entry<String, Object> property : probe.entrySet()) {
+                boolean matched = propertyMatches(accessor, property.getKey(), property.getValue(),
+                        nestedValue(candidate, property.getKey()));
+                if (matched != all) {
+                    return matched;
+                }
+            }
+            return all;
+        };
+    }
+
+    private static void probeValues(Object bean, String prefix, ExampleMatcherAccessor accessor, Map<String, Object> into) {
+        BeanWrapper wrapper = new BeanWrapperImpl(bean);
+        for (PropertyDescriptor descriptor : wrapper.getPropertyDescriptors()) {
+            String path = prefix + descriptor.getName();
+            if (descriptor.getReadMethod() == null || "class".equals(descriptor.getName()) || accessor.isIgnoredPath(path)) {
+                continue;
+            }
+            Object value = accessor.getValueTransformerForPath(path)
+                    .apply(Optional.ofNullable(wrapper.getPropertyValue(descriptor.getName()))).orElse(null);
+            if (value == null) {
+                if (accessor.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                    into.put(path, null);
+                }
+            } else if (BeanUtils.isSimpleValueType(value.getClass()) || value instanceof Iterable<?>
+                    || value instanceof Map<?, ?> || value.getClass().isArray()) {
+                into.put(path, value);
+            } else {
+                probeValues(value, path + ".", accessor, into);
+            }
+        }
+    }
+
+    private static Object nestedValue(BeanWrapper candidate, String path) {
+        try {
+            return candidate.getPropertyValue(path);
+        } catch (NullValueInNestedPathException e) {
+            return null;
+        }
+    }
+
+    private static boolean propertyMatches(ExampleMatcherAccessor accessor, String path, Object expected, Object actual) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+        if (!(expected instanceof String probe) || !(actual instanceof String value)) {
+            return Objects.equals(expected, actual);
+        }
+        boolean ignoreCase = accessor.isIgnoreCaseForPath(path);
+        if (ignoreCase) {
+            probe = probe.toLowerCase(Locale.ROOT);
+            value = value.toLowerCase(Locale.ROOT);
+        }
+        return switch (accessor.getStringMatcherForPath(path)) {
+            case STARTING -> value.startsWith(probe);
+            case ENDING -> value.endsWith(probe);
+            case CONTAINING -> value.contains(probe);
+            case REGEX -> Pattern.compile((String) expected, ignoreCase ? Pattern.CASE_INSENSITIVE : 0)
+                    .matcher((String) actual).find();
+            case DEFAULT, EXACT -> value.equals(probe);
+        };
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        List<S> matches = findByExample(example, Sort.unsorted());
+        if (matches.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, matches.size());
+        }
+        return matches.stream().findFirst();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        return findByExample(example, Sort.unsorted());
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        return findByExample(example, sort);
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return page(findByExample(example, pageable.getSort()), pageable);
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return scanCount(exampleFilter(example));
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        Predicate<T> filter = exampleFilter(example);
+        return collection.read(() -> {
+            for (T document : collection.storedDocuments()) {
+                if (filter.test(document)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(new ExampleQuery<>(example, Sort.unsorted(), 0, null, null));
+    }
+
+    private static <S> Page<S> page(List<S> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all, pageable, all.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    // The fluent form of findAll(Example): sort, limit, property projection (the other properties are left null,
+    // as Mongo leaves them out of the document) and conversion to a DTO class or a projection interface
+    private class ExampleQuery<S extends T, R> implements FluentQuery.FetchableFluentQuery<R> {
+
+        private final Example<S> example;
+        private final Sort sort;
+        private final int limit;
+        private final Collection<String> properties;
+        private final Class<R> resultType;
+
+        ExampleQuery(Example<S> example, Sort sort, int limit, Collection<String> properties, Class<R> resultType) {
+            this.example = example;
+            this.sort = sort;
+            this.limit = limit;
+            this.properties = properties;
+            this.resultType = resultType;
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> sortBy(Sort sort) {
+            return new ExampleQuery<>(example, this.sort.and(sort), limit, properties, resultType);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> limit(int limit) {
+            return new ExampleQuery<>(example, sort, limit, properties, resultType);
+        }
+
+        @Override
+        public <N> FluentQuery.FetchableFluentQuery<N> as(Class<N> resultType) {
+            return new ExampleQuery<>(example, sort, limit, properties, resultType);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> project(Collection<String> properties) {
+            return new ExampleQuery<>(example, sort, limit, List.copyOf(properties), resultType);
+        }
+
+        @Override
+        public R oneValue() {
+            List<R> matches = all();
+            if (matches.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, matches.size());
+            }
+            return matches.isEmpty() ? null : matches.get(0);
+        }
+
+        @Override
+        public R firstValue() {
+            List<R> matches = fetch(1);
+            return matches.isEmpty() ? null : matches.get(0);
+        }
+
+        @Override
+        public List<R> all() {
+            return fetch(limit);
+        }
+
+        @Override
+        public Page<R> page(Pageable pageable) {
+            List<R> all = new ExampleQuery<>(example, sort.and(pageable.getSort()), limit, properties, resultType).all();
+            return EmbeddedRepositorySupport.page(all, pageable);
+        }
+
+        @Override
+        public Stream<R> stream() {
+            return all().stream();
+        }
+
+        @Override
+        public long count() {
+            return EmbeddedRepositorySupport.this.count(example);
+        }
+
+        @Override
+        public boolean exists() {
+            return EmbeddedRepositorySupport.this.exists(example);
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<R> fetch(int max) {
+            List<S> matches = findByExample(example, sort);
+            if (max > 0 && matches.size() > max) {
+                matches = matches.subList(0, max);
+            }
+            List<R> result = new ArrayList<>();
+            for (S match : matches) {
+                Object document = properties == null ? match : projected(match);
+                if (resultType == null || resultType.isInstance(document)) {
+                    result.add((R) document);
+                } else if (resultType.isInterface()) {
+                    result.add(PROJECTIONS.createProjection(resultType, document));
+                } else {
+                    result.add(collection.convert(document, resultType));
+                }
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T projected(S document) {
+            Map<String, Object> fields = collection.convert(document, Map.class);
+            fields.keySet().removeIf(field -> !"id".equals(field) && !properties.contains(field));
+            return (T) collection.convert(fields, document.getClass());
+        }
+    }
+}
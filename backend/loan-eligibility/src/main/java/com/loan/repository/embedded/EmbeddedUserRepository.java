@@ -0,0 +1,113 @@
+package com.loan.repository.embedded;
+
+import com.loan.entity.User;
+import com.loan.repository.UserRepository;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+// UserRepository over an EmbeddedCollection. Email carries a unique index, like the
+// @Indexed(unique = true) field on User; the remaining finders scan the collection.
+public class EmbeddedUserRepository extends EmbeddedRepositorySupport<User> implements UserRepository {
+
+    private static final Comparator<User> BY_NAME = Comparator.comparing(User::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+    private static final Comparator<User> NEWEST_FIRST = Comparator.comparing(
+            User::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())).reversed();
+
+    private final Map<String, String> byEmail = new HashMap<>();
+
+    public EmbeddedUserRepository(EmbeddedCollection<User> collection) {
+        super(collection);
+        collection.addIndexListener(new EmbeddedCollection.IndexListener<>() {
+            @Override
+            public void added(User user) {
+                if (user.getEmail() == null) {
+                    return;
+                }
+                String existing = byEmail.putIfAbsent(user.getEmail(), user.getId());
+                if (existing != null && !existing.equals(user.getId())) {
+                    throw EmbeddedCollection.duplicateKey("email", user.getEmail());
+                }
+            }
+
+            @Override
+            public void removed(User user) {
+                if (user.getEmail() != null) {
+                    byEmail.remove(user.getEmail(), user.getId());
+                }
+            }
+        });
+    }
+
+    @Override
+    protected String idOf(User entity) {
+        return entity.getId();
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(collection.read(() -> {
+            String id = byEmail.get(email);
+            return id == null ? null : collection.copy(collection.stored(id));
+        }));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return collection.read(() -> byEmail.containsKey(email));
+    }
+
+    // Same contract as the MongoDB unordered bulk insert: every user is attempted and the email index rejects duplicates
+    @Override
+    public BulkInsertResult insertUnordered(List<User> users) {
+        int inserted = 0;
+        List<InsertFailure> failures = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            try {
+                collection.insert(users.get(i));
+                inserted++;
+            } catch (DuplicateKeyException e) {
+                failures.add(new InsertFailure(i, true, e.getMessage()));
+            }
+        }
+        return new BulkInsertResult(inserted, failures);
+    }
+
+    @Override
+    public Optional<User> findByPhone(String phone) {
+        return scan(user -> phone != null && phone.equals(user.getPhone()), null).stream().findFirst();
+    }
+
+    @Override
+    public List<User> findByNameContainingIgnoreCase(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        return scan(user -> user.getName() != null && user.getName().toLowerCase(Locale.ROOT).contains(needle), null);
+    }
+
+    @Override
+    public boolean existsByPhone(String phone) {
+        return scanCount(user -> phone != null && phone.equals(user.getPhone())) > 0;
+    }
+
+    @Override
+    public List<User> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime date) {
+        return scan(user -> user.getCreatedAt() != null && user.getCreatedAt().isAfter(date), NEWEST_FIRST);
+    }
+
+    @Override
+    public List<User> findByCityOrderByNameAsc(String city) {
+        return scan(user -> city != null && city.equals(user.getCity()), BY_NAME);
+    }
+
+    @Override
+    public List<User> findByStateOrderByNameAsc(String state) {
+        return scan(user -> state != null && state.equals(user.getState()), BY_NAME);
+    }
+}
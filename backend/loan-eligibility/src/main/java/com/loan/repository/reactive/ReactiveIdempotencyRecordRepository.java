@@ -0,0 +1,22 @@
+package com.loan.repository.reactive;
+
+import com.loan.entity.IdempotencyRecord;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public interface ReactiveIdempotencyRecordRepository extends ReactiveMongoRepository<IdempotencyRecord, String> {
+    
+    // Release a claim only if it is still the one we made (another request may have taken over an expired lease)
+    Mono<Long> deleteByIdAndClaimToken(String id, String claimToken);
+    
+    // Store the response only if the claim is still ours; 0 means the lease ran out and another request took the key
+    @Query("{'_id': ?0, 'claim_token': ?1}")
+    @Update("{'$set': {'status': 'COMPLETED', 'http_status': ?2, 'response_body': ?3, 'lease_expires_at': null}}")
+    Mono<Long> completeByIdAndClaimToken(String id, String claimToken, int httpStatus, String responseBody);
+}
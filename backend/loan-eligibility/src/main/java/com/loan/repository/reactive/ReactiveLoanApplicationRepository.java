@@ -0,0 +1,79 @@
+package com.loan.repository.reactive;
+
+import com.loan.entity.LoanApplication;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+@Profile("reactive")
+public interface ReactiveLoanApplicationRepository extends ReactiveMongoRepository<LoanApplication, String> {
+    
+    // Find applications by email
+    Flux<LoanApplication> findByEmailOrderByCreatedAtDesc(String email);
+    
+    // Find applications by user ID
+    Flux<LoanApplication> findByUserIdOrderByCreatedAtDesc(String userId);
+    
+    // Find applications by status
+    Flux<LoanApplication> findByStatusOrderByCreatedAtDesc(String status);
+    
+    // Find all applications ordered by creation date (newest first)
+    Flux<LoanApplication> findAllByOrderByCreatedAtDesc();
+    
+    // Find applications by eligibility status
+    Flux<LoanApplication> findByEligibleOrderByCreatedAtDesc(boolean eligible);
+    
+    // Find applications by date range
+    Flux<LoanApplication> findByCreatedAtBetweenOrderByCreatedAtDesc(LocalDateTime startDate, LocalDateTime endDate);
+    
+    // Find applications with requested amount greater than specified value
+    Flux<LoanApplication> findByRequestedAmountGreaterThanOrderByCreatedAtDesc(double amount);
+    
+    // Find applications with approved amount greater than specified value
+    Flux<LoanApplication> findByApprovedAmountGreaterThanOrderByCreatedAtDesc(double amount);
+    
+    // Find applications by employment type
+    Flux<LoanApplication> findByEmploymentTypeOrderByCreatedAtDesc(String employmentType);
+    
+    // Custom query to find applications by credit score range
+    @Query("{'creditScore': {$gte: ?0, $lte: ?1}}")
+    Flux<LoanApplication> findByCreditScoreRange(int minScore, int maxScore);
+    
+    // Custom query to find high-value applications
+    @Query("{'requestedAmount': {$gte: ?0}, 'eligible': true}")
+    Flux<LoanApplication> findHighValueEligibleApplications(double minAmount);
+    
+    // Count applications by status
+    Mono<Long> countByStatus(String status);
+    
+    // Count eligible applications
+    Mono<Long> countByEligible(boolean eligible);
+    
+    // Find recent applications (last N days)
+    @Query("{'createdAt': {$gte: ?0}}")
+    Flux<LoanApplication> findRecentApplications(LocalDateTime fromDate);
+    
+    // Id and status only, for planning a bulk status change
+    @Query(value = "{'_id': {$in: ?0}}", fields = "{'status': 1}")
+    Flux<LoanApplication> findStatusesByIdIn(Collection<String> ids);
+    
+    // Ids (and status) of the applications a bulk status filter selects
+    @Query(value = "{'status': ?0}", fields = "{'status': 1}")
+    Flux<LoanApplication> findStatusesByStatus(String status, Limit limit);
+    
+    @Query(value = "{'status': ?0, 'eligible': ?1}", fields = "{'status': 1}")
+    Flux<LoanApplication> findStatusesByStatusAndEligible(String status, boolean eligible, Limit limit);
+    
+    // Bulk status change in one updateMany; only applications still in one of the given statuses are changed
+    @Query("{'_id': {$in: ?0}, 'status': {$in: ?1}}")
+    @Update("{'$set': {'status': ?2, 'updatedAt': ?3}}")
+    Mono<Long> updateStatusByIdInAndStatusIn(Collection<String> ids, Collection<String> fromStatuses, String status, LocalDateTime updatedAt);
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.loan.repository.reactive;
+
+import com.loan.entity.User;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+
+@Repository
+@Profile("reactive")
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+    
+    // Find user by email (unique)
+    Mono<User> findByEmail(String email);
+    
+    // Find user by phone
+    Mono<User> findByPhone(String phone);
+    
+    // Find users by name (case-insensitive)
+    Flux<User> findByNameContainingIgnoreCase(String name);
+    
+    // Check if user exists by email
+    Mono<Boolean> existsByEmail(String email);
+    
+    // Check if user exists by phone
+    Mono<Boolean> existsByPhone(String phone);
+    
+    // Find users created after a certain date
+    Flux<User> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime date);
+    
+    // Find users by city
+    Flux<User> findByCityOrderByNameAsc(String city);
+    
+    // Find users by state
+    Flux<User> findByStateOrderByNameAsc(String state);
+}
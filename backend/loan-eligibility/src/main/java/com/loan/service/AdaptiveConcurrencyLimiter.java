@@ -0,0 +1,111 @@
+package com.loan.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Concurrency limit that follows measured latency (the gradient algorithm of Netflix's concurrency-limits,
+// Gradient2). Latency is averaged over windows of at least windowNanos and windowMinSamples requests ("short RTT")
+// and compared with an exponential average over the last longWindow windows ("long RTT"):
+//
+//   gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1)
+//   limit    = smooth(limit * gradient + sqrt(limit))
+//
+// While latency stays within tolerance of its long-term level the limit grows by about sqrt(limit) per window; when
+// it rises (a slow dependency, a saturated CPU) the limit falls by up to half per window (before smoothing), so
+// requests beyond what the backend can absorb are refused up front instead of queueing. Windows where fewer than
+// half the permits were in use say nothing about capacity and leave the limit alone.
+public final class AdaptiveConcurrencyLimiter {
+
+    public record Settings(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowNanos,
+                           int windowMinSamples, int longWindow, double smoothing) {
+    }
+
+    // Windows averaged arithmetically before the long RTT switches to the exponential average
+    private static final int LONG_RTT_WARMUP = 10;
+
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inflight = new AtomicInteger();
+    // Highest inflight since the current window started
+    private final AtomicInteger peakInflight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRtt;
+    private int longRttWindows;
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+
+    public AdaptiveConcurrencyLimiter(Settings settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), settings.initialLimit()));
+        this.limit = (int) estimatedLimit;
+        this.windowStart = nanoClock.getAsLong();
+    }
+
+    // Start time to hand to release(), or -1 when the limit is reached and the request should be refused
+    public long tryAcquire() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= limit) {
+                return -1;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        peakInflight.accumulateAndGet(current + 1, Math::max);
+        return nanoClock.getAsLong();
+    }
+
+    public void release(long startNanos) {
+        long now = nanoClock.getAsLong();
+        inflight.decrementAndGet();
+        sample(now - startNanos, now);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void sample(long rttNanos, long now) {
+        windowRttSum += rttNanos;
+        windowSamples++;
+        if (windowSamples < settings.windowMinSamples() || now - windowStart < settings.windowNanos()) {
+            return;
+        }
+        double shortRtt = Math.max(1, (double) windowRttSum / windowSamples);
+        int peak = peakInflight.getAndSet(inflight.get());
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        update(shortRtt, peak);
+    }
+
+    private void update(double shortRtt, int peak) {
+        if (longRttWindows < LONG_RTT_WARMUP) {
+            longRtt = (longRtt * longRttWindows + shortRtt) / (longRttWindows + 1);
+            longRttWindows++;
+        } else {
+            longRtt += (shortRtt - longRtt) * 2.0 / (settings.longWindow() + 1);
+        }
+        // Latency has dropped well below its long-term level (a recovered dependency): let the long RTT catch up
+        // faster than the average alone would, so the old level does not excuse the next rise
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (peak < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, settings.tolerance() * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - settings.smoothing()) + newLimit * settings.smoothing();
+        estimatedLimit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
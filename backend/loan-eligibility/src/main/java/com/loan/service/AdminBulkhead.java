@@ -0,0 +1,130 @@
+package com.loan.service;
+
+import com.loan.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Admin and analytics reads (full-collection listings, statistics, range queries) run on this small pool instead of
+// the request threads, so however many dashboards and exports are open, at most admin.bulkhead.threads of them use
+// CPU and Mongo connections at once. The Mongo side has its own pool too (AdminMongoConfig), so a slow export
+// waits for admin connections only and applicant submissions keep theirs.
+//
+// Work beyond admin.bulkhead.queue-capacity is refused straight away, and work still running after
+// admin.bulkhead.timeout-ms is interrupted; both surface as AdminBusyException (503 with Retry-After).
+//
+// Metrics: admin.bulkhead.wait (timer, time queued), admin.bulkhead.queue and .active (gauges),
+// admin.bulkhead.rejected (counter, reason=queue-full|timeout).
+@Service
+@Profile("!reactive")
+public class AdminBulkhead {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminBulkhead.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${admin.bulkhead.threads:4}")
+    private int threads;
+
+    @Value("${admin.bulkhead.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${admin.bulkhead.timeout-ms:15000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private Timer waitTimer;
+    private Counter rejectedFull;
+    private Counter rejectedTimeout;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "admin-bulkhead-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        if (meterRegistry != null) {
+            waitTimer = Timer.builder("admin.bulkhead.wait")
+                    .description("Time admin queries waited for a bulkhead thread").register(meterRegistry);
+            rejectedFull = Counter.builder("admin.bulkhead.rejected").tag("reason", "queue-full")
+                    .description("Admin queries refused or abandoned by the bulkhead").register(meterRegistry);
+            rejectedTimeout = Counter.builder("admin.bulkhead.rejected").tag("reason", "timeout")
+                    .description("Admin queries refused or abandoned by the bulkhead").register(meterRegistry);
+            Gauge.builder("admin.bulkhead.queue", executor, pool -> pool.getQueue().size())
+                    .description("Admin queries waiting for a bulkhead thread").register(meterRegistry);
+            Gauge.builder("admin.bulkhead.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Bulkhead threads running admin queries").register(meterRegistry);
+        }
+
+        log.info("Admin bulkhead: {} threads, queue {}, timeout {} ms", threads, queueCapacity, timeoutMs);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Runs the query on the bulkhead and waits for it; request threads are virtual, so waiting is cheap
+    public <T> T call(Callable<T> query) {
+        long queuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                if (waitTimer != null) {
+                    waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                }
+                return query.call();
+            });
+        } catch (RejectedExecutionException e) {
+            increment(rejectedFull);
+            throw new GlobalExceptionHandler.AdminBusyException("Too many admin queries in progress, please retry shortly");
+        }
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            increment(rejectedTimeout);
+            throw new GlobalExceptionHandler.AdminBusyException(
+                    "Admin query did not finish within " + timeoutMs + " ms, please retry");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new GlobalExceptionHandler.AdminBusyException("Admin query interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.loan.service;
+
+import com.loan.entity.User;
+import com.loan.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// In-process applicant search over user name, email and phone (see NGramSearchIndex), replacing the
+// unanchored regex behind findByNameContainingIgnoreCase that no Mongo index can serve.
+//
+// Built from the users collection on a background thread once the application is ready and rebuilt every
+// index.search.refresh-interval-ms. Users saved through this instance (findOrCreateUser, signup) are
+// indexed immediately; users written by other instances show up at the next rebuild, so that interval
+// is the staleness bound. Until the first build completes isReady() is false and callers fall back to
+// the repository lookups.
+@Component
+@Profile("!reactive")
+public class ApplicantSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicantSearchIndex.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${index.search.refresh-interval-ms:300000}")
+    private long refreshIntervalMs;
+
+    private volatile NGramSearchIndex index;
+    private ScheduledExecutorService refresher;
+
+    // Users saved while a rebuild is reading the collection; re-applied to the new index
+    private List<User> missedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "search-index-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    public LoanApplicationService.UserSearchPage search(String query, int page, int size) {
+        return index.search(query, page, size);
+    }
+
+    public void indexed(User user) {
+        synchronized (this) {
+            if (missedDuringRebuild != null) {
+                missedDuringRebuild.add(user);
+                return;
+            }
+        }
+        NGramSearchIndex current = index;
+        if (current != null) {
+            current.put(user);
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Keep serving the previous index (or the repository fallback) and try again next interval
+            log.warn("Applicant search index rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    // Reads the whole collection and swaps in a freshly built index; runs on the refresher thread
+    void rebuild() {
+        synchronized (this) {
+            missedDuringRebuild = new ArrayList<>();
+        }
+        NGramSearchIndex rebuilt = null;
+        try {
+            rebuilt = new NGramSearchIndex(userRepository.findAll());
+        } finally {
+            synchronized (this) {
+                if (rebuilt != null) {
+                    index = rebuilt;
+                }
+                List<User> missed = missedDuringRebuild;
+                missedDuringRebuild = null;
+                NGramSearchIndex current = index;
+                if (current != null) {
+                    // Re-indexing a user the snapshot already holds just replaces its entry
+                    missed.forEach(current::put);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.loan.service;
+
+import com.loan.entity.LoanApplication;
+import com.loan.repository.LoanApplicationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// In-process secondary indexes for the underwriting range queries: credit score -> application id,
+// and requested amount (in whole rupees, rounded down) -> id for eligible applications only. Both keys are
+// ints, so the index arrays take half the memory of longs; amounts above Integer.MAX_VALUE rupees share the
+// top key. The amount index is coarser than the amounts it covers, so it returns candidates that callers
+// check against the documents (see idsOfEligibleWithAmountAtLeast).
+//
+// Queries never touch the collection: the indexes are built from it on a background thread once the
+// application is ready and rebuilt every index.range.refresh-interval-ms. Writes made through this
+// instance's LoanApplicationService are applied immediately; writes made by other instances become
+// visible at the next rebuild, so that interval is the staleness bound for multi-instance deployments.
+// Until the first build completes isReady() is false and callers fall back to the repository queries.
+@Component
+@Profile("!reactive")
+public class ApplicationRangeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationRangeIndex.class);
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    // The rebuild's full read uses the admin connection pool when there is one (AdminMongoConfig); a provider, as in
+    // LoanApplicationService, so the fast-startup lazy proxies cannot stand in for a missing bean
+    @Autowired
+    @Qualifier("adminLoanApplicationRepository")
+    private ObjectProvider<LoanApplicationRepository> adminApplicationRepository;
+
+    @Value("${index.range.refresh-interval-ms:60000}")
+    private long refreshIntervalMs;
+
+    private volatile PrimitiveRangeIndex creditScores;
+    private volatile PrimitiveRangeIndex eligibleAmounts;
+    private ScheduledExecutorService refresher;
+
+    // Writes that land while a rebuild is reading the collection; replayed onto the new indexes
+    private List<Consumer<ApplicationRangeIndex>> missedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "range-index-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return creditScores != null;
+    }
+
+    public List<String> idsByCreditScore(int minScore, int maxScore) {
+        return creditScores.range(minScore, maxScore);
+    }
+
+    // Every eligible application with requestedAmount >= minAmount, plus any whose amount is less than one rupee
+    // below it (or above Integer.MAX_VALUE rupees); callers filter the fetched documents on the exact amount
+    public List<String> idsOfEligibleWithAmountAtLeast(double minAmount) {
+        return eligibleAmounts.range(toRupees(minAmount), Integer.MAX_VALUE);
+    }
+
+    public void added(LoanApplication application) {
+        if (deferred(index -> index.added(application))) {
+            return;
+        }
+        PrimitiveRangeIndex scores = creditScores;
+        PrimitiveRangeIndex amounts = eligibleAmounts;
+        if (scores == null) {
+            return;
+        }
+        scores.add(application.getCreditScore(), application.getId());
+        if (application.isEligible()) {
+            amounts.add(toRupees(application.getRequestedAmount()), application.getId());
+        }
+    }
+
+    public void removed(LoanApplication application) {
+        if (deferred(index -> index.removed(application))) {
+            return;
+        }
+        PrimitiveRangeIndex scores = creditScores;
+        PrimitiveRangeIndex amounts = eligibleAmounts;
+        if (scores == null) {
+            return;
+        }
+        scores.remove(application.getCreditScore(), application.getId());
+        if (application.isEligible()) {
+            amounts.remove(toRupees(application.getRequestedAmount()), application.getId());
+        }
+    }
+
+    private synchronized boolean deferred(Consumer<ApplicationRangeIndex> write) {
+        if (missedDuringRebuild == null) {
+            return false;
+        }
+        missedDuringRebuild.add(write);
+        return true;
+    }
+
+    private void refreshQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Keep serving the previous indexes (or the repository fallback) and try again next interval
+            log.warn("Range index rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    // Reads the whole collection and swaps in freshly built indexes; runs on the refresher thread
+    void rebuild() {
+        synchronized (this) {
+            missedDuringRebuild = new ArrayList<>();
+        }
+        List<LoanApplication> applications;
+        try {
+            LoanApplicationRepository admin = adminApplicationRepository.getIfAvailable();
+            applications = (admin != null ? admin : loanApplicationRepository).findAll();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                List<Consumer<ApplicationRangeIndex>> missed = missedDuringRebuild;
+                missedDuringRebuild = null;
+                missed.forEach(write -> write.accept(this));
+            }
+            throw e;
+        }
+
+        int[] scores = new int[applications.size()];
+        String[] scoreIds = new String[applications.size()];
+        int eligible = 0;
+        for (LoanApplication application : applications) {
+            if (application.isEligible()) {
+                eligible++;
+            }
+        }
+        int[] amounts = new int[eligible];
+        String[] amountIds = new String[eligible];
+        int i = 0, j = 0;
+        for (LoanApplication application : applications) {
+            scores[i] = application.getCreditScore();
+            scoreIds[i++] = application.getId();
+            if (application.isEligible()) {
+                amounts[j] = toRupees(application.getRequestedAmount());
+                amountIds[j++] = application.getId();
+            }
+        }
+
+        synchronized (this) {
+            eligibleAmounts = new PrimitiveRangeIndex(amounts, amountIds);
+            creditScores = new PrimitiveRangeIndex(scores, scoreIds);
+            List<Consumer<ApplicationRangeIndex>> missed = missedDuringRebuild;
+            missedDuringRebuild = null;
+            // Adds are idempotent, so replaying a write the snapshot already contains is harmless
+            missed.forEach(write -> write.accept(this));
+        }
+    }
+
+    // Saturating, so an out-of-range amount lands on the end key rather than wrapping
+    private static int toRupees(double amount) {
+        return (int) Math.floor(amount);
+    }
+}
@@ -0,0 +1,258 @@
+package com.loan.service;
+
+import com.loan.config.EventLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+// Structured auth and application events (signup, login, submissions). Request threads only sample the event and
+// put it in a bounded lock-free ring buffer; one background thread formats each event as a JSON line and writes it
+// to the "com.loan.events" logger, so a burst of logins never queues on the console or appender lock. When the
+// buffer is full the event is dropped and counted rather than waited for.
+//
+// Usage: eventLog.log("auth.login.failure", "email", email, "reason", "bad_password"), with key/value pairs and
+// an optional trailing Throwable. Per-type sampling comes from event-log.sample-rates[<type>].
+//
+// Metrics: event.log.dropped (counter, event=<type>), event.log.sampled-out (counter), event.log.backlog (gauge).
+@Component
+public class EventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLog.class);
+    private static final Logger events = LoggerFactory.getLogger("com.loan.events");
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Autowired
+    private EventLogProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private RingBuffer<Event> buffer;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile boolean writerWaiting;
+    private BiConsumer<String, Throwable> sink;
+    private Counter sampledOut;
+    private final Map<String, Counter> droppedByType = new ConcurrentHashMap<>();
+    private final AtomicLong droppedSinceReport = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        buffer = new RingBuffer<>(properties.getCapacity());
+        if (sink == null) {
+            sink = (line, error) -> {
+                if (error == null) {
+                    events.info(line);
+                } else {
+                    events.warn(line, error);
+                }
+            };
+        }
+        sampledOut = Counter.builder("event.log.sampled-out")
+                .description("Events skipped by per-type sampling").register(meterRegistry);
+        Gauge.builder("event.log.backlog", buffer, RingBuffer::size)
+                .description("Events waiting for the event log writer").register(meterRegistry);
+
+        running = true;
+        writer = new Thread(this::drain, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Stops taking events, then writes out whatever is still buffered
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // Never blocks: the event is sampled, then buffered or dropped
+    public void log(String type, Object... fields) {
+        if (!running || !properties.isEnabled()) {
+            return;
+        }
+        double rate = properties.getSampleRates().getOrDefault(type, properties.getDefaultSampleRate());
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            sampledOut.increment();
+            return;
+        }
+        if (!buffer.offer(new Event(System.currentTimeMillis(), type, fields))) {
+            droppedSinceReport.incrementAndGet();
+            droppedByType.computeIfAbsent(type, t -> Counter.builder("event.log.dropped").tag("event", t)
+                    .description("Events dropped because the event log buffer was full").register(meterRegistry))
+                    .increment();
+            return;
+        }
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Event event;
+            while ((event = buffer.poll()) != null) {
+                write(event);
+            }
+            long dropped = droppedSinceReport.getAndSet(0);
+            if (dropped > 0) {
+                log.warn("Event log buffer full, dropped {} events", dropped);
+            }
+            if (!running) {
+                return;
+            }
+            writerWaiting = true;
+            // Re-check after announcing, so an event offered in between is not left waiting for the timeout
+            if (buffer.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerWaiting = false;
+        }
+    }
+
+    private void write(Event event) {
+        try {
+            sink.accept(format(event), event.error());
+        } catch (RuntimeException e) {
+            log.warn("Event log writer failed on {}", event.type(), e);
+        }
+    }
+
+    // {"ts":"2024-05-01T10:15:30.123Z","event":"auth.login.failure","email":"asha@example.com","reason":"bad_password"}
+    static String format(Event event) {
+        StringBuilder line = new StringBuilder(128);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(event.timestamp())).append("\",\"event\":");
+        appendString(line, event.type());
+        Object[] fields = event.fields();
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            line.append(',');
+            appendString(line, String.valueOf(fields[i]));
+            line.append(':');
+            Object value = fields[i + 1];
+            if (value == null || value instanceof Number || value instanceof Boolean) {
+                line.append(value);
+            } else {
+                appendString(line, value.toString());
+            }
+        }
+        if (event.error() != null) {
+            line.append(",\"error\":");
+            appendString(line, event.error().toString());
+        }
+        return line.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    // Key/value pairs, with an optional trailing Throwable
+    record Event(long timestamp, String type, Object[] fields) {
+        Throwable error() {
+            return fields.length % 2 == 1 && fields[fields.length - 1] instanceof Throwable error ? error : null;
+        }
+    }
+
+    // Bounded multi-producer, single-consumer queue over a power-of-two array. Each slot carries a sequence number
+    // that says whose turn it is: producers claim a slot with one CAS on the tail and publish by advancing the
+    // slot's sequence, the consumer frees it by advancing the sequence one lap ahead. No locks, and a full buffer
+    // is detected with a single read instead of waiting.
+    static final class RingBuffer<E> {
+
+        private final int mask;
+        private final Object[] slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        RingBuffer(int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+            mask = size - 1;
+            slots = new Object[size];
+            sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(E element) {
+            while (true) {
+                long position = tail.get();
+                int index = (int) (position & mask);
+                long lag = sequences.get(index) - position;
+                if (lag < 0) {
+                    return false; // the consumer has not freed this slot yet: full
+                }
+                if (lag == 0 && tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.set(index, position + 1); // publishes the slot write
+                    return true;
+                }
+                // another producer claimed the position first; retry on the new tail
+            }
+        }
+
+        // Single consumer only
+        @SuppressWarnings("unchecked")
+        E poll() {
+            long position = head;
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                return null;
+            }
+            E element = (E) slots[index];
+            slots[index] = null;
+            sequences.set(index, position + mask + 1);
+            head = position + 1;
+            return element;
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        int size() {
+            return (int) Math.max(0, tail.get() - head);
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+}
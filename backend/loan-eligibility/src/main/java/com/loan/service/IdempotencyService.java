@@ -0,0 +1,141 @@
+package com.loan.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loan.entity.IdempotencyRecord;
+import com.loan.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Deduplicates submissions that carry an Idempotency-Key header.
+//
+// The first request with a key claims it by inserting an IN_PROGRESS record (the key is the _id, so the
+// unique index decides races between instances), runs, and stores its response. Retries with the same key
+// get that response replayed without running the handler again. An in-memory Bloom filter of recently
+// claimed keys lets the common case - a key we have never seen - skip the lookup and go straight to the insert.
+// A claim is leased for idempotency.in-progress-lease-ms; if its owner dies the key can be claimed again
+// after that, instead of answering 409 until the record's TTL runs out.
+@Service
+@Profile("!reactive")
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.bloom.expected-keys:1000000}")
+    private long expectedKeys;
+
+    @Value("${idempotency.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${idempotency.in-progress-lease-ms:30000}")
+    private long inProgressLeaseMs;
+
+    private IdempotencySupport support;
+
+    @PostConstruct
+    void init() {
+        support = new IdempotencySupport(objectMapper, expectedKeys, falsePositiveRate, inProgressLeaseMs);
+    }
+
+    public ResponseEntity<?> execute(String idempotencyKey, String endpoint, Object request, Supplier<ResponseEntity<?>> handler) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return handler.get();
+        }
+
+        String id = endpoint + ":" + idempotencyKey;
+        String requestHash = support.hash(request);
+
+        // Keys the filter has never seen cannot have a record here, so skip straight to claiming them
+        if (support.mightHaveSeen(id)) {
+            Optional<IdempotencyRecord> existing = findLive(id);
+            if (existing.isPresent()) {
+                return support.replay(existing.get(), requestHash);
+            }
+        }
+
+        IdempotencyRecord claim = support.newClaim(id, requestHash);
+        for (int attempt = 0; ; attempt++) {
+            try {
+                idempotencyRecordRepository.insert(claim);
+                break;
+            } catch (DuplicateKeyException e) {
+                // Claimed concurrently, or earlier by another instance or before a restart
+                Optional<IdempotencyRecord> existing = findLive(id);
+                if (existing.isPresent()) {
+                    return support.replay(existing.get(), requestHash);
+                }
+                if (attempt > 0) {
+                    return IdempotencySupport.inProgress();
+                }
+                // The record had expired (or its lease had) and findLive removed it; claim the key again
+            }
+        }
+        support.remember(id);
+
+        ResponseEntity<?> response;
+        try {
+            response = handler.get();
+        } catch (RuntimeException e) {
+            release(claim);
+            throw e;
+        }
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            try {
+                support.markCompleted(claim, response);
+                long stored = idempotencyRecordRepository.completeByIdAndClaimToken(
+                        claim.getId(), claim.getClaimToken(), claim.getHttpStatus(), claim.getResponseBody());
+                if (stored == 0) {
+                    // Our lease ran out while the handler ran and another request has claimed the key since;
+                    // its record (and whatever response it stores) stays
+                    log.warn("Idempotency key {} was claimed by another request after this one's lease ran out", id);
+                }
+            } catch (RuntimeException e) {
+                // The work is done, so still answer with it; without a stored response the key is released
+                // rather than left IN_PROGRESS, and a retry will run again
+                log.warn("Failed to store response for idempotency key {}: {}", id, e.getMessage());
+                release(claim);
+            }
+        } else {
+            // Failed attempts are not remembered, so the client can retry with the same key
+            release(claim);
+        }
+        return response;
+    }
+
+    // The record holding this key, unless it is stale (stale records are removed so the key can be claimed again)
+    private Optional<IdempotencyRecord> findLive(String id) {
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(id);
+        if (existing.isPresent() && support.isStale(existing.get())) {
+            idempotencyRecordRepository.deleteByIdAndClaimToken(id, existing.get().getClaimToken());
+            return Optional.empty();
+        }
+        return existing;
+    }
+
+    private void release(IdempotencyRecord claim) {
+        try {
+            idempotencyRecordRepository.deleteByIdAndClaimToken(claim.getId(), claim.getClaimToken());
+        } catch (RuntimeException e) {
+            // The lease still frees the key once it expires
+            log.warn("Failed to release idempotency key {}: {}", claim.getId(), e.getMessage());
+        }
+    }
+}
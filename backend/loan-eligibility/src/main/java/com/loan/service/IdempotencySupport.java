@@ -0,0 +1,138 @@
+package com.loan.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loan.entity.IdempotencyRecord;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+// Repository-independent parts of Idempotency-Key handling, shared by IdempotencyService (blocking)
+// and ReactiveIdempotencyService: request fingerprints, claim/lease bookkeeping, replay responses and
+// the Bloom pre-filter of recently claimed keys.
+final class IdempotencySupport {
+
+    private final ObjectMapper objectMapper;
+    private final long expectedKeys;
+    private final double falsePositiveRate;
+    private final long inProgressLeaseMs;
+
+    // Two generations, rotated every TTL, so keys older than the record TTL age out of the filter
+    private volatile BloomFilter currentKeys;
+    private volatile BloomFilter previousKeys;
+    private volatile long rotatedAtMillis;
+
+    IdempotencySupport(ObjectMapper objectMapper, long expectedKeys, double falsePositiveRate, long inProgressLeaseMs) {
+        this.objectMapper = objectMapper;
+        this.expectedKeys = expectedKeys;
+        this.falsePositiveRate = falsePositiveRate;
+        this.inProgressLeaseMs = inProgressLeaseMs;
+    }
+
+    IdempotencyRecord newClaim(String id, String requestHash) {
+        return new IdempotencyRecord(id, requestHash, UUID.randomUUID().toString(),
+                LocalDateTime.now().plusNanos(inProgressLeaseMs * 1_000_000));
+    }
+
+    void markCompleted(IdempotencyRecord claim, ResponseEntity<?> response) {
+        claim.setStatus("COMPLETED");
+        claim.setHttpStatus(response.getStatusCode().value());
+        claim.setResponseBody(toJson(response.getBody()));
+        claim.setLeaseExpiresAt(null);
+    }
+
+    // Records that no longer hold the key: past the TTL (Mongo's TTL monitor only runs once a minute),
+    // or an IN_PROGRESS claim whose lease ran out because its owner crashed or lost its connection
+    boolean isStale(IdempotencyRecord record) {
+        LocalDateTime now = LocalDateTime.now();
+        if (record.getCreatedAt() == null || record.getCreatedAt().isBefore(now.minusHours(IdempotencyRecord.TTL_HOURS))) {
+            return true;
+        }
+        if ("COMPLETED".equals(record.getStatus())) {
+            return false;
+        }
+        LocalDateTime leaseExpiresAt = record.getLeaseExpiresAt() != null
+                ? record.getLeaseExpiresAt()
+                : record.getCreatedAt().plusNanos(inProgressLeaseMs * 1_000_000);
+        return leaseExpiresAt.isBefore(now);
+    }
+
+    ResponseEntity<?> replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("message", "Idempotency-Key was already used with a different request body");
+            errorResponse.put("code", "IDEMPOTENCY_KEY_REUSED");
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+        }
+        if (!"COMPLETED".equals(record.getStatus())) {
+            return inProgress();
+        }
+        // Stored as JSON; replayed as a tree so it is written in whatever format this retry negotiated
+        // (JSON, CBOR or Smile, see BinaryFormatsConfig)
+        return ResponseEntity.status(record.getHttpStatus())
+                .header("Idempotent-Replayed", "true")
+                .body(fromJson(record.getResponseBody()));
+    }
+
+    static ResponseEntity<?> inProgress() {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("message", "A request with this Idempotency-Key is still being processed");
+        errorResponse.put("code", "IDEMPOTENCY_KEY_IN_PROGRESS");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    boolean mightHaveSeen(String id) {
+        BloomFilter current = currentKeys;
+        BloomFilter previous = previousKeys;
+        return (current != null && current.mightContain(id)) || (previous != null && previous.mightContain(id));
+    }
+
+    void remember(String id) {
+        long now = System.currentTimeMillis();
+        if (currentKeys == null || now - rotatedAtMillis > IdempotencyRecord.TTL_HOURS * 3_600_000L) {
+            synchronized (this) {
+                if (currentKeys == null || now - rotatedAtMillis > IdempotencyRecord.TTL_HOURS * 3_600_000L) {
+                    previousKeys = currentKeys;
+                    currentKeys = new BloomFilter(expectedKeys, falsePositiveRate);
+                    rotatedAtMillis = now;
+                }
+            }
+        }
+        currentKeys.put(id);
+    }
+
+    String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private JsonNode fromJson(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read idempotent response", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store idempotent response", e);
+        }
+    }
+}
@@ -2,22 +2,44 @@ package com.loan.service;
 
 import com.loan.entity.LoanApplication;
 import com.loan.entity.User;
+import com.loan.exception.GlobalExceptionHandler;
 import com.loan.repository.LoanApplicationRepository;
 import com.loan.repository.UserRepository;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 
 
 import org.springframework.stereotype.Service;
 
 
  @Service
+@Profile("!reactive")
 public class LoanApplicationService {
     
     @Autowired
     private LoanApplicationRepository loanApplicationRepository;
+    
+    // The admin reads (listings, statistics, range queries) go through their own Mongo connection pool when there is
+    // one (AdminMongoConfig); under the embedded profile they share the main repository. A provider rather than an
+    // optional field: under fast-startup, repositories are injected as lazy proxies, which would stand in for the
+    // missing bean and fail on first use instead of being null
+    @Autowired
+    @Qualifier("adminLoanApplicationRepository")
+    private ObjectProvider<LoanApplicationRepository> adminApplicationRepository;
    
 
     
@@ -30,10 +52,100 @@ public class LoanApplicationService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private LoanEligibilityService eligibilityService;
+    
+    @Autowired
+    private ApplicationRangeIndex rangeIndex;
+    
+    @Autowired
+    private EventLog eventLog;
+    
+    @Autowired
+    private ApplicantSearchIndex searchIndex;
+    
+    @Value("${loan.submission.timeout-ms:5000}")
+    private long submissionTimeoutMs;
+    
+    @Value("${loan.bulk-status.max-applications:500}")
+    private int bulkStatusMaxApplications;
+    
     public LoanApplication saveApplication(LoanApplicationRequest request) {
         // First, find or create user
         User user = findOrCreateUser(request.getEmail(), request.getName(), request.getPhone());
         
+        LoanApplication savedApplication = loanApplicationRepository.save(buildApplication(request, user));
+        rangeIndex.added(savedApplication);
+        logSubmitted(savedApplication);
+        return savedApplication;
+    }
+    
+    // Eligibility and the user upsert don't depend on each other, so they run concurrently on
+    // virtual threads; the application insert needs both and runs once they have completed.
+    // A deadline overrun surfaces as SubmissionTimeoutException (503) after both steps have been stopped.
+    public SubmissionResult checkEligibilityAndSave(LoanEligibilityService.EligibilityRequest eligibilityRequest,
+                                                    LoanApplicationRequest request) {
+        return checkEligibilityAndSave(eligibilityRequest, request, new SubmissionTimings());
+    }
+    
+    // As above, recording how long eligibility, the user upsert and the insert took into timings; the phases
+    // that completed are there even when the submission fails
+    public SubmissionResult checkEligibilityAndSave(LoanEligibilityService.EligibilityRequest eligibilityRequest,
+                                                    LoanApplicationRequest request, SubmissionTimings timings) {
+        Future<LoanEligibilityService.EligibilityResult> eligibility;
+        Future<User> user;
+        try (SubmissionScope scope = new SubmissionScope()) {
+            eligibility = scope.fork(() -> {
+                long start = System.nanoTime();
+                LoanEligibilityService.EligibilityResult result = eligibilityService.checkEligibility(eligibilityRequest);
+                timings.record(SubmissionTimings.Phase.ELIGIBILITY, start);
+                return result;
+            });
+            user = scope.fork(() -> {
+                long start = System.nanoTime();
+                User found = findOrCreateUser(request.getEmail(), request.getName(), request.getPhone());
+                timings.record(SubmissionTimings.Phase.USER_UPSERT, start);
+                return found;
+            });
+            scope.join(submissionTimeoutMs);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Application submission failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new GlobalExceptionHandler.SubmissionTimeoutException(
+                    "Eligibility check and applicant lookup did not finish within " + submissionTimeoutMs + " ms, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Application submission was interrupted", e);
+        }
+        
+        LoanEligibilityService.EligibilityResult eligibilityResult = eligibility.resultNow();
+        request.setEligible(eligibilityResult.isEligible());
+        request.setEligibilityReason(eligibilityResult.getReason());
+        request.setApprovedAmount(eligibilityResult.getApprovedAmount());
+        request.setInterestRate(eligibilityResult.getInterestRate());
+        request.setMonthlyEmi(eligibilityResult.getMonthlyEmi());
+        
+        long insertStart = System.nanoTime();
+        LoanApplication savedApplication = loanApplicationRepository.save(buildApplication(request, user.resultNow()));
+        timings.record(SubmissionTimings.Phase.INSERT, insertStart);
+        rangeIndex.added(savedApplication);
+        logSubmitted(savedApplication);
+        return new SubmissionResult(eligibilityResult, savedApplication);
+    }
+    
+    private void logSubmitted(LoanApplication application) {
+        eventLog.log("application.submitted", "applicationId", application.getId(), "userId", application.getUserId(),
+                "eligible", application.isEligible(), "requestedAmount", application.getRequestedAmount(),
+                "status", application.getStatus());
+    }
+    
+    private LoanApplication buildApplication(LoanApplicationRequest request, User user) {
         // Create loan application
         LoanApplication application = new LoanApplication();
         application.setUserId(user.getId());
@@ -61,7 +173,7 @@ public class LoanApplicationService {
         application.setCreatedAt(LocalDateTime.now());
         application.setUpdatedAt(LocalDateTime.now());
         
-        return loanApplicationRepository.save(application);
+        return application;
     }
     
     public List<LoanApplication> getApplicationsByEmail(String email) {
@@ -76,8 +188,75 @@ public class LoanApplicationService {
         return loanApplicationRepository.findById(applicationId);
     }
     
+    // Versions for conditional GETs (ETag / If-None-Match), read from id and updatedAt alone. The probes give
+    // the same value as versionOf on the full documents, and a list's version does not depend on its order,
+    // so an ETag computed from either matches.
+    public Optional<Long> getApplicationVersion(String applicationId) {
+        return loanApplicationRepository.findVersionById(applicationId).map(LoanApplicationService::versionOf);
+    }
+    
+    public long getApplicationsVersionByEmail(String email) {
+        return versionOf(loanApplicationRepository.findVersionsByEmail(email));
+    }
+    
+    // Moves with every insert (count) and every status change (latest updatedAt). Mongo keeps dates to the
+    // millisecond, so a change in the same millisecond as the previous latest one is only seen with the next.
+    public long getStatsVersion() {
+        List<LoanApplication> latest = adminReads().findLatestVersions(Limit.of(1));
+        long updated = latest.isEmpty() ? 0 : epochMillis(latest.get(0).getUpdatedAt());
+        return mix(adminReads().count() * 0x9E3779B97F4A7C15L + updated);
+    }
+    
+    public static long versionOf(LoanApplication application) {
+        return mix(application.getId().hashCode() * 0x9E3779B97F4A7C15L + epochMillis(application.getUpdatedAt()));
+    }
+    
+    public static long versionOf(Collection<LoanApplication> applications) {
+        long sum = applications.size();
+        for (LoanApplication application : applications) {
+            sum += versionOf(application);
+        }
+        return mix(sum);
+    }
+    
+    private static long epochMillis(LocalDateTime time) {
+        return time == null ? 0 : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    private LoanApplicationRepository adminReads() {
+        LoanApplicationRepository admin = adminApplicationRepository.getIfAvailable();
+        return admin != null ? admin : loanApplicationRepository;
+    }
+    
+    // SplitMix64 finalizer, so nearby inputs give unrelated versions
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    @SingleFlight
     public List<LoanApplication> getAllApplications() {
-        return loanApplicationRepository.findAllByOrderByCreatedAtDesc();
+        return adminReads().findAllByOrderByCreatedAtDesc();
+    }
+    
+    // Both range queries resolve to ids through the in-memory index and fetch only the matching documents;
+    // until the index has been built at startup they fall back to the repository range scans
+    public List<LoanApplication> getApplicationsByCreditScoreRange(int minScore, int maxScore) {
+        if (!rangeIndex.isReady()) {
+            return adminReads().findByCreditScoreRange(minScore, maxScore);
+        }
+        return adminReads().findAllById(rangeIndex.idsByCreditScore(minScore, maxScore));
+    }
+    
+    public List<LoanApplication> getHighValueEligibleApplications(double minAmount) {
+        if (!rangeIndex.isReady()) {
+            return adminReads().findHighValueEligibleApplications(minAmount);
+        }
+        // The index keys amounts by whole rupees, so check the exact amount on the documents
+        return adminReads().findAllById(rangeIndex.idsOfEligibleWithAmountAtLeast(minAmount)).stream()
+                .filter(application -> application.isEligible() && application.getRequestedAmount() >= minAmount)
+                .toList();
     }
     
     public LoanApplication updateApplicationStatus(String applicationId, String status) {
@@ -93,9 +272,50 @@ public class LoanApplicationService {
         throw new RuntimeException("Application not found with ID: " + applicationId);
     }
     
+    // Bulk review decision over explicit ids: one projected read to plan the transitions and one guarded
+    // updateMany to apply them (see StatusTransitions for the allowed moves and the per-id outcomes)
+    public BulkStatusResult updateApplicationStatuses(Collection<String> ids, String status) {
+        checkBulkStatusChange(status, ids.size());
+        return applyStatusChange(StatusTransitions.plan(ids, loanApplicationRepository.findStatusesByIdIn(ids), status), status);
+    }
+    
+    // Bulk review decision over every application in currentStatus (optionally only eligible or ineligible ones)
+    public BulkStatusResult updateApplicationStatusesMatching(String currentStatus, Boolean eligible, String status) {
+        checkBulkStatusChange(status, 0);
+        Limit limit = Limit.of(bulkStatusMaxApplications + 1);
+        List<LoanApplication> matching = eligible == null
+                ? loanApplicationRepository.findStatusesByStatus(currentStatus, limit)
+                : loanApplicationRepository.findStatusesByStatusAndEligible(currentStatus, eligible, limit);
+        checkBulkStatusChange(status, matching.size());
+        List<String> ids = matching.stream().map(LoanApplication::getId).toList();
+        return applyStatusChange(StatusTransitions.plan(ids, matching, status), status);
+    }
+    
+    private BulkStatusResult applyStatusChange(StatusTransitions.Plan plan, String status) {
+        List<String> toUpdate = plan.toUpdate();
+        if (toUpdate.isEmpty()) {
+            return plan.complete(status, null);
+        }
+        long modified = loanApplicationRepository.updateStatusByIdInAndStatusIn(
+                toUpdate, StatusTransitions.sourcesOf(status), status, LocalDateTime.now());
+        return plan.complete(status, plan.needsReread(modified) ? loanApplicationRepository.findStatusesByIdIn(toUpdate) : null);
+    }
+    
+    private void checkBulkStatusChange(String status, int applications) {
+        if (!StatusTransitions.isKnown(status)) {
+            throw new IllegalArgumentException("Unknown status: " + status + " (expected PENDING, PROCESSING, APPROVED or REJECTED)");
+        }
+        if (applications > bulkStatusMaxApplications) {
+            throw new IllegalArgumentException("At most " + bulkStatusMaxApplications
+                    + " applications can be updated per request; narrow the filter or send the ids in batches");
+        }
+    }
+    
     public void deleteApplication(String applicationId) {
-        if (loanApplicationRepository.existsById(applicationId)) {
+        Optional<LoanApplication> existing = loanApplicationRepository.findById(applicationId);
+        if (existing.isPresent()) {
             loanApplicationRepository.deleteById(applicationId);
+            rangeIndex.removed(existing.get());
         } else {
             throw new RuntimeException("Application not found with ID: " + applicationId);
         }
@@ -110,7 +330,9 @@ public class LoanApplicationService {
             user.setName(name);
             user.setPhone(phone);
             user.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            searchIndex.indexed(savedUser);
+            return savedUser;
         } else {
             // Create new user
             User newUser = new User();
@@ -119,7 +341,9 @@ public class LoanApplicationService {
             newUser.setPhone(phone);
             newUser.setCreatedAt(LocalDateTime.now());
             newUser.setUpdatedAt(LocalDateTime.now());
-            return userRepository.save(newUser);
+            User savedUser = userRepository.save(newUser);
+            searchIndex.indexed(savedUser);
+            return savedUser;
         }
     }
     
@@ -131,9 +355,27 @@ public class LoanApplicationService {
         return userRepository.findAll();
     }
     
+    // Ranked, paginated search over applicant name, email and phone, served from the in-memory n-gram index.
+    // Until the index has been built at startup, candidates come from the name regex and the exact
+    // email/phone lookups and are ranked the same way.
+    public UserSearchPage searchUsers(String query, int page, int size) {
+        if (searchIndex.isReady()) {
+            return searchIndex.search(query, page, size);
+        }
+        Map<String, User> candidates = new LinkedHashMap<>();
+        for (User user : userRepository.findByNameContainingIgnoreCase(query.trim())) {
+            candidates.put(user.getId(), user);
+        }
+        userRepository.findByEmail(query.trim()).ifPresent(user -> candidates.put(user.getId(), user));
+        userRepository.findByPhone(query.trim()).ifPresent(user -> candidates.put(user.getId(), user));
+        return new NGramSearchIndex(candidates.values()).search(query, page, size);
+    }
+    
     // Helper method to get application statistics
+    // Reads every application, so a dashboard refresh's simultaneous requests share one read
+    @SingleFlight
     public ApplicationStats getApplicationStats() {
-        List<LoanApplication> allApplications = loanApplicationRepository.findAll();
+        List<LoanApplication> allApplications = adminReads().findAll();
         
         long totalApplications = allApplications.size();
         long approvedApplications = allApplications.stream()
@@ -234,6 +476,89 @@ public class LoanApplicationService {
         public void setMonthlyEmi(double monthlyEmi) { this.monthlyEmi = monthlyEmi; }
     }
     
+    public static class SubmissionResult {
+        private final LoanEligibilityService.EligibilityResult eligibilityResult;
+        private final LoanApplication application;
+        
+        public SubmissionResult(LoanEligibilityService.EligibilityResult eligibilityResult, LoanApplication application) {
+            this.eligibilityResult = eligibilityResult;
+            this.application = application;
+        }
+        
+        public LoanEligibilityService.EligibilityResult getEligibilityResult() { return eligibilityResult; }
+        public LoanApplication getApplication() { return application; }
+    }
+    
+    // Per-id result of a bulk status change: UPDATED, UNCHANGED (already in the target status), NOT_FOUND,
+    // INVALID_TRANSITION or CONFLICT (changed by someone else between the read and the update)
+    public static class StatusChangeOutcome {
+        private final String id;
+        private final String outcome;
+        private final String previousStatus;
+        
+        public StatusChangeOutcome(String id, String outcome, String previousStatus) {
+            this.id = id;
+            this.outcome = outcome;
+            this.previousStatus = previousStatus;
+        }
+        
+        public String getId() { return id; }
+        public String getOutcome() { return outcome; }
+        public String getPreviousStatus() { return previousStatus; }
+    }
+    
+    public static class BulkStatusResult {
+        private final String status;
+        private final int updated;
+        private final List<StatusChangeOutcome> results;
+        
+        public BulkStatusResult(String status, int updated, List<StatusChangeOutcome> results) {
+            this.status = status;
+            this.updated = updated;
+            this.results = results;
+        }
+        
+        public String getStatus() { return status; }
+        public int getUpdated() { return updated; }
+        public List<StatusChangeOutcome> getResults() { return results; }
+    }
+    
+    // One applicant search hit; the password hash is deliberately not carried over from User
+    public static class UserMatch {
+        private final String id;
+        private final String name;
+        private final String email;
+        private final String phone;
+        private final int score;
+        
+        public UserMatch(String id, String name, String email, String phone, int score) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+            this.phone = phone;
+            this.score = score;
+        }
+        
+        public String getId() { return id; }
+        public String getName() { return name; }
+        public String getEmail() { return email; }
+        public String getPhone() { return phone; }
+        public int getScore() { return score; }
+    }
+    
+    public static class UserSearchPage {
+        private final int total;
+        private final List<UserMatch> users;
+        
+        public UserSearchPage(int total, List<UserMatch> users) {
+            this.total = total;
+            this.users = users;
+        }
+        
+        public int getTotal() { return total; }
+        public List<UserMatch> getUsers() { return users; }
+    }
+    
     public static class ApplicationStats {
         private long totalApplications;
         private long approvedApplications;
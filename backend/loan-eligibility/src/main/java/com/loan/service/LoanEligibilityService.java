@@ -1,9 +1,22 @@
 package com.loan.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+// Metrics (registered once at startup, so a check only does a nanoTime pair and counter increments):
+// loan.eligibility.decisions (counter, outcome=approved|approved_capped|rejected, reason=none|<rejection>),
+// loan.eligibility.approved.amount (distribution summary with histogram), loan.eligibility.check (timer).
+// Checks made while StartupWarmUp replays its synthetic corpus are not recorded.
 @Service
 public class LoanEligibilityService {
     
@@ -14,36 +27,83 @@ public class LoanEligibilityService {
     private static final int MIN_CREDIT_SCORE = 650;
     private static final double MAX_DTI_RATIO = 0.40; // 40%
     private static final double BASE_INTEREST_RATE = 8.5;
-    
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Decision, Counter> decisions = new EnumMap<>(Decision.class);
+    private DistributionSummary approvedAmounts;
+    private Timer checkTimer;
+
+    // Set by StartupWarmUp while it runs; readiness is reported only afterwards, so no real check is left out
+    private volatile boolean warmingUp;
+
+    @PostConstruct
+    void registerMetrics() {
+        for (Decision decision : Decision.values()) {
+            decisions.put(decision, Counter.builder("loan.eligibility.decisions")
+                    .tag("outcome", decision.outcome).tag("reason", decision.reason)
+                    .description("Eligibility decisions by outcome and rejection reason")
+                    .register(meterRegistry));
+        }
+        approvedAmounts = DistributionSummary.builder("loan.eligibility.approved.amount")
+                .baseUnit("inr")
+                .description("Amount approved by eligible checks")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(10_000.0)
+                .maximumExpectedValue(100_000_000.0)
+                .register(meterRegistry);
+        checkTimer = Timer.builder("loan.eligibility.check")
+                .description("Time spent evaluating one eligibility request")
+                .register(meterRegistry);
+    }
+
     public EligibilityResult checkEligibility(EligibilityRequest request) {
+        long start = System.nanoTime();
         EligibilityResult result = new EligibilityResult();
-        
+        Decision decision = evaluate(request, result);
+        if (warmingUp) {
+            return result;
+        }
+        checkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        decisions.get(decision).increment();
+        if (result.getApprovedAmount() > 0) {
+            approvedAmounts.record(result.getApprovedAmount());
+        }
+        return result;
+    }
+
+    void setWarmingUp(boolean warmingUp) {
+        this.warmingUp = warmingUp;
+    }
+
+    private Decision evaluate(EligibilityRequest request, EligibilityResult result) {
         // Validate input
         if (request == null) {
             result.setEligible(false);
             result.setReason("Invalid request data");
-            return result;
+            return Decision.INVALID_REQUEST;
         }
         
         // Check age eligibility
         if (request.getAge() < MIN_AGE || request.getAge() > MAX_AGE) {
             result.setEligible(false);
             result.setReason("Age must be between " + MIN_AGE + " and " + MAX_AGE + " years");
-            return result;
+            return Decision.AGE;
         }
         
         // Check minimum income
         if (request.getAnnualIncome() < MIN_INCOME) {
             result.setEligible(false);
             result.setReason("Annual income must be at least ₹" + MIN_INCOME);
-            return result;
+            return Decision.INCOME;
         }
         
         // Check credit score
         if (request.getCreditScore() < MIN_CREDIT_SCORE) {
             result.setEligible(false);
             result.setReason("Credit score must be at least " + MIN_CREDIT_SCORE);
-            return result;
+            return Decision.CREDIT_SCORE;
         }
         
         // Calculate debt-to-income ratio
@@ -51,7 +111,7 @@ public class LoanEligibilityService {
         if (dtiRatio > MAX_DTI_RATIO) {
             result.setEligible(false);
             result.setReason("Debt-to-income ratio too high. Maximum allowed: " + (MAX_DTI_RATIO * 100) + "%");
-            return result;
+            return Decision.DEBT_TO_INCOME;
         }
         
         // If all checks pass, calculate loan terms
@@ -78,10 +138,30 @@ public class LoanEligibilityService {
                 result.setMonthlyEmi(monthlyEmi);
                 result.setApprovedAmount(maxLoanAmount);
                 result.setReason("Approved for maximum eligible amount of ₹" + String.format("%.2f", maxLoanAmount));
+                return Decision.APPROVED_CAPPED;
             }
         }
         
-        return result;
+        return Decision.APPROVED;
+    }
+
+    // Tag values for loan.eligibility.decisions; a fixed set, so the counter has a bounded number of series
+    enum Decision {
+        APPROVED("approved", "none"),
+        APPROVED_CAPPED("approved_capped", "none"),
+        INVALID_REQUEST("rejected", "invalid_request"),
+        AGE("rejected", "age"),
+        INCOME("rejected", "income"),
+        CREDIT_SCORE("rejected", "credit_score"),
+        DEBT_TO_INCOME("rejected", "debt_to_income");
+
+        final String outcome;
+        final String reason;
+
+        Decision(String outcome, String reason) {
+            this.outcome = outcome;
+            this.reason = reason;
+        }
     }
     
     private double calculateMaxLoanAmount(EligibilityRequest request) {
@@ -0,0 +1,164 @@
+package com.loan.service;
+
+import com.loan.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token buckets for /api/auth/login, one per client IP and one per email, checked before the user lookup and
+// the BCrypt verify so a credential-stuffing burst costs a map lookup per attempt. The IP bucket is checked
+// first; an attempt that passes it but not the email bucket still uses its IP token.
+@Component
+public class LoginRateLimiter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.login-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.login-limit.per-email.burst:5}")
+    private int emailBurst;
+
+    @Value("${auth.login-limit.per-email.per-minute:5}")
+    private int emailPerMinute;
+
+    @Value("${auth.login-limit.per-ip.burst:20}")
+    private int ipBurst;
+
+    @Value("${auth.login-limit.per-ip.per-minute:60}")
+    private int ipPerMinute;
+
+    @Value("${auth.login-limit.max-keys:100000}")
+    private int maxKeys;
+
+    private TokenBuckets emailBuckets;
+    private TokenBuckets ipBuckets;
+    private Counter emailRejected;
+    private Counter ipRejected;
+
+    @PostConstruct
+    void init() {
+        emailBuckets = new TokenBuckets(emailBurst, emailPerMinute, maxKeys, System::nanoTime);
+        ipBuckets = new TokenBuckets(ipBurst, ipPerMinute, maxKeys, System::nanoTime);
+        emailRejected = Counter.builder("auth.login.rate-limited").tag("key", "email")
+                .description("Login attempts refused by the rate limiter").register(meterRegistry);
+        ipRejected = Counter.builder("auth.login.rate-limited").tag("key", "ip")
+                .description("Login attempts refused by the rate limiter").register(meterRegistry);
+    }
+
+    // Throws TooManyLoginAttemptsException (429) when either bucket is empty
+    public void acquire(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long waitNanos = clientIp == null ? 0 : ipBuckets.tryAcquire(clientIp);
+        if (waitNanos > 0) {
+            ipRejected.increment();
+            throw tooManyAttempts(waitNanos);
+        }
+        waitNanos = email == null ? 0 : emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+        if (waitNanos > 0) {
+            emailRejected.increment();
+            throw tooManyAttempts(waitNanos);
+        }
+    }
+
+    private static GlobalExceptionHandler.TooManyLoginAttemptsException tooManyAttempts(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return new GlobalExceptionHandler.TooManyLoginAttemptsException(
+                "Too many login attempts, please retry in " + retryAfterSeconds + " seconds", retryAfterSeconds);
+    }
+
+    // Token buckets in GCRA form: each key holds one "theoretical arrival time" in an AtomicLong, updated with
+    // a CAS, so there are no locks on the hot path. A bucket whose arrival time has passed is full and carries
+    // no state, so it can be dropped; sweeps remove those once the map grows past half of maxKeys. Keys that
+    // arrive while the map is full of live buckets share one of OVERFLOW_STRIPES buckets instead, so memory
+    // stays bounded and a flood of distinct keys cannot switch the limit off.
+    static final class TokenBuckets {
+
+        private static final int OVERFLOW_STRIPES = 256;
+        private static final int SWEEP_EVERY = 1024;
+
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final int maxKeys;
+        private final LongSupplier clock;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong[] overflow = new AtomicLong[OVERFLOW_STRIPES];
+        private final AtomicInteger untilSweep = new AtomicInteger(SWEEP_EVERY);
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+
+        TokenBuckets(int burst, int perMinute, int maxKeys, LongSupplier clock) {
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+            this.maxKeys = maxKeys;
+            this.clock = clock;
+            long start = clock.getAsLong();
+            for (int i = 0; i < OVERFLOW_STRIPES; i++) {
+                overflow[i] = new AtomicLong(start);
+            }
+        }
+
+        // 0 when a token was taken, otherwise how long until the next one
+        long tryAcquire(String key) {
+            long now = clock.getAsLong();
+            AtomicLong bucket = bucket(key, now);
+            while (true) {
+                long arrival = bucket.get();
+                long next = Math.max(arrival, now) + intervalNanos;
+                long wait = next - now - toleranceNanos - intervalNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (bucket.compareAndSet(arrival, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        int size() {
+            return buckets.size();
+        }
+
+        private AtomicLong bucket(String key, long now) {
+            AtomicLong bucket = buckets.get(key);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (untilSweep.decrementAndGet() <= 0 || buckets.size() >= maxKeys) {
+                sweep(now);
+            }
+            if (buckets.size() >= maxKeys) {
+                return overflow[(key.hashCode() & 0x7fffffff) % OVERFLOW_STRIPES];
+            }
+            return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        // Drops full buckets; one sweeper at a time, other callers carry on without waiting
+        void sweep(long now) {
+            if (!sweeping.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                untilSweep.set(SWEEP_EVERY);
+                if (buckets.size() > maxKeys / 2) {
+                    buckets.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+                }
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.loan.service;
+
+import com.loan.entity.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index from character trigrams of a user's name words, email and phone to user ids.
+//
+// Every token (a name word, the whole email, the phone digits) contributes all of its trigrams plus a
+// "^xy" gram for its first two characters, so a query term of three or more characters is a substring
+// match and a two-character term is a prefix match. A query intersects the posting lists of its grams,
+// smallest first, and then checks the surviving candidates against the stored fields, since sharing
+// every gram does not guarantee the term occurs contiguously. Matches are ranked: exact field match,
+// then field prefix, then word prefix, then substring.
+final class NGramSearchIndex {
+
+    static final int MIN_TERM_LENGTH = 2;
+
+    private static final int EXACT = 100;
+    private static final int FIELD_PREFIX = 60;
+    private static final int WORD_PREFIX = 40;
+    private static final int SUBSTRING = 20;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+
+    NGramSearchIndex(Collection<User> users) {
+        for (User user : users) {
+            put(user);
+        }
+    }
+
+    // Adds the user, or re-indexes it if its name, email or phone changed
+    void put(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        Entry entry = new Entry(user);
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(user.getId(), entry);
+            if (previous != null) {
+                for (String gram : previous.grams()) {
+                    Set<String> ids = postings.get(gram);
+                    if (ids != null && ids.remove(user.getId()) && ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            for (String gram : entry.grams()) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(user.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One page of the ranked matches for the query; terms shorter than MIN_TERM_LENGTH are ignored
+    LoanApplicationService.UserSearchPage search(String query, int page, int size) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            return new LoanApplicationService.UserSearchPage(0, List.of());
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (String term : terms) {
+            grams.addAll(queryGrams(term));
+        }
+
+        List<LoanApplicationService.UserMatch> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<Set<String>> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                Set<String> ids = postings.get(gram);
+                if (ids == null) {
+                    return new LoanApplicationService.UserSearchPage(0, List.of());
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            candidates:
+            for (String id : lists.get(0)) {
+                for (int i = 1; i < lists.size(); i++) {
+                    if (!lists.get(i).contains(id)) {
+                        continue candidates;
+                    }
+                }
+                Entry entry = entries.get(id);
+                int score = 0;
+                for (String term : terms) {
+                    int termScore = entry.score(term);
+                    if (termScore == 0) {
+                        continue candidates;
+                    }
+                    score += termScore;
+                }
+                matches.add(new LoanApplicationService.UserMatch(entry.id, entry.name, entry.email, entry.phone, score));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingInt(LoanApplicationService.UserMatch::getScore).reversed()
+                .thenComparing(match -> match.getName() == null ? "" : match.getName(), String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(LoanApplicationService.UserMatch::getId));
+        int from = (int) Math.min((long) page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        return new LoanApplicationService.UserSearchPage(matches.size(), new ArrayList<>(matches.subList(from, to)));
+    }
+
+    // Lower-cased whitespace-separated terms; a term that looks like a phone number is reduced to its digits
+    static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String raw : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            String term = raw.matches("[0-9+()\\-]+") ? raw.replaceAll("[^0-9]", "") : raw;
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static List<String> queryGrams(String term) {
+        if (term.length() < 3) {
+            return List.of("^" + term);
+        }
+        List<String> grams = new ArrayList<>(term.length() - 2);
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            grams.add(term.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static void addTokenGrams(String token, Set<String> grams) {
+        if (token.length() < MIN_TERM_LENGTH) {
+            return;
+        }
+        grams.add("^" + token.substring(0, 2));
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            grams.add(token.substring(i, i + 3));
+        }
+    }
+
+    private static final class Entry {
+        private final String id;
+        private final String name;
+        private final String email;
+        private final String phone;
+
+        // Normalized forms the index and the scoring work on
+        private final String nameKey;
+        private final String[] nameWords;
+        private final String emailKey;
+        private final String phoneKey;
+
+        Entry(User user) {
+            id = user.getId();
+            name = user.getName();
+            email = user.getEmail();
+            phone = user.getPhone();
+            nameKey = name == null ? "" : name.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+            nameWords = nameKey.isEmpty() ? new String[0] : nameKey.split(" ");
+            emailKey = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+            phoneKey = phone == null ? "" : phone.replaceAll("[^0-9]", "");
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String word : nameWords) {
+                addTokenGrams(word, grams);
+            }
+            addTokenGrams(emailKey, grams);
+            addTokenGrams(phoneKey, grams);
+            return grams;
+        }
+
+        // Best score of the term against any field, 0 if it does not match (two-character terms match prefixes only)
+        int score(String term) {
+            boolean prefixOnly = term.length() < 3;
+            if (term.equals(emailKey) || term.equals(phoneKey) || term.equals(nameKey)) {
+                return EXACT;
+            }
+            if (emailKey.startsWith(term) || phoneKey.startsWith(term) || nameKey.startsWith(term)) {
+                return FIELD_PREFIX;
+            }
+            for (String word : nameWords) {
+                if (word.startsWith(term)) {
+                    return WORD_PREFIX;
+                }
+            }
+            if (!prefixOnly && (nameKey.contains(term) || emailKey.contains(term) || phoneKey.contains(term))) {
+                return SUBSTRING;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.loan.service;
+
+import com.loan.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// BCrypt hashing and verification on a small dedicated pool, so a burst of logins or signups uses at most
+// auth.hashing.threads cores and cannot starve the request threads serving /api/check-eligibility. Work
+// beyond auth.hashing.queue-capacity is refused straight away with PasswordHashingBusyException (503)
+// rather than queued behind seconds of hashing.
+//
+// The cost factor for new hashes is calibrated at startup: the largest cost (within min-cost..max-cost)
+// whose hash takes at most auth.hashing.target-ms on this machine. Existing hashes carry their own cost,
+// so verification is unaffected by recalibration.
+//
+// Metrics: auth.password.hashing (timer, operation=encode|matches, time on the pool),
+// auth.password.hashing.wait (timer, time queued), auth.password.hashing.queue and .active (gauges),
+// auth.password.hashing.rejected (counter).
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${auth.hashing.target-ms:250}")
+    private long targetMs;
+
+    @Value("${auth.hashing.min-cost:10}")
+    private int minCost;
+
+    @Value("${auth.hashing.max-cost:14}")
+    private int maxCost;
+
+    @Value("${auth.hashing.calibrate:true}")
+    private boolean calibrate;
+
+    private ThreadPoolExecutor executor;
+    private BCryptPasswordEncoder encoder;
+    private int cost;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Timer waitTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        cost = calibrate ? calibrateCost() : minCost;
+        encoder = new BCryptPasswordEncoder(cost);
+
+        encodeTimer = Timer.builder("auth.password.hashing").tag("operation", "encode")
+                .description("BCrypt time on the password hashing pool").publishPercentileHistogram().register(meterRegistry);
+        matchesTimer = Timer.builder("auth.password.hashing").tag("operation", "matches")
+                .description("BCrypt time on the password hashing pool").publishPercentileHistogram().register(meterRegistry);
+        waitTimer = Timer.builder("auth.password.hashing.wait")
+                .description("Time password hashing work waited for a pool thread").register(meterRegistry);
+        rejected = Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashing work refused because the queue was full").register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashing work waiting for a pool thread").register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing pool threads busy").register(meterRegistry);
+
+        log.info("Password hashing: {} threads, queue {}, BCrypt cost {}", poolSize, queueCapacity, cost);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(encodeTimer, () -> encoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> encodedPassword != null && encoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Blocking forms for the servlet controllers; request threads are virtual, so waiting is cheap
+    public String encodeAndWait(String rawPassword) {
+        return await(encode(rawPassword));
+    }
+
+    public boolean matchesAndWait(String rawPassword, String encodedPassword) {
+        return await(matches(rawPassword, encodedPassword));
+    }
+
+    // Hashes on the calling thread with the calibrated cost, for batch jobs that bring their own pool
+    // (UserImportService); recorded under the same encode timer
+    public String encodeInline(String rawPassword) {
+        return encodeTimer.record(() -> encoder.encode(rawPassword));
+    }
+
+    int getCost() {
+        return cost;
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new GlobalExceptionHandler.PasswordHashingBusyException(
+                    "Too many authentication requests in progress, please retry shortly");
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Each cost step doubles the work, so one measurement at min-cost is enough to pick the step
+    private int calibrateCost() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("calibration"); // warm-up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long started = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return costFor(TimeUnit.NANOSECONDS.toMillis(best), targetMs, minCost, maxCost);
+    }
+
+    static int costFor(long measuredMs, long targetMs, int minCost, int maxCost) {
+        int cost = minCost;
+        long expectedMs = Math.max(1, measuredMs);
+        while (cost < maxCost && expectedMs * 2 <= targetMs) {
+            expectedMs *= 2;
+            cost++;
+        }
+        return cost;
+    }
+}
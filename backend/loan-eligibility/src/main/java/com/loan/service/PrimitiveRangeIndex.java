@@ -0,0 +1,196 @@
+package com.loan.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Secondary index from a numeric key to document ids, held in sorted primitive arrays.
+//
+// Keys are ints, which credit scores (and amounts in whole rupees, see ApplicationRangeIndex) fit in, so the
+// key arrays take half the memory longs would.
+//
+// The bulk of the entries live in a base run (parallel int[] keys / String[] ids sorted by key);
+// new entries go into a small sorted pending run and are merged into the base once it fills up,
+// so a write costs O(pending) rather than O(n). Removed entries are tombstoned (id set to null)
+// in place and dropped at the next merge. Range lookups binary-search both runs.
+final class PrimitiveRangeIndex {
+
+    private static final int PENDING_CAPACITY = 4096;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int[] keys;
+    private String[] ids;
+    private int tombstones;
+
+    private final int[] pendingKeys = new int[PENDING_CAPACITY];
+    private final String[] pendingIds = new String[PENDING_CAPACITY];
+    private int pendingSize;
+
+    // Builds the index from unsorted parallel arrays (which it takes ownership of)
+    PrimitiveRangeIndex(int[] keys, String[] ids) {
+        sort(keys, ids, new int[keys.length], new String[ids.length], 0, keys.length);
+        this.keys = keys;
+        this.ids = ids;
+    }
+
+    void add(int key, String id) {
+        lock.writeLock().lock();
+        try {
+            if (indexOf(keys, ids, keys.length, key, id) >= 0 || indexOf(pendingKeys, pendingIds, pendingSize, key, id) >= 0) {
+                return;
+            }
+            if (pendingSize == PENDING_CAPACITY) {
+                merge();
+            }
+            // After any equal keys; key + 1 would wrap at Integer.MAX_VALUE
+            int at = key == Integer.MAX_VALUE ? pendingSize : lowerBound(pendingKeys, pendingSize, key + 1);
+            System.arraycopy(pendingKeys, at, pendingKeys, at + 1, pendingSize - at);
+            System.arraycopy(pendingIds, at, pendingIds, at + 1, pendingSize - at);
+            pendingKeys[at] = key;
+            pendingIds[at] = id;
+            pendingSize++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int key, String id) {
+        lock.writeLock().lock();
+        try {
+            int at = indexOf(pendingKeys, pendingIds, pendingSize, key, id);
+            if (at >= 0) {
+                System.arraycopy(pendingKeys, at + 1, pendingKeys, at, pendingSize - at - 1);
+                System.arraycopy(pendingIds, at + 1, pendingIds, at, pendingSize - at - 1);
+                pendingIds[--pendingSize] = null;
+                return;
+            }
+            at = indexOf(keys, ids, keys.length, key, id);
+            if (at >= 0) {
+                ids[at] = null;
+                tombstones++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of entries with min <= key <= max, in key order
+    List<String> range(int min, int max) {
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>();
+            int i = lowerBound(keys, keys.length, min);
+            int j = lowerBound(pendingKeys, pendingSize, min);
+            while (true) {
+                boolean baseHas = i < keys.length && keys[i] <= max;
+                boolean pendingHas = j < pendingSize && pendingKeys[j] <= max;
+                if (!baseHas && !pendingHas) {
+                    break;
+                }
+                if (baseHas && (!pendingHas || keys[i] <= pendingKeys[j])) {
+                    if (ids[i] != null) {
+                        result.add(ids[i]);
+                    }
+                    i++;
+                } else {
+                    result.add(pendingIds[j++]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return keys.length - tombstones + pendingSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Linear merge of the base and pending runs, dropping tombstones
+    private void merge() {
+        int size = keys.length - tombstones + pendingSize;
+        int[] mergedKeys = new int[size];
+        String[] mergedIds = new String[size];
+        int i = 0, j = 0, k = 0;
+        while (i < keys.length || j < pendingSize) {
+            if (j >= pendingSize || (i < keys.length && keys[i] <= pendingKeys[j])) {
+                if (ids[i] != null) {
+                    mergedKeys[k] = keys[i];
+                    mergedIds[k++] = ids[i];
+                }
+                i++;
+            } else {
+                mergedKeys[k] = pendingKeys[j];
+                mergedIds[k++] = pendingIds[j++];
+            }
+        }
+        keys = mergedKeys;
+        ids = mergedIds;
+        tombstones = 0;
+        Arrays.fill(pendingIds, 0, pendingSize, null);
+        pendingSize = 0;
+    }
+
+    // First position whose key is >= key
+    private static int lowerBound(int[] keys, int size, int key) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int indexOf(int[] keys, String[] ids, int size, int key, String id) {
+        for (int at = lowerBound(keys, size, key); at < size && keys[at] == key; at++) {
+            if (id.equals(ids[at])) {
+                return at;
+            }
+        }
+        return -1;
+    }
+
+    // Stable merge sort of parallel arrays by key, without boxing
+    private static void sort(int[] keys, String[] ids, int[] keyBuffer, String[] idBuffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(keys, ids, keyBuffer, idBuffer, from, mid);
+        sort(keys, ids, keyBuffer, idBuffer, mid, to);
+        if (keys[mid - 1] <= keys[mid]) {
+            return;
+        }
+        System.arraycopy(keys, from, keyBuffer, from, to - from);
+        System.arraycopy(ids, from, idBuffer, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) {
+            if (keyBuffer[i] <= keyBuffer[j]) {
+                keys[k] = keyBuffer[i];
+                ids[k++] = idBuffer[i++];
+            } else {
+                keys[k] = keyBuffer[j];
+                ids[k++] = idBuffer[j++];
+            }
+        }
+        while (i < mid) {
+            keys[k] = keyBuffer[i];
+            ids[k++] = idBuffer[i++];
+        }
+        while (j < to) {
+            keys[k] = keyBuffer[j];
+            ids[k++] = idBuffer[j++];
+        }
+    }
+}
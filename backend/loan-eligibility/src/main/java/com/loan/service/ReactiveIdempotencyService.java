@@ -0,0 +1,133 @@
+package com.loan.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loan.entity.IdempotencyRecord;
+import com.loan.repository.reactive.ReactiveIdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+// Non-blocking counterpart of IdempotencyService used by the "reactive" profile; same claim, lease and replay rules
+@Service
+@Profile("reactive")
+public class ReactiveIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveIdempotencyService.class);
+
+    @Autowired
+    private ReactiveIdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.bloom.expected-keys:1000000}")
+    private long expectedKeys;
+
+    @Value("${idempotency.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${idempotency.in-progress-lease-ms:30000}")
+    private long inProgressLeaseMs;
+
+    private IdempotencySupport support;
+
+    @PostConstruct
+    void init() {
+        support = new IdempotencySupport(objectMapper, expectedKeys, falsePositiveRate, inProgressLeaseMs);
+    }
+
+    public Mono<ResponseEntity<?>> execute(String idempotencyKey, String endpoint, Object request,
+                                           Supplier<Mono<? extends ResponseEntity<?>>> handler) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return Mono.defer(handler).map(response -> response);
+        }
+
+        String id = endpoint + ":" + idempotencyKey;
+        String requestHash = support.hash(request);
+
+        // Keys the filter has never seen cannot have a record here, so skip straight to claiming them
+        Mono<ResponseEntity<?>> existing = support.mightHaveSeen(id)
+                ? findLive(id).<ResponseEntity<?>>map(record -> support.replay(record, requestHash))
+                : Mono.empty();
+        return existing.switchIfEmpty(Mono.defer(() -> claim(id, requestHash, handler, true)));
+    }
+
+    private Mono<ResponseEntity<?>> claim(String id, String requestHash, Supplier<Mono<? extends ResponseEntity<?>>> handler,
+                                          boolean retryIfStale) {
+        IdempotencyRecord claim = support.newClaim(id, requestHash);
+        return idempotencyRecordRepository.insert(claim)
+                .thenReturn(true)
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false))
+                .flatMap(claimed -> {
+                    if (claimed) {
+                        support.remember(id);
+                        return run(claim, handler);
+                    }
+                    // Claimed concurrently, or earlier by another instance or before a restart
+                    return findLive(id)
+                            .<ResponseEntity<?>>map(record -> support.replay(record, requestHash))
+                            .switchIfEmpty(Mono.defer(() -> retryIfStale
+                                    // The record had expired (or its lease had) and findLive removed it
+                                    ? claim(id, requestHash, handler, false)
+                                    : Mono.<ResponseEntity<?>>just(IdempotencySupport.inProgress())));
+                });
+    }
+
+    private Mono<ResponseEntity<?>> run(IdempotencyRecord claim, Supplier<Mono<? extends ResponseEntity<?>>> handler) {
+        return Mono.defer(handler)
+                .<ResponseEntity<?>>map(response -> response)
+                .onErrorResume(e -> release(claim).then(Mono.error(e)))
+                .flatMap(response -> {
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        // Failed attempts are not remembered, so the client can retry with the same key
+                        return release(claim).thenReturn(response);
+                    }
+                    return Mono.defer(() -> {
+                                support.markCompleted(claim, response);
+                                return idempotencyRecordRepository.completeByIdAndClaimToken(
+                                        claim.getId(), claim.getClaimToken(), claim.getHttpStatus(), claim.getResponseBody());
+                            })
+                            .doOnNext(stored -> {
+                                if (stored == 0) {
+                                    // Our lease ran out while the handler ran and another request has claimed the key
+                                    // since; its record (and whatever response it stores) stays
+                                    log.warn("Idempotency key {} was claimed by another request after this one's lease ran out",
+                                            claim.getId());
+                                }
+                            })
+                            .onErrorResume(e -> {
+                                // The work is done, so still answer with it; release the key instead of leaving it IN_PROGRESS
+                                log.warn("Failed to store response for idempotency key {}: {}", claim.getId(), e.getMessage());
+                                return release(claim).then(Mono.empty());
+                            })
+                            .thenReturn(response);
+                });
+    }
+
+    // The record holding this key, unless it is stale (stale records are removed so the key can be claimed again)
+    private Mono<IdempotencyRecord> findLive(String id) {
+        return idempotencyRecordRepository.findById(id)
+                .flatMap(record -> support.isStale(record)
+                        ? idempotencyRecordRepository.deleteByIdAndClaimToken(id, record.getClaimToken()).then(Mono.<IdempotencyRecord>empty())
+                        : Mono.just(record));
+    }
+
+    private Mono<Void> release(IdempotencyRecord claim) {
+        return idempotencyRecordRepository.deleteByIdAndClaimToken(claim.getId(), claim.getClaimToken())
+                .onErrorResume(e -> {
+                    // The lease still frees the key once it expires
+                    log.warn("Failed to release idempotency key {}: {}", claim.getId(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,186 @@
+package com.loan.service;
+
+import com.loan.entity.LoanApplication;
+import com.loan.entity.User;
+import com.loan.repository.reactive.ReactiveLoanApplicationRepository;
+import com.loan.repository.reactive.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Non-blocking counterpart of LoanApplicationService used by the "reactive" profile
+@Service
+@Profile("reactive")
+public class ReactiveLoanApplicationService {
+
+    @Autowired
+    private ReactiveLoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private EventLog eventLog;
+
+    @Value("${loan.bulk-status.max-applications:500}")
+    private int bulkStatusMaxApplications;
+
+    public Mono<LoanApplication> saveApplication(LoanApplicationService.LoanApplicationRequest request) {
+        // First, find or create user
+        return findOrCreateUser(request.getEmail(), request.getName(), request.getPhone())
+                .flatMap(user -> {
+                    // Create loan application
+                    LoanApplication application = new LoanApplication();
+                    application.setUserId(user.getId());
+                    application.setName(request.getName());
+                    application.setEmail(request.getEmail());
+                    application.setPhone(request.getPhone());
+                    application.setAge(request.getAge());
+                    application.setAnnualIncome(request.getAnnualIncome());
+                    application.setCreditScore(request.getCreditScore());
+                    application.setMonthlyDebtPayments(request.getMonthlyDebtPayments());
+                    application.setRequestedAmount(request.getRequestedAmount());
+                    application.setLoanTenure(request.getLoanTenure());
+                    application.setEmploymentType(request.getEmploymentType());
+                    application.setLoanPurpose(request.getLoanPurpose());
+
+                    // Set eligibility results
+                    application.setEligible(request.isEligible());
+                    application.setEligibilityReason(request.getEligibilityReason());
+                    application.setApprovedAmount(request.getApprovedAmount());
+                    application.setInterestRate(request.getInterestRate());
+                    application.setMonthlyEmi(request.getMonthlyEmi());
+
+                    // Set application status and timestamps
+                    application.setStatus("PENDING"); // Default status
+                    application.setCreatedAt(LocalDateTime.now());
+                    application.setUpdatedAt(LocalDateTime.now());
+
+                    return loanApplicationRepository.save(application);
+                })
+                .doOnNext(saved -> eventLog.log("application.submitted", "applicationId", saved.getId(),
+                        "userId", saved.getUserId(), "eligible", saved.isEligible(),
+                        "requestedAmount", saved.getRequestedAmount(), "status", saved.getStatus()));
+    }
+
+    public Flux<LoanApplication> getApplicationsByEmail(String email) {
+        return loanApplicationRepository.findByEmailOrderByCreatedAtDesc(email);
+    }
+
+    public Flux<LoanApplication> getApplicationsByUserId(String userId) {
+        return loanApplicationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    public Mono<LoanApplication> getApplicationById(String applicationId) {
+        return loanApplicationRepository.findById(applicationId);
+    }
+
+    public Flux<LoanApplication> getAllApplications() {
+        return loanApplicationRepository.findAllByOrderByCreatedAtDesc();
+    }
+
+    public Mono<LoanApplication> updateApplicationStatus(String applicationId, String status) {
+        return loanApplicationRepository.findById(applicationId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Application not found with ID: " + applicationId)))
+                .flatMap(application -> {
+                    application.setStatus(status);
+                    application.setUpdatedAt(LocalDateTime.now());
+                    return loanApplicationRepository.save(application);
+                });
+    }
+
+    // Same plan / guarded updateMany / per-id outcomes as LoanApplicationService.updateApplicationStatuses
+    public Mono<LoanApplicationService.BulkStatusResult> updateApplicationStatuses(Collection<String> ids, String status) {
+        return Mono.fromRunnable(() -> checkBulkStatusChange(status, ids.size()))
+                .then(loanApplicationRepository.findStatusesByIdIn(ids).collectList())
+                .flatMap(current -> applyStatusChange(StatusTransitions.plan(ids, current, status), status));
+    }
+
+    public Mono<LoanApplicationService.BulkStatusResult> updateApplicationStatusesMatching(String currentStatus, Boolean eligible,
+                                                                                          String status) {
+        Limit limit = Limit.of(bulkStatusMaxApplications + 1);
+        return Mono.fromRunnable(() -> checkBulkStatusChange(status, 0))
+                .thenMany(eligible == null
+                        ? loanApplicationRepository.findStatusesByStatus(currentStatus, limit)
+                        : loanApplicationRepository.findStatusesByStatusAndEligible(currentStatus, eligible, limit))
+                .collectList()
+                .flatMap(matching -> {
+                    checkBulkStatusChange(status, matching.size());
+                    List<String> ids = matching.stream().map(LoanApplication::getId).toList();
+                    return applyStatusChange(StatusTransitions.plan(ids, matching, status), status);
+                });
+    }
+
+    private Mono<LoanApplicationService.BulkStatusResult> applyStatusChange(StatusTransitions.Plan plan, String status) {
+        List<String> toUpdate = plan.toUpdate();
+        if (toUpdate.isEmpty()) {
+            return Mono.just(plan.complete(status, null));
+        }
+        return loanApplicationRepository.updateStatusByIdInAndStatusIn(toUpdate, StatusTransitions.sourcesOf(status), status, LocalDateTime.now())
+                .flatMap(modified -> plan.needsReread(modified)
+                        ? loanApplicationRepository.findStatusesByIdIn(toUpdate).collectList().map(after -> plan.complete(status, after))
+                        : Mono.just(plan.complete(status, null)));
+    }
+
+    private void checkBulkStatusChange(String status, int applications) {
+        if (!StatusTransitions.isKnown(status)) {
+            throw new IllegalArgumentException("Unknown status: " + status + " (expected PENDING, PROCESSING, APPROVED or REJECTED)");
+        }
+        if (applications > bulkStatusMaxApplications) {
+            throw new IllegalArgumentException("At most " + bulkStatusMaxApplications
+                    + " applications can be updated per request; narrow the filter or send the ids in batches");
+        }
+    }
+
+    private Mono<User> findOrCreateUser(String email, String name, String phone) {
+        return userRepository.findByEmail(email)
+                .flatMap(user -> {
+                    // Update user info if needed
+                    user.setName(name);
+                    user.setPhone(phone);
+                    user.setUpdatedAt(LocalDateTime.now());
+                    return userRepository.save(user);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    // Create new user
+                    User newUser = new User();
+                    newUser.setName(name);
+                    newUser.setEmail(email);
+                    newUser.setPhone(phone);
+                    newUser.setCreatedAt(LocalDateTime.now());
+                    newUser.setUpdatedAt(LocalDateTime.now());
+                    return userRepository.save(newUser);
+                }));
+    }
+
+    public Mono<User> getUserByEmail(String email) {
+        return userRepository.findByEmail(email);
+    }
+
+    // Same figures as LoanApplicationService.getApplicationStats, folded over the stream in one pass
+    public Mono<LoanApplicationService.ApplicationStats> getApplicationStats() {
+        return loanApplicationRepository.findAll()
+                .reduceWith(() -> new LoanApplicationService.ApplicationStats(0, 0, 0, 0, 0.0, 0.0), (stats, app) -> {
+                    stats.setTotalApplications(stats.getTotalApplications() + 1);
+                    if ("APPROVED".equals(app.getStatus())) {
+                        stats.setApprovedApplications(stats.getApprovedApplications() + 1);
+                    } else if ("PENDING".equals(app.getStatus())) {
+                        stats.setPendingApplications(stats.getPendingApplications() + 1);
+                    } else if ("REJECTED".equals(app.getStatus())) {
+                        stats.setRejectedApplications(stats.getRejectedApplications() + 1);
+                    }
+                    stats.setTotalRequestedAmount(stats.getTotalRequestedAmount() + app.getRequestedAmount());
+                    if (app.getApprovedAmount() > 0) {
+                        stats.setTotalApprovedAmount(stats.getTotalApprovedAmount() + app.getApprovedAmount());
+                    }
+                    return stats;
+                });
+    }
+}
@@ -0,0 +1,23 @@
+package com.loan.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Concurrent calls to the annotated method with equal arguments share one execution: the first caller runs it,
+// callers arriving while it is in flight wait for and return the same result (or exception). Nothing is kept
+// once the call completes, so this is coalescing, not caching. The shared result is handed to every caller and
+// must not be modified by them.
+//
+// Only for blocking methods on Spring beans, called through the bean (not this.method()). Applied by
+// SingleFlightConfig; single-flight.methods.<name>.enabled=false turns it off for one method.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SingleFlight {
+
+    // Name for the property and the metric tag; defaults to SimpleClassName.method
+    String value() default "";
+}
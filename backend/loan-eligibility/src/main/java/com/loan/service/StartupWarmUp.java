@@ -0,0 +1,181 @@
+package com.loan.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Replays a synthetic corpus through this instance's own HTTP port before it reports ready, so the first real
+// requests after a deploy do not run the eligibility path (Jackson binding, validation, controller, service) in the
+// interpreter or at C1. Runs as an ApplicationRunner: the server is already listening, and Spring Boot publishes
+// ReadinessState.ACCEPTING_TRAFFIC (/actuator/health/readiness) only after the runners return.
+//
+// Warm-up stops after warm-up.requests requests or warm-up.time-budget-ms, whichever comes first. Only endpoints
+// without side effects are called; requests carry WARM_UP_HEADER, which keeps them out of http.server.requests
+// (see WarmUpConfig), and LoanEligibilityService leaves the checks made meanwhile out of loan.eligibility.*, so
+// the synthetic decisions and approved amounts do not show up in the business metrics.
+@Component
+public class StartupWarmUp implements ApplicationRunner {
+
+    public static final String WARM_UP_HEADER = "X-Warm-Up";
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    // Never matches a stored application, so the read endpoints take their "not found" and empty-list paths
+    private static final String UNKNOWN_EMAIL = "warm-up@warm-up.invalid";
+    private static final String UNKNOWN_ID = "000000000000000000000000";
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LoanEligibilityService eligibilityService;
+
+    @Value("${warm-up.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warm-up.requests:3000}")
+    private int requests;
+
+    @Value("${warm-up.time-budget-ms:20000}")
+    private long timeBudgetMs;
+
+    @Value("${warm-up.concurrency:2}")
+    private int concurrency;
+
+    @Value("${warm-up.read-endpoints:false}")
+    private boolean readEndpoints;
+
+    @Value("${warm-up.seed:1}")
+    private long seed;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!enabled) {
+            return;
+        }
+        // No server in mock-environment tests; nothing to warm
+        if (!(applicationContext instanceof WebServerApplicationContext context) || context.getWebServer() == null
+                || context.getWebServer().getPort() <= 0) {
+            return;
+        }
+        String base = "http://localhost:" + context.getWebServer().getPort();
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetMs * 1_000_000;
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        eligibilityService.setWarmingUp(true);
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+             ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int w = 0; w < Math.max(1, concurrency); w++) {
+                running.add(workers.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests && System.nanoTime() < deadline) {
+                        if (!send(client, base, i)) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+        } catch (Exception e) {
+            // Warm-up is best effort: a failure here must not keep the instance from starting
+            log.warn("Warm-up stopped early: {}", e.toString());
+        } finally {
+            eligibilityService.setWarmingUp(false);
+        }
+
+        int sent = Math.min(next.get(), requests);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Warm-up: {} requests ({} failed) in {} ms{}", sent, failed.get(), elapsedMs,
+                sent < requests ? ", stopped by the " + timeBudgetMs + " ms budget" : "");
+    }
+
+    // False when the request could not be sent or the status was not the one the corpus expects
+    private boolean send(HttpClient client, String base, int i) {
+        HttpRequest.Builder request = HttpRequest.newBuilder().header(WARM_UP_HEADER, "true")
+                .timeout(Duration.ofSeconds(5));
+        int expected;
+        if (readEndpoints && i % 10 == 9) {
+            switch ((i / 10) % 3) {
+                case 0 -> request.uri(URI.create(base + "/api/get-applications?email=" + UNKNOWN_EMAIL));
+                case 1 -> request.uri(URI.create(base + "/api/application/" + UNKNOWN_ID));
+                default -> request.uri(URI.create(base + "/api/health"));
+            }
+            expected = (i / 10) % 3 == 1 ? 404 : 200;
+        } else {
+            LoanEligibilityService.EligibilityRequest body = eligibilityRequest(i, new Random(seed + i));
+            expected = body.getAge() < 18 ? 400 : 200;
+            try {
+                request.uri(URI.create(base + "/api/check-eligibility"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        try {
+            return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode() == expected;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // The corpus cycles through every branch of LoanEligibilityService (each rejection, approval within the limit,
+    // approval capped at it, every interest-rate band) plus a request that fails validation. A branch the warm-up
+    // never took is compiled as an uncommon trap, and the first real request to take it would deoptimize the method.
+    static LoanEligibilityService.EligibilityRequest eligibilityRequest(int i, Random random) {
+        int age = 21 + random.nextInt(40);
+        double income = 300_000 + random.nextInt(2_700_000);
+        int score = 650 + random.nextInt(200);
+        double debt = income / 12 * 0.3 * random.nextDouble();
+        double amount = income * (0.5 + 2 * random.nextDouble());
+        int tenure = 12 * (1 + random.nextInt(30));
+        switch (i % 8) {
+            case 0 -> age = 12;                                        // fails @Min on age: 400
+            case 1 -> income = 10_000 + random.nextInt(15_000);        // below the minimum income
+            case 2 -> score = 300 + random.nextInt(350);               // below the minimum credit score
+            case 3 -> debt = income / 12 * (0.41 + random.nextDouble()); // debt-to-income above 40%
+            case 4 -> amount = income * (7 + random.nextInt(5));       // above the maximum: capped approval
+            default -> { }                                             // approved as requested
+        }
+        String employment = switch (i % 3) {
+            case 0 -> "FULL_TIME";
+            case 1 -> "SELF_EMPLOYED";
+            default -> "PART_TIME";
+        };
+        return new LoanEligibilityService.EligibilityRequest("Warm-up Applicant " + (i % 100), age, income, score,
+                Math.floor(debt), Math.floor(amount), tenure, employment);
+    }
+}
@@ -0,0 +1,104 @@
+package com.loan.service;
+
+import com.loan.entity.LoanApplication;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Review workflow for bulk status changes: PENDING -> PROCESSING -> APPROVED / REJECTED, where a pending
+// application may also be decided directly and one under processing may be sent back to PENDING.
+// APPROVED and REJECTED are final.
+final class StatusTransitions {
+
+    private static final Map<String, Set<String>> ALLOWED = Map.of(
+            "PENDING", Set.of("PROCESSING", "APPROVED", "REJECTED"),
+            "PROCESSING", Set.of("PENDING", "APPROVED", "REJECTED"),
+            "APPROVED", Set.of(),
+            "REJECTED", Set.of());
+
+    private StatusTransitions() {
+    }
+
+    static boolean isKnown(String status) {
+        return ALLOWED.containsKey(status);
+    }
+
+    // Statuses an application may move to the target from
+    static Set<String> sourcesOf(String target) {
+        Set<String> sources = new LinkedHashSet<>();
+        ALLOWED.forEach((from, to) -> {
+            if (to.contains(target)) {
+                sources.add(from);
+            }
+        });
+        return sources;
+    }
+
+    // Splits the requested ids into outcomes that are already decided (not found, unchanged, not allowed)
+    // and the ids that go into the update; current holds the applications that were found
+    static Plan plan(Collection<String> ids, Collection<LoanApplication> current, String target) {
+        Map<String, String> statuses = new HashMap<>();
+        for (LoanApplication application : current) {
+            statuses.put(application.getId(), application.getStatus());
+        }
+        Plan plan = new Plan();
+        for (String id : new LinkedHashSet<>(ids)) {
+            if (!statuses.containsKey(id)) {
+                plan.outcomes.put(id, new LoanApplicationService.StatusChangeOutcome(id, "NOT_FOUND", null));
+                continue;
+            }
+            String from = statuses.get(id);
+            if (target.equals(from)) {
+                plan.outcomes.put(id, new LoanApplicationService.StatusChangeOutcome(id, "UNCHANGED", from));
+            } else if (from == null || !ALLOWED.getOrDefault(from, Set.of()).contains(target)) {
+                plan.outcomes.put(id, new LoanApplicationService.StatusChangeOutcome(id, "INVALID_TRANSITION", from));
+            } else {
+                plan.outcomes.put(id, null);
+                plan.previous.put(id, from);
+            }
+        }
+        return plan;
+    }
+
+    static final class Plan {
+        // Requested order; null until the update has run for ids that take part in it
+        private final Map<String, LoanApplicationService.StatusChangeOutcome> outcomes = new LinkedHashMap<>();
+        private final Map<String, String> previous = new LinkedHashMap<>();
+
+        List<String> toUpdate() {
+            return new ArrayList<>(previous.keySet());
+        }
+
+        // The guarded update changes fewer documents than planned only if another writer got there first
+        boolean needsReread(long modified) {
+            return modified < previous.size();
+        }
+
+        // Final outcomes in request order; after is the re-read of toUpdate() when needsReread, otherwise null
+        LoanApplicationService.BulkStatusResult complete(String target, Collection<LoanApplication> after) {
+            Map<String, String> statusesAfter = null;
+            if (after != null) {
+                statusesAfter = new HashMap<>();
+                for (LoanApplication application : after) {
+                    statusesAfter.put(application.getId(), application.getStatus());
+                }
+            }
+            int updated = 0;
+            for (Map.Entry<String, String> entry : previous.entrySet()) {
+                String id = entry.getKey();
+                boolean applied = statusesAfter == null || target.equals(statusesAfter.get(id));
+                if (applied) {
+                    updated++;
+                }
+                outcomes.put(id, new LoanApplicationService.StatusChangeOutcome(id, applied ? "UPDATED" : "CONFLICT", entry.getValue()));
+            }
+            return new LoanApplicationService.BulkStatusResult(target, updated, new ArrayList<>(outcomes.values()));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.loan.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Aggregates SubmissionTimings into loan.submission.phase (timer with histogram, phase=validation|eligibility|
+// user-upsert|insert|total, outcome=success|timeout|error). The timers are registered up front, so recording a
+// submission is one lookup-free record call per completed phase.
+@Component
+@Profile("!reactive")
+public class SubmissionPhaseMetrics {
+
+    public static final String SUCCESS = "success";
+    public static final String TIMEOUT = "timeout";
+    public static final String ERROR = "error";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Map<SubmissionTimings.Phase, Timer>> timers = Map.of(
+            SUCCESS, new EnumMap<>(SubmissionTimings.Phase.class),
+            TIMEOUT, new EnumMap<>(SubmissionTimings.Phase.class),
+            ERROR, new EnumMap<>(SubmissionTimings.Phase.class));
+
+    @PostConstruct
+    void registerTimers() {
+        timers.forEach((outcome, byPhase) -> {
+            for (SubmissionTimings.Phase phase : SubmissionTimings.Phase.values()) {
+                byPhase.put(phase, Timer.builder("loan.submission.phase")
+                        .tag("phase", phase.metricName()).tag("outcome", outcome)
+                        .description("Time spent in each phase of /api/check-eligibility-and-save")
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(meterRegistry));
+            }
+        });
+    }
+
+    public void record(SubmissionTimings timings, String outcome) {
+        Map<SubmissionTimings.Phase, Timer> byPhase = timers.get(outcome);
+        for (SubmissionTimings.Phase phase : SubmissionTimings.Phase.values()) {
+            long nanos = timings.nanos(phase);
+            if (nanos >= 0) {
+                byPhase.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.loan.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Runs independent submission steps concurrently, one virtual thread each.
+// Structured in the StructuredTaskScope.ShutdownOnFailure sense: subtasks never outlive the
+// try-with-resources block, the first failure (or the deadline) cancels the remaining subtasks,
+// and join() rethrows that failure. StructuredTaskScope itself is still a preview API on JDK 21.
+final class SubmissionScope implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorCompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+    private final List<Future<?>> subtasks = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    <T> Future<T> fork(Callable<T> task) {
+        Future<T> future = (Future<T>) completion.submit((Callable<Object>) task);
+        subtasks.add(future);
+        return future;
+    }
+
+    // Waits for every forked subtask, cancelling the rest as soon as one fails or the deadline passes
+    void join(long timeoutMillis) throws ExecutionException, TimeoutException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            for (int remaining = subtasks.size(); remaining > 0; remaining--) {
+                Future<Object> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new TimeoutException("Submission steps did not complete within " + timeoutMillis + " ms");
+                }
+                done.get();
+            }
+        } catch (ExecutionException | TimeoutException | InterruptedException e) {
+            cancelAll();
+            throw e;
+        }
+    }
+
+    private void cancelAll() {
+        for (Future<?> subtask : subtasks) {
+            subtask.cancel(true);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+        executor.close();
+    }
+}
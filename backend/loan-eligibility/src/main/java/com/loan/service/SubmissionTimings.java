@@ -0,0 +1,71 @@
+package com.loan.service;
+
+import java.util.Arrays;
+
+// Per-phase durations of one /check-eligibility-and-save request, taken with System.nanoTime so they are
+// unaffected by wall-clock adjustments. The eligibility and user-upsert phases are written by the submission's
+// forked subtasks; SubmissionScope.join happens-after both, so the request thread reads them safely afterwards.
+// A phase that never completed (timeout, failure) keeps -1 and is left out of the header and the histograms.
+public final class SubmissionTimings {
+
+    // Request attribute holding System.nanoTime() from before the body was read and validated
+    public static final String RECEIVED_AT = "com.loan.service.SubmissionTimings.receivedAt";
+
+    public enum Phase {
+        VALIDATION("validation"),
+        ELIGIBILITY("eligibility"),
+        USER_UPSERT("user-upsert"),
+        INSERT("insert"),
+        TOTAL("total");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[] nanos = new long[PHASES.length];
+
+    public SubmissionTimings() {
+        Arrays.fill(nanos, -1);
+    }
+
+    public void record(Phase phase, long startNanos) {
+        nanos[phase.ordinal()] = System.nanoTime() - startNanos;
+    }
+
+    // -1 if the phase did not complete
+    public long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    // Server-Timing header value, durations in milliseconds to the microsecond:
+    // validation;dur=0.412, eligibility;dur=0.031, user-upsert;dur=3.208, insert;dur=2.776, total;dur=6.754
+    public String serverTiming() {
+        StringBuilder header = new StringBuilder(112);
+        for (Phase phase : PHASES) {
+            long duration = nanos[phase.ordinal()];
+            if (duration < 0) {
+                continue;
+            }
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            long micros = duration / 1_000;
+            long fraction = micros % 1_000;
+            header.append(phase.metricName).append(";dur=").append(micros / 1_000).append('.');
+            if (fraction < 100) {
+                header.append(fraction < 10 ? "00" : "0");
+            }
+            header.append(fraction);
+        }
+        return header.toString();
+    }
+}
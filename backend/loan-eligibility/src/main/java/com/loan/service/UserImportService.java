@@ -0,0 +1,394 @@
+package com.loan.service;
+
+import com.loan.controller.AuthController;
+import com.loan.entity.User;
+import com.loan.repository.UserBulkOperations;
+import com.loan.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Bulk account creation for partner onboarding, from a CSV of name,email,password[,phone] with a header row.
+// Rows are validated with the signup rules and processed in batches: passwords are hashed in parallel on a
+// work-stealing pool (BCrypt dominates the cost, so this is where the cores go), then each batch is written
+// with one unordered bulk insert. Duplicate emails, within the file or against existing users, are left to the
+// unique email index instead of a findByEmail per row.
+//
+// Imports run as background jobs: startImport copies the upload to a temporary file, checks the header and
+// returns straight away, and the rows are processed on the single user-import thread. Callers poll findJob for
+// the status and, once it has finished, the report. The hashing pool is capped below the core count (half the
+// cores by default), so logins and eligibility checks keep CPU while an import runs.
+@Service
+@Profile("!reactive")
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    // Rows listed individually in the report; the counts cover every row
+    static final int MAX_REPORTED_ROWS = 100;
+
+    // Finished jobs kept for findJob; the oldest is dropped beyond this
+    static final int MAX_RETAINED_JOBS = 20;
+
+    private static final String HEADER = "name,email,password";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashing;
+
+    @Autowired
+    private ApplicantSearchIndex searchIndex;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${user-import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${user-import.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool hashingPool;
+    private ExecutorService importExecutor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    };
+
+    @PostConstruct
+    void init() {
+        // At most cores - 1 threads whatever is configured, and half the cores by default, so request handling
+        // and the password hashing pool keep theirs while an import runs
+        int cores = Runtime.getRuntime().availableProcessors();
+        int threads = Math.min(parallelism > 0 ? parallelism : cores / 2, cores - 1);
+        hashingPool = new ForkJoinPool(Math.max(1, threads));
+        importExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importExecutor.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    // Stages the CSV and queues the import. A file without the header row is refused here with
+    // IllegalArgumentException; one import at a time, so a second caller gets ImportAlreadyRunningException
+    // until the running job finishes.
+    public ImportJob startImport(InputStream csv) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new ImportAlreadyRunningException("A user import is already running");
+        }
+        Path staged = null;
+        try {
+            staged = Files.createTempFile("user-import-", ".csv");
+            Files.copy(csv, staged, StandardCopyOption.REPLACE_EXISTING);
+            try (BufferedReader reader = Files.newBufferedReader(staged, StandardCharsets.UTF_8)) {
+                String header = reader.readLine();
+                if (header == null || !header.trim().toLowerCase(Locale.ROOT).startsWith(HEADER)) {
+                    throw new IllegalArgumentException("Expected a CSV header row: name,email,password[,phone]");
+                }
+            }
+            ImportJob job = new ImportJob(UUID.randomUUID().toString());
+            synchronized (jobs) {
+                jobs.put(job.id, job);
+            }
+            Path file = staged;
+            importExecutor.execute(() -> runJob(job, file));
+            return job;
+        } catch (IOException | RuntimeException e) {
+            running.set(false);
+            if (staged != null) {
+                Files.deleteIfExists(staged);
+            }
+            throw e;
+        }
+    }
+
+    public Optional<ImportJob> findJob(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    private void runJob(ImportJob job, Path file) {
+        job.status = ImportJob.Status.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        try {
+            job.report = runImport(file);
+            job.status = ImportJob.Status.COMPLETED;
+        } catch (Exception e) {
+            log.error("User import {} failed", job.id, e);
+            job.error = e.getMessage();
+            job.status = ImportJob.Status.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete staged import file {}", file, e);
+            }
+            running.set(false);
+            job.done.complete(job);
+        }
+    }
+
+    private ImportReport runImport(Path file) throws IOException {
+        long started = System.nanoTime();
+        ImportReport report = new ImportReport();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            // Checked by startImport
+            reader.readLine();
+            List<Row> batch = new ArrayList<>(batchSize);
+            String line;
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.totalRows++;
+                Row row = parse(lineNumber, line, report);
+                if (row != null) {
+                    batch.add(row);
+                }
+                if (batch.size() == batchSize) {
+                    importBatch(batch, report);
+                    batch.clear();
+                }
+            }
+            importBatch(batch, report);
+        }
+        report.elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        report.rowsPerSecond = report.elapsedMs == 0 ? report.totalRows : report.totalRows * 1000.0 / report.elapsedMs;
+        report.rejectedRows.sort(Comparator.comparingInt(RejectedRow::getLine));
+        log.info("User import: {} rows, {} imported, {} duplicates, {} rejected in {} ms ({} rows/s)",
+                report.totalRows, report.imported, report.duplicates, report.rejected, report.elapsedMs,
+                Math.round(report.rowsPerSecond));
+        return report;
+    }
+
+    private Row parse(int lineNumber, String line, ImportReport report) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() < 3 || fields.size() > 4) {
+            report.reject(lineNumber, null, "Expected 3 or 4 fields, found " + fields.size());
+            return null;
+        }
+        AuthController.SignupRequestDTO signup = new AuthController.SignupRequestDTO();
+        signup.setName(fields.get(0).trim());
+        signup.setEmail(fields.get(1).trim());
+        signup.setPassword(fields.get(2));
+        List<String> problems = validator.validate(signup).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+        if (!problems.isEmpty()) {
+            report.reject(lineNumber, signup.getEmail(), String.join("; ", problems));
+            return null;
+        }
+        String phone = fields.size() == 4 && !fields.get(3).isBlank() ? fields.get(3).trim() : null;
+        return new Row(lineNumber, signup, phone);
+    }
+
+    private void importBatch(List<Row> rows, ImportReport report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<User> users;
+        try {
+            // A parallel stream submitted to a ForkJoinPool runs on that pool's work-stealing workers
+            users = hashingPool.submit(() -> rows.parallelStream().map(this::toUser).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed during user import", e.getCause());
+        }
+
+        UserBulkOperations.BulkInsertResult result = userRepository.insertUnordered(users);
+        report.imported += result.getInserted();
+        boolean[] failed = new boolean[users.size()];
+        for (UserBulkOperations.InsertFailure failure : result.getFailures()) {
+            failed[failure.getIndex()] = true;
+            Row row = rows.get(failure.getIndex());
+            if (failure.isDuplicateKey()) {
+                report.duplicates++;
+                report.addRow(new RejectedRow(row.line, row.signup.getEmail(), "Duplicate email"));
+            } else {
+                report.reject(row.line, row.signup.getEmail(), failure.getMessage());
+            }
+        }
+        for (int i = 0; i < users.size(); i++) {
+            if (!failed[i]) {
+                searchIndex.indexed(users.get(i));
+            }
+        }
+    }
+
+    private User toUser(Row row) {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        // Ids are assigned here so the search index can take the users without reading them back
+        user.setId(new ObjectId().toHexString());
+        user.setName(row.signup.getName());
+        user.setEmail(row.signup.getEmail());
+        user.setPhone(row.phone);
+        user.setPassword(passwordHashing.encodeInline(row.signup.getPassword()));
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    // Comma-separated fields; a field may be double-quoted, with "" for a literal quote
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(int line, AuthController.SignupRequestDTO signup, String phone) {
+    }
+
+    public static class ImportAlreadyRunningException extends IllegalStateException {
+        public ImportAlreadyRunningException(String message) {
+            super(message);
+        }
+    }
+
+    public static class ImportJob {
+        public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+        private final String id;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile Status status = Status.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile ImportReport report;
+        private volatile String error;
+        private final CompletableFuture<ImportJob> done = new CompletableFuture<>();
+
+        ImportJob(String id) {
+            this.id = id;
+        }
+
+        public String getId() { return id; }
+        public Status getStatus() { return status; }
+        public LocalDateTime getSubmittedAt() { return submittedAt; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+        // Set once the job has completed
+        public ImportReport getReport() { return report; }
+        // Set if the job failed
+        public String getError() { return error; }
+
+        // Completes when the job has finished, either way
+        CompletableFuture<ImportJob> completion() { return done; }
+    }
+
+    public static class ImportReport {
+        private int totalRows;
+        private int imported;
+        private int duplicates;
+        private int rejected;
+        private long elapsedMs;
+        private double rowsPerSecond;
+        private final List<RejectedRow> rejectedRows = new ArrayList<>();
+
+        void reject(int line, String email, String reason) {
+            rejected++;
+            addRow(new RejectedRow(line, email, reason));
+        }
+
+        void addRow(RejectedRow row) {
+            if (rejectedRows.size() < MAX_REPORTED_ROWS) {
+                rejectedRows.add(row);
+            }
+        }
+
+        public int getTotalRows() { return totalRows; }
+        public int getImported() { return imported; }
+        public int getDuplicates() { return duplicates; }
+        public int getRejected() { return rejected; }
+        public long getElapsedMs() { return elapsedMs; }
+        public double getRowsPerSecond() { return rowsPerSecond; }
+        public List<RejectedRow> getRejectedRows() { return rejectedRows; }
+    }
+
+    public static class RejectedRow {
+        private final int line;
+        private final String email;
+        private final String reason;
+
+        RejectedRow(int line, String email, String reason) {
+            this.line = line;
+            this.email = email;
+            this.reason = reason;
+        }
+
+        public int getLine() { return line; }
+        public String getEmail() { return email; }
+        public String getReason() { return reason; }
+    }
+}
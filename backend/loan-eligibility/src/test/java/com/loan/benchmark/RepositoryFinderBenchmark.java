@@ -0,0 +1,135 @@
+package com.loan.benchmark;
+
+import com.loan.entity.LoanApplication;
+import com.loan.repository.LoanApplicationRepository;
+import com.loan.repository.embedded.EmbeddedCollection;
+import com.loan.repository.embedded.EmbeddedLoanApplicationRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compares the embedded store with MongoDB on the existing LoanApplicationRepository finders.
+// The "mongo" backend needs a running server (-Dbench.mongo.uri, default mongodb://localhost:27017):
+//   mvn -Pbenchmark test-compile exec:exec -Djmh.args="RepositoryFinderBenchmark"
+//   mvn -Pbenchmark test-compile exec:exec -Djmh.args="RepositoryFinderBenchmark -p backend=embedded"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryFinderBenchmark {
+
+    private static final String[] STATUSES = {"PENDING", "APPROVED", "REJECTED", "PROCESSING"};
+
+    @Param({"embedded", "mongo"})
+    public String backend;
+
+    @Param({"10000"})
+    public int applications;
+
+    private LoanApplicationRepository repository;
+    private EmbeddedCollection<LoanApplication> collection;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private Path directory;
+
+    private String email;
+    private String userId;
+    private LocalDateTime recentFrom;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if ("embedded".equals(backend)) {
+            directory = Files.createTempDirectory("embedded-bench");
+            collection = new EmbeddedCollection<>("loan_applications", LoanApplication.class,
+                    LoanApplication::getId, LoanApplication::setId,
+                    directory.resolve("loan_applications.log"), 16 * 1024 * 1024, false, 0.5, Integer.MAX_VALUE);
+            repository = new EmbeddedLoanApplicationRepository(collection);
+        } else {
+            mongoClient = MongoClients.create(System.getProperty("bench.mongo.uri", "mongodb://localhost:27017"));
+            mongoTemplate = new MongoTemplate(mongoClient, "eligibilitycheck_bench");
+            mongoTemplate.dropCollection(LoanApplication.class);
+            repository = new MongoRepositoryFactory(mongoTemplate).getRepository(LoanApplicationRepository.class);
+        }
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        int users = Math.max(1, applications / 5);
+        for (int i = 0; i < applications; i++) {
+            int user = random.nextInt(users);
+            LoanApplication application = new LoanApplication();
+            application.setUserId("user-" + user);
+            application.setName("Applicant " + user);
+            application.setEmail("applicant" + user + "@example.com");
+            application.setPhone("90000" + user);
+            application.setAge(21 + random.nextInt(40));
+            application.setAnnualIncome(300000 + random.nextInt(2000000));
+            application.setCreditScore(300 + random.nextInt(551));
+            application.setRequestedAmount(50000 + random.nextInt(5000000));
+            application.setLoanTenure(12 + random.nextInt(348));
+            application.setEmploymentType(random.nextBoolean() ? "SALARIED" : "SELF_EMPLOYED");
+            application.setEligible(random.nextBoolean());
+            application.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            application.setCreatedAt(start.plusMinutes(random.nextInt(365 * 24 * 60)));
+            application.setUpdatedAt(application.getCreatedAt());
+            repository.save(application);
+        }
+
+        email = "applicant" + (users / 2) + "@example.com";
+        userId = "user-" + (users / 2);
+        recentFrom = LocalDateTime.now().minusDays(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (collection != null) {
+            collection.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+        if (mongoClient != null) {
+            mongoTemplate.dropCollection(LoanApplication.class);
+            mongoClient.close();
+        }
+    }
+
+    @Benchmark
+    public List<LoanApplication> findByEmail() {
+        return repository.findByEmailOrderByCreatedAtDesc(email);
+    }
+
+    @Benchmark
+    public List<LoanApplication> findByUserId() {
+        return repository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    @Benchmark
+    public long countByStatus() {
+        return repository.countByStatus("APPROVED");
+    }
+
+    @Benchmark
+    public List<LoanApplication> findRecentApplications() {
+        return repository.findRecentApplications(recentFrom);
+    }
+
+    @Benchmark
+    public List<LoanApplication> findByCreditScoreRange() {
+        return repository.findByCreditScoreRange(700, 720);
+    }
+
+    @Benchmark
+    public List<LoanApplication> findHighValueEligibleApplications() {
+        return repository.findHighValueEligibleApplications(5000000);
+    }
+}
@@ -0,0 +1,135 @@
+package com.loan.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.loan.controller.ApiResponses;
+import com.loan.controller.LoanController;
+import com.loan.entity.LoanApplication;
+import com.loan.service.LoanEligibilityService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the bodies an internal client exchanges with the eligibility API in each wire format (see
+// BinaryFormatsConfig): decoding an eligibility request, encoding its response, and encoding and decoding a list of
+// applications. Mappers are set up like the application's (java.time, Blackbird). Payload sizes are printed once
+// per trial; allocation comes from the GC profiler:
+//   mvn -Pbenchmark test-compile exec:exec -Djmh.args="WireFormatBenchmark -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"20"})
+    public int applications;
+
+    private ObjectMapper mapper;
+    private byte[] eligibilityRequest;
+    private ApiResponses.EligibilityResponse eligibilityResponse;
+    private ApiResponses.ApplicationListResponse applicationList;
+    private byte[] applicationListBytes;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        mapper = Jackson2ObjectMapperBuilder.json().factory(factory).modulesToInstall(new BlackbirdModule()).build();
+
+        LoanController.EligibilityRequestDTO request = new LoanController.EligibilityRequestDTO();
+        request.setName("Asha Rao");
+        request.setAge(32);
+        request.setAnnualIncome(1_500_000);
+        request.setCreditScore(760);
+        request.setMonthlyDebtPayments(10_000);
+        request.setRequestedAmount(500_000);
+        request.setLoanTenure(60);
+        request.setEmploymentType("FULL_TIME");
+        eligibilityRequest = mapper.writeValueAsBytes(request);
+
+        LoanEligibilityService.EligibilityResult result = new LoanEligibilityService.EligibilityResult();
+        result.setEligible(true);
+        result.setReason("Congratulations! You are eligible for a loan");
+        result.setMaxLoanAmount(9_000_000);
+        result.setApprovedAmount(500_000);
+        result.setInterestRate(7.5);
+        result.setMonthlyEmi(10_019.08);
+        eligibilityResponse = new ApiResponses.EligibilityResponse(result.isEligible(), result.getReason(),
+                result.getMaxLoanAmount(), result.getApprovedAmount(), result.getInterestRate(), result.getMonthlyEmi(),
+                System.currentTimeMillis());
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        List<LoanApplication> list = new ArrayList<>();
+        for (int i = 0; i < applications; i++) {
+            LoanApplication application = new LoanApplication();
+            application.setId("65f0c0ffee" + String.format("%014d", i));
+            application.setUserId("user-" + i);
+            application.setName("Applicant " + i);
+            application.setEmail("applicant" + i + "@example.com");
+            application.setPhone("90000" + i);
+            application.setAge(21 + random.nextInt(40));
+            application.setAnnualIncome(300000 + random.nextInt(2000000));
+            application.setCreditScore(300 + random.nextInt(551));
+            application.setRequestedAmount(50000 + random.nextInt(5000000));
+            application.setLoanTenure(12 + random.nextInt(348));
+            application.setEmploymentType("SALARIED");
+            application.setEligible(random.nextBoolean());
+            application.setStatus("PENDING");
+            application.setCreatedAt(start.plusMinutes(random.nextInt(365 * 24 * 60)));
+            application.setUpdatedAt(application.getCreatedAt());
+            list.add(application);
+        }
+        applicationList = new ApiResponses.ApplicationListResponse(true, list, list.size(), System.currentTimeMillis());
+        applicationListBytes = mapper.writeValueAsBytes(applicationList);
+
+        System.out.printf("%n%s bytes: eligibility request %d, eligibility response %d, %d applications %d%n", format,
+                eligibilityRequest.length, mapper.writeValueAsBytes(eligibilityResponse).length, applications,
+                applicationListBytes.length);
+    }
+
+    @Benchmark
+    public LoanController.EligibilityRequestDTO decodeEligibilityRequest() throws IOException {
+        return mapper.readValue(eligibilityRequest, LoanController.EligibilityRequestDTO.class);
+    }
+
+    @Benchmark
+    public int encodeEligibilityResponse() throws IOException {
+        return write(eligibilityResponse);
+    }
+
+    @Benchmark
+    public int encodeApplicationList() throws IOException {
+        return write(applicationList);
+    }
+
+    @Benchmark
+    public ApiResponses.ApplicationListResponse decodeApplicationList() throws IOException {
+        return mapper.readValue(applicationListBytes, ApiResponses.ApplicationListResponse.class);
+    }
+
+    private int write(Object body) throws IOException {
+        out.reset();
+        mapper.writeValue(out, body);
+        return out.size();
+    }
+}
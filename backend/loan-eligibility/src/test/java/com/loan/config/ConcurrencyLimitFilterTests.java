@@ -0,0 +1,71 @@
+package com.loan.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTests {
+
+	private SimpleMeterRegistry registry;
+	private ConcurrencyLimitFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		ConcurrencyLimitProperties.Group group = new ConcurrencyLimitProperties.Group();
+		group.setPaths(List.of("POST /api/save-application", "/api/admin/**"));
+		group.setInitialLimit(1);
+		group.setMinLimit(1);
+		ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+		properties.getGroups().put("submissions", group);
+		properties.setRetryAfterSeconds(2);
+
+		registry = new SimpleMeterRegistry();
+		filter = new ConcurrencyLimitFilter();
+		ReflectionTestUtils.setField(filter, "properties", properties);
+		ReflectionTestUtils.setField(filter, "meterRegistry", registry);
+		ReflectionTestUtils.invokeMethod(filter, "init");
+	}
+
+	// Runs `nested` while the outer request still holds its permit
+	private MockHttpServletResponse whileHoldingAPermit(MockHttpServletRequest nested) throws Exception {
+		AtomicReference<MockHttpServletResponse> inner = new AtomicReference<>();
+		filter.doFilter(new MockHttpServletRequest("POST", "/api/save-application"), new MockHttpServletResponse(),
+				(request, response) -> {
+					assertEquals(1.0, registry.get("http.server.concurrency.inflight").gauge().value());
+					MockHttpServletResponse nestedResponse = new MockHttpServletResponse();
+					filter.doFilter(nested, nestedResponse, (req, res) -> { });
+					inner.set(nestedResponse);
+				});
+		return inner.get();
+	}
+
+	@Test
+	void refusesWithRetryAfterWhenTheGroupIsFull() throws Exception {
+		MockHttpServletResponse refused = whileHoldingAPermit(new MockHttpServletRequest("PUT", "/api/admin/applications/status"));
+		assertEquals(503, refused.getStatus());
+		assertEquals("2", refused.getHeader("Retry-After"));
+		assertTrue(refused.getContentAsString().contains("\"code\":\"OVERLOADED\""));
+		assertEquals(1.0, registry.get("http.server.concurrency.rejected").tag("group", "submissions").counter().count());
+
+		// The permit came back once the outer request finished
+		MockHttpServletResponse later = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("POST", "/api/save-application"), later, (req, res) -> { });
+		assertEquals(200, later.getStatus());
+		assertEquals(0.0, registry.get("http.server.concurrency.inflight").gauge().value());
+	}
+
+	@Test
+	void otherMethodsAndPathsAreNotLimited() throws Exception {
+		assertEquals(200, whileHoldingAPermit(new MockHttpServletRequest("GET", "/api/save-application")).getStatus());
+		assertEquals(200, whileHoldingAPermit(new MockHttpServletRequest("POST", "/api/check-eligibility")).getStatus());
+		assertEquals(0.0, registry.get("http.server.concurrency.rejected").counter().count());
+	}
+}
@@ -0,0 +1,116 @@
+package com.loan.config;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationTests {
+
+	private static final String SECRET = "mySecretKey123456789012345678901234567890123456789012345678901234567890";
+
+	private static JwtUtil jwtUtil(long expirationMs) {
+		JwtProperties properties = new JwtProperties();
+		properties.setSecret(SECRET);
+		properties.setExpiration(expirationMs);
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "jwtProperties", properties);
+		ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCacheSize", 100);
+		jwtUtil.init();
+		return jwtUtil;
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void verifiesTokensItIssuedAndCachesThem() {
+		JwtUtil jwtUtil = jwtUtil(60000);
+		String token = jwtUtil.generateToken("asha@example.com");
+
+		JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
+		assertEquals("asha@example.com", verified.getSubject());
+		assertTrue(verified.getExpiresAtMillis() > System.currentTimeMillis());
+		assertSame(verified, jwtUtil.verify(token));
+		assertEquals("asha@example.com", jwtUtil.extractUsername(token));
+	}
+
+	@Test
+	void rejectsTamperedForeignAndExpiredTokens() {
+		JwtUtil jwtUtil = jwtUtil(60000);
+		String token = jwtUtil.generateToken("asha@example.com");
+
+		assertThrows(JwtException.class, () -> jwtUtil.verify(token.substring(0, token.length() - 2) + "xx"));
+		String foreign = Jwts.builder().subject("asha@example.com").expiration(new Date(System.currentTimeMillis() + 60000))
+				.signWith(Keys.hmacShaKeyFor("another-secret-another-secret-another-secret-1234".getBytes())).compact();
+		assertThrows(JwtException.class, () -> jwtUtil.verify(foreign));
+		assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(jwtUtil(-1000).generateToken("asha@example.com")));
+		assertThrows(IllegalArgumentException.class, () -> jwtUtil.verify(""));
+	}
+
+	@Test
+	void cacheIsBoundedAndForgetsExpiredTokens() {
+		AtomicLong now = new AtomicLong(1000);
+		VerifiedTokenCache cache = new VerifiedTokenCache(2, now::get);
+		cache.put("a", new JwtUtil.VerifiedToken("a", 5000));
+		cache.put("b", new JwtUtil.VerifiedToken("b", 2000));
+		assertNotNull(cache.get("a"));
+		cache.put("c", new JwtUtil.VerifiedToken("c", 5000));
+
+		// "b" was least recently used
+		assertEquals(2, cache.size());
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("c"));
+
+		now.set(5000);
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void filterAuthenticatesBearerTokensAndRejectsBadOnes() throws Exception {
+		JwtUtil jwtUtil = jwtUtil(60000);
+		JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil);
+		AtomicReference<Object> principal = new AtomicReference<>();
+		MockFilterChain chain = new MockFilterChain() {
+			@Override
+			public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+				principal.set(SecurityContextHolder.getContext().getAuthentication() == null
+						? null : SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+			}
+		};
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/stats");
+		request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken("asha@example.com"));
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+		assertEquals("asha@example.com", principal.get());
+		assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/health"), new MockHttpServletResponse(), chain);
+		assertNull(principal.get());
+
+		MockHttpServletRequest bad = new MockHttpServletRequest("GET", "/api/health");
+		bad.addHeader("Authorization", "Bearer not-a-token");
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		principal.set("unchanged");
+		filter.doFilter(bad, rejected, chain);
+		assertEquals(401, rejected.getStatus());
+		assertTrue(rejected.getContentAsString().contains("INVALID_TOKEN"));
+		assertEquals("unchanged", principal.get());
+	}
+}
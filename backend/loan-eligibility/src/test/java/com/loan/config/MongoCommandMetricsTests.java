@@ -0,0 +1,110 @@
+package com.loan.config;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoCommandMetricsTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final MongoCommandMetrics metrics = new MongoCommandMetrics(registry, 100, 2);
+	private final ConnectionDescription connection = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+	private void run(int requestId, String commandName, String command, String response, long elapsedMs) {
+		metrics.commandStarted(new CommandStartedEvent(null, 1, requestId, connection, "eligibilitycheck",
+				commandName, BsonDocument.parse(command)));
+		metrics.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, connection, "eligibilitycheck",
+				commandName, BsonDocument.parse(response), TimeUnit.MILLISECONDS.toNanos(elapsedMs)));
+	}
+
+	@Test
+	void recordsLatencyDocumentsAndBytesPerRepositoryMethod() {
+		MongoCommandMetrics.CURRENT_METHOD.set("UserRepository.findByEmail");
+		try {
+			run(1, "find", "{find: 'users', filter: {email: 'asha@example.com'}}",
+					"{cursor: {firstBatch: [{_id: 1}, {_id: 2}], id: 0, ns: 'eligibilitycheck.users'}, ok: 1}", 3);
+		} finally {
+			MongoCommandMetrics.CURRENT_METHOD.remove();
+		}
+		run(2, "update", "{update: 'users', updates: [{q: {_id: 1}, u: {name: 'x'}}]}", "{n: 1, ok: 1}", 2);
+
+		Timer find = registry.get("mongo.command").tags("collection", "users", "command", "find",
+				"method", "UserRepository.findByEmail", "outcome", "success").timer();
+		assertEquals(1, find.count());
+		assertEquals(3, find.totalTime(TimeUnit.MILLISECONDS), 0.001);
+		DistributionSummary documents = registry.get("mongo.command.documents").tags("method", "UserRepository.findByEmail").summary();
+		assertEquals(2, documents.totalAmount());
+		assertTrue(registry.get("mongo.command.bytes").tags("method", "UserRepository.findByEmail").summary().totalAmount() > 0);
+
+		// Not issued from a repository method
+		assertEquals(1, registry.get("mongo.command.documents").tags("command", "update", "method", "none").summary().totalAmount());
+	}
+
+	@Test
+	void slowCommandsAreCountedWithTheirFilterShape() {
+		run(1, "find", "{find: 'loan_applications', filter: {credit_score: {$gte: 700, $lte: 800}, status: {$in: ['A', 'B']}}}",
+				"{cursor: {firstBatch: [], id: 0}, ok: 1}", 250);
+		run(2, "find", "{find: 'loan_applications', filter: {email: 'x'}}", "{cursor: {firstBatch: [], id: 0}, ok: 1}", 5);
+
+		assertEquals(1, registry.get("mongo.command.slow").tags("collection", "loan_applications").counter().count());
+		List<MongoCommandMetrics.SlowQuery> slow = metrics.recentSlowQueries();
+		assertEquals(1, slow.size());
+		assertEquals(250, slow.get(0).getDurationMs());
+		assertEquals("{\"credit_score\": {\"$gte\": \"?\", \"$lte\": \"?\"}, \"status\": {\"$in\": [\"?\"]}}",
+				slow.get(0).getFilterShape());
+	}
+
+	@Test
+	void slowHistoryIsBoundedAndNewestFirst() {
+		for (int i = 1; i <= 3; i++) {
+			run(i, "aggregate", "{aggregate: 'loan_applications', pipeline: [{$match: {status: 'S" + i + "'}}, {$group: {_id: '$status'}}]}",
+					"{cursor: {firstBatch: [], id: 0}, ok: 1}", 100 + i);
+		}
+		List<MongoCommandMetrics.SlowQuery> slow = metrics.recentSlowQueries();
+		assertEquals(List.of(103L, 102L), slow.stream().map(MongoCommandMetrics.SlowQuery::getDurationMs).toList());
+		assertEquals("{\"pipeline\": [{\"$match\": {\"status\": \"?\"}}, {\"$group\": {\"_id\": \"?\"}}]}", slow.get(0).getFilterShape());
+	}
+
+	@Test
+	void failuresAndHandshakeCommands() {
+		metrics.commandStarted(new CommandStartedEvent(null, 1, 1, connection, "admin", "hello", BsonDocument.parse("{hello: 1}")));
+		metrics.commandStarted(new CommandStartedEvent(null, 1, 2, connection, "eligibilitycheck", "insert",
+				BsonDocument.parse("{insert: 'users', documents: [{_id: 1}]}")));
+		metrics.commandFailed(new CommandFailedEvent(null, 1, 2, connection, "eligibilitycheck", "insert",
+				TimeUnit.MILLISECONDS.toNanos(4), new IllegalStateException("duplicate key")));
+
+		assertEquals(1, registry.get("mongo.command").tags("command", "insert", "outcome", "failure").timer().count());
+		assertNull(registry.find("mongo.command").tags("command", "hello").timer());
+	}
+
+	@Test
+	void reactiveRepositoryMethodsCarryTheirNameInTheReactorContext() throws Throwable {
+		MongoMetricsConfig.RepositoryMethodTagger tagger = new MongoMetricsConfig.RepositoryMethodTagger("ReactiveUserRepository");
+		MethodInvocation invocation = mock(MethodInvocation.class);
+		when(invocation.getMethod()).thenReturn(Object.class.getMethod("toString"));
+		when(invocation.proceed()).thenReturn(Mono.deferContextual(context -> Mono.just(
+				new MongoMetricsConfig.MethodRequestContext(context).<String>get(MongoCommandMetrics.METHOD_KEY))));
+
+		Mono<?> tagged = (Mono<?>) tagger.invoke(invocation);
+		assertEquals("ReactiveUserRepository.toString", tagged.block());
+		assertNull(MongoCommandMetrics.CURRENT_METHOD.get());
+	}
+}
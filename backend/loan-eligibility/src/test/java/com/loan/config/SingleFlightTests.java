@@ -0,0 +1,115 @@
+package com.loan.config;
+
+import com.loan.service.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTests {
+
+	public static class Stats {
+		final AtomicInteger executions = new AtomicInteger();
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		@SingleFlight
+		public List<String> load(String filter) throws InterruptedException {
+			executions.incrementAndGet();
+			entered.countDown();
+			release.await();
+			if ("fail".equals(filter)) {
+				throw new IllegalStateException("read failed");
+			}
+			return List.of(filter + "-" + executions.get());
+		}
+
+		public int plain() {
+			return executions.incrementAndGet();
+		}
+	}
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	private Stats proxy(Stats target, MockEnvironment environment) {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("registry", registry);
+		BeanPostProcessor processor = SingleFlightConfig.singleFlightProxies(environment, beanFactory.getBeanProvider(MeterRegistry.class));
+		return (Stats) processor.postProcessAfterInitialization(target, "stats");
+	}
+
+	// The latches live on the target; the proxy is a subclass with its own, unset, fields
+	private List<Future<Object>> callConcurrently(ExecutorService pool, Stats target, Stats stats, String filter, int callers) throws Exception {
+		List<Future<Object>> results = new ArrayList<>();
+		results.add(pool.submit(() -> stats.load(filter)));
+		assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+		for (int i = 1; i < callers; i++) {
+			results.add(pool.submit(() -> stats.load(filter)));
+		}
+		// Followers register with the in-flight call before the leader is released
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (registry.find("single.flight.coalesced").counter() == null
+				|| registry.get("single.flight.coalesced").counter().count() < callers - 1) {
+			assertTrue(System.nanoTime() < deadline, "followers did not join");
+			Thread.sleep(5);
+		}
+		return results;
+	}
+
+	@Test
+	void concurrentIdenticalCallsShareOneExecution() throws Exception {
+		Stats target = new Stats();
+		Stats stats = proxy(target, new MockEnvironment());
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+
+		List<Future<Object>> results = callConcurrently(pool, target, stats, "all", 8);
+		target.release.countDown();
+		for (Future<Object> result : results) {
+			assertEquals(List.of("all-1"), result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, target.executions.get());
+		assertEquals(1, registry.get("single.flight.executions").tag("method", "Stats.load").counter().count());
+		assertEquals(7, registry.get("single.flight.coalesced").tag("method", "Stats.load").counter().count());
+
+		// Nothing is kept once the call completes
+		assertEquals(List.of("other-2"), stats.load("other"));
+		assertEquals(3, stats.plain());
+		pool.shutdown();
+	}
+
+	@Test
+	void followersReceiveTheLeadersException() throws Exception {
+		Stats target = new Stats();
+		Stats stats = proxy(target, new MockEnvironment());
+		ExecutorService pool = Executors.newFixedThreadPool(3);
+
+		List<Future<Object>> results = callConcurrently(pool, target, stats, "fail", 3);
+		target.release.countDown();
+		for (Future<Object> result : results) {
+			Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+			assertInstanceOf(IllegalStateException.class, e.getCause());
+		}
+		assertEquals(1, target.executions.get());
+		pool.shutdown();
+	}
+
+	@Test
+	void canBeTurnedOffPerMethod() {
+		Stats target = new Stats();
+		Stats stats = proxy(target, new MockEnvironment().withProperty("single-flight.methods.Stats.load.enabled", "false"));
+		assertSame(target, stats);
+	}
+}
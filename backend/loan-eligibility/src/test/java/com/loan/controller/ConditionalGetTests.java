@@ -0,0 +1,32 @@
+package com.loan.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalGetTests {
+
+	@Test
+	void matchesAnyListedTagWithWeakComparison() {
+		String etag = ConditionalGet.etag("stats", 0xabcL);
+		assertEquals("\"stats-abc\"", etag);
+
+		assertTrue(ConditionalGet.matches("\"stats-abc\"", etag));
+		assertTrue(ConditionalGet.matches("\"stats-1\", W/\"stats-abc\"", etag));
+		assertTrue(ConditionalGet.matches("*", etag));
+		assertFalse(ConditionalGet.matches(null, etag));
+		assertFalse(ConditionalGet.matches("\"stats-abd\"", etag));
+		assertFalse(ConditionalGet.matches("stats-abc", etag));
+	}
+
+	@Test
+	void notModifiedCarriesTheTagAndNoBody() {
+		ResponseEntity<Object> response = ConditionalGet.notModified("\"stats-abc\"");
+		assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+		assertEquals("\"stats-abc\"", response.getHeaders().getETag());
+		assertEquals("no-cache", response.getHeaders().getCacheControl());
+		assertNull(response.getBody());
+	}
+}
@@ -0,0 +1,88 @@
+package com.loan.eligibility;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Content negotiation between JSON (the default), CBOR and Smile on the eligibility endpoints
+@SpringBootTest(properties = "grpc.server.port=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class BinaryFormatsTests {
+
+	private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	@TempDir
+	static Path directory;
+
+	@DynamicPropertySource
+	static void storage(DynamicPropertyRegistry registry) {
+		registry.add("embedded.storage.directory", directory::toString);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+	private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+
+	private static Map<String, Object> eligibilityBody(int age) {
+		return Map.of("name", "Asha Rao", "age", age, "annualIncome", 1_500_000, "creditScore", 760,
+				"monthlyDebtPayments", 10_000, "requestedAmount", 500_000, "loanTenure", 60, "employmentType", "FULL_TIME");
+	}
+
+	@Test
+	void cborAndSmileInAndOut() throws Exception {
+		for (Map.Entry<MediaType, ObjectMapper> format : Map.of(CBOR, cbor, SMILE, smile).entrySet()) {
+			MvcResult result = mockMvc.perform(post("/api/check-eligibility").contentType(format.getKey())
+							.accept(format.getKey()).content(format.getValue().writeValueAsBytes(eligibilityBody(32))))
+					.andExpect(status().isOk())
+					.andExpect(content().contentType(format.getKey()))
+					.andReturn();
+			JsonNode response = format.getValue().readTree(result.getResponse().getContentAsByteArray());
+			assertTrue(response.get("eligible").asBoolean());
+			assertEquals(500_000, response.get("approvedAmount").asDouble());
+		}
+	}
+
+	@Test
+	void jsonStaysTheDefault() throws Exception {
+		mockMvc.perform(post("/api/check-eligibility").contentType(CBOR).accept(MediaType.ALL)
+						.content(cbor.writeValueAsBytes(eligibilityBody(32))))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.eligible").value(true));
+	}
+
+	@Test
+	void validationErrorsFollowTheNegotiatedFormat() throws Exception {
+		MvcResult result = mockMvc.perform(post("/api/check-eligibility").contentType(CBOR).accept(CBOR)
+						.content(cbor.writeValueAsBytes(eligibilityBody(12))))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().contentType(CBOR))
+				.andReturn();
+		assertFalse(cbor.readTree(result.getResponse().getContentAsByteArray()).isEmpty());
+	}
+}
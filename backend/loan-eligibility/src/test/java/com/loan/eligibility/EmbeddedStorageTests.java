@@ -0,0 +1,190 @@
+package com.loan.eligibility;
+
+import com.loan.entity.LoanApplication;
+import com.loan.entity.User;
+import com.loan.repository.embedded.EmbeddedCollection;
+import com.loan.repository.embedded.EmbeddedLoanApplicationRepository;
+import com.loan.repository.embedded.EmbeddedUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddedStorageTests {
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedCollection<LoanApplication> applications(int compactionMinBytes) throws IOException {
+		return new EmbeddedCollection<>("loan_applications", LoanApplication.class,
+				LoanApplication::getId, LoanApplication::setId,
+				directory.resolve("loan_applications.log"), 4096, false, 0.5, compactionMinBytes);
+	}
+
+	private static LoanApplication application(String email, String status, LocalDateTime createdAt) {
+		LoanApplication application = new LoanApplication();
+		application.setEmail(email);
+		application.setUserId("user-" + email);
+		application.setStatus(status);
+		application.setCreditScore(720);
+		application.setRequestedAmount(250000);
+		application.setCreatedAt(createdAt);
+		return application;
+	}
+
+	@Test
+	void indexedFindersReturnNewestFirstAndTrackUpdates() throws IOException {
+		try (EmbeddedCollection<LoanApplication> collection = applications(Integer.MAX_VALUE)) {
+			EmbeddedLoanApplicationRepository repository = new EmbeddedLoanApplicationRepository(collection);
+			LocalDateTime now = LocalDateTime.now();
+			repository.save(application("a@x.com", "PENDING", now.minusDays(2)));
+			LoanApplication newest = repository.save(application("a@x.com", "PENDING", now));
+			repository.save(application("b@x.com", "PENDING", now.minusDays(1)));
+
+			List<LoanApplication> byEmail = repository.findByEmailOrderByCreatedAtDesc("a@x.com");
+			assertEquals(2, byEmail.size());
+			assertEquals(newest.getId(), byEmail.get(0).getId());
+			assertEquals(2, repository.findRecentApplications(now.minusDays(1)).size());
+
+			// Mutating a returned copy must not affect the index until it is saved
+			LoanApplication approved = byEmail.get(0);
+			approved.setStatus("APPROVED");
+			assertEquals(3, repository.countByStatus("PENDING"));
+			repository.save(approved);
+			assertEquals(2, repository.countByStatus("PENDING"));
+			assertEquals(1, repository.findByStatusOrderByCreatedAtDesc("APPROVED").size());
+		}
+	}
+
+	@Test
+	void recoversCommittedRecordsAndDiscardsTornTail() throws IOException {
+		String id;
+		long committedSize;
+		try (EmbeddedCollection<LoanApplication> collection = applications(Integer.MAX_VALUE)) {
+			EmbeddedLoanApplicationRepository repository = new EmbeddedLoanApplicationRepository(collection);
+			id = repository.save(application("a@x.com", "PENDING", LocalDateTime.now())).getId();
+			repository.save(application("b@x.com", "PENDING", LocalDateTime.now()));
+			repository.deleteById(id);
+			committedSize = collection.logSize();
+		}
+
+		// Simulate a crash half-way through the next append
+		try (RandomAccessFile file = new RandomAccessFile(directory.resolve("loan_applications.log").toFile(), "rw")) {
+			file.seek(committedSize);
+			file.writeInt(500);
+			file.writeInt(0xCAFE);
+			file.write(new byte[] {1, 0, 3, 'a', 'b'});
+		}
+
+		try (EmbeddedCollection<LoanApplication> collection = applications(Integer.MAX_VALUE)) {
+			EmbeddedLoanApplicationRepository repository = new EmbeddedLoanApplicationRepository(collection);
+			assertEquals(committedSize, collection.logSize());
+			assertEquals(1, repository.count());
+			assertFalse(repository.existsById(id));
+			assertEquals(1, repository.findByEmailOrderByCreatedAtDesc("b@x.com").size());
+
+			repository.save(application("c@x.com", "PENDING", LocalDateTime.now()));
+		}
+
+		try (EmbeddedCollection<LoanApplication> collection = applications(Integer.MAX_VALUE)) {
+			assertEquals(2, collection.count());
+		}
+	}
+
+	@Test
+	void compactionDropsSupersededRecords() throws IOException {
+		try (EmbeddedCollection<LoanApplication> collection = applications(16 * 1024)) {
+			EmbeddedLoanApplicationRepository repository = new EmbeddedLoanApplicationRepository(collection);
+			LoanApplication application = repository.save(application("a@x.com", "PENDING", LocalDateTime.now()));
+			for (int i = 0; i < 500; i++) {
+				application.setRequestedAmount(1000 + i);
+				repository.save(application);
+			}
+			assertTrue(collection.logSize() < 16 * 1024);
+			assertEquals(1499, repository.findById(application.getId()).orElseThrow().getRequestedAmount());
+		}
+
+		try (EmbeddedCollection<LoanApplication> collection = applications(16 * 1024)) {
+			assertEquals(1, collection.count());
+		}
+	}
+
+	@Test
+	void userEmailIsUnique() throws IOException {
+		try (EmbeddedCollection<User> collection = new EmbeddedCollection<>("users", User.class, User::getId, User::setId,
+				directory.resolve("users.log"), 4096, false, 0.5, Integer.MAX_VALUE)) {
+			EmbeddedUserRepository repository = new EmbeddedUserRepository(collection);
+			User first = repository.save(new User("Asha", "asha@x.com", "9000000001"));
+
+			DuplicateKeyException duplicate = assertThrows(DuplicateKeyException.class,
+					() -> repository.save(new User("Other", "asha@x.com", "9000000002")));
+			assertTrue(duplicate.getMessage().contains("E11000"));
+			assertEquals(1, repository.count());
+			assertEquals(first.getId(), repository.findByEmail("asha@x.com").orElseThrow().getId());
+		}
+	}
+
+	private static User probe(String email, String phone) {
+		User probe = new User();
+		probe.setEmail(email);
+		probe.setPhone(phone);
+		return probe;
+	}
+
+	public interface NameOnly {
+		String getName();
+	}
+
+	@Test
+	void queryByExampleMatchesLikeMongo() throws IOException {
+		try (EmbeddedCollection<User> collection = new EmbeddedCollection<>("users", User.class, User::getId, User::setId,
+				directory.resolve("users.log"), 4096, false, 0.5, Integer.MAX_VALUE)) {
+			EmbeddedUserRepository repository = new EmbeddedUserRepository(collection);
+			User asha = new User("Asha Rao", "asha@x.com", "9000000001");
+			asha.setCity("Pune");
+			repository.save(asha);
+			User neha = new User("Neha Rao", "neha@x.com", "9000000002");
+			neha.setCity("Pune");
+			repository.save(neha);
+			repository.save(new User("Ravi Kumar", "ravi@x.com", "9000000003"));
+
+			User inPune = new User();
+			inPune.setCity("Pune");
+			assertEquals(2, repository.count(Example.of(inPune)));
+			assertEquals(List.of("Neha Rao", "Asha Rao"), repository.findAll(Example.of(inPune), Sort.by(Sort.Direction.DESC, "name"))
+					.stream().map(User::getName).toList());
+
+			// Probes are built with setters: the User constructors stamp createdAt, which would be matched too
+			User named = new User();
+			named.setName("rao");
+			ExampleMatcher containsIgnoringCase = ExampleMatcher.matching()
+					.withMatcher("name", ExampleMatcher.GenericPropertyMatchers.contains().ignoreCase());
+			assertEquals(2, repository.findAll(Example.of(named, containsIgnoringCase)).size());
+			assertEquals(1, repository.findAll(Example.of(named, containsIgnoringCase), PageRequest.of(1, 1)).getContent().size());
+
+			User exactEmail = probe("ravi@x.com", null);
+			assertEquals("Ravi Kumar", repository.findOne(Example.of(exactEmail)).orElseThrow().getName());
+			assertFalse(repository.exists(Example.of(probe("nobody@x.com", null))));
+			// Any of the properties rather than all of them
+			User either = probe("ravi@x.com", "9000000001");
+			assertEquals(2, repository.count(Example.of(either, ExampleMatcher.matchingAny())));
+
+			assertEquals(List.of("Asha Rao", "Neha Rao"), repository.findBy(Example.of(inPune),
+					query -> query.sortBy(Sort.by("name")).as(NameOnly.class).all()).stream().map(NameOnly::getName).toList());
+			User projected = repository.findBy(Example.of(exactEmail), query -> query.project("name").oneValue());
+			assertEquals("Ravi Kumar", projected.getName());
+			assertNull(projected.getEmail());
+		}
+	}
+}
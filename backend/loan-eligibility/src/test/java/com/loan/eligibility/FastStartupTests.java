@@ -0,0 +1,94 @@
+package com.loan.eligibility;
+
+import com.loan.controller.AuthController;
+import com.loan.controller.LoanController;
+import com.loan.service.ApplicationRangeIndex;
+import com.loan.service.LoanApplicationService;
+import com.loan.service.PasswordHashingService;
+import com.loan.service.UserImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The "fast-startup" profile on the embedded store: only the eligibility path is built during startup
+@SpringBootTest(properties = "grpc.server.port=0")
+@AutoConfigureMockMvc
+@ActiveProfiles({"embedded", "fast-startup"})
+class FastStartupTests {
+
+	@TempDir
+	static Path directory;
+
+	@DynamicPropertySource
+	static void storage(DynamicPropertyRegistry registry) {
+		registry.add("embedded.storage.directory", directory::toString);
+	}
+
+	@Autowired
+	private ConfigurableListableBeanFactory beanFactory;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void buildsTheEligibilityPathAndDefersTheRest() {
+		assertTrue(beanFactory.containsSingleton(beanName(LoanController.class)));
+		assertFalse(beanFactory.containsSingleton(beanName(AuthController.class)));
+		assertFalse(beanFactory.containsSingleton(beanName(UserImportService.class)));
+		assertFalse(beanFactory.containsSingleton(beanName(PasswordHashingService.class)));
+
+		LoanApplicationService service = beanFactory.getBean(LoanApplicationService.class);
+		assertTrue(AopUtils.isAopProxy(ReflectionTestUtils.getField(service, "loanApplicationRepository")));
+		assertTrue(AopUtils.isAopProxy(ReflectionTestUtils.getField(service, "userRepository")));
+	}
+
+	// Built on a background thread once the application is ready; its full read must fall back to the main
+	// repository, as there is no admin one on the embedded store
+	@Test
+	void buildsTheRangeIndex() throws InterruptedException {
+		ApplicationRangeIndex rangeIndex = beanFactory.getBean(ApplicationRangeIndex.class);
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!rangeIndex.isReady() && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		assertTrue(rangeIndex.isReady());
+	}
+
+	@Test
+	void servesEligibilityChecksAndSubmissions() throws Exception {
+		mockMvc.perform(post("/api/check-eligibility").contentType(MediaType.APPLICATION_JSON).content("""
+				{"name":"Asha Rao","age":32,"annualIncome":1500000,"creditScore":760,"monthlyDebtPayments":10000,
+				 "requestedAmount":500000,"loanTenure":60,"employmentType":"FULL_TIME"}"""))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.eligible").value(true));
+
+		mockMvc.perform(post("/api/check-eligibility-and-save").contentType(MediaType.APPLICATION_JSON).content("""
+				{"name":"Asha Rao","email":"asha@example.com","phone":"9876543210","age":32,"annualIncome":1500000,
+				 "creditScore":760,"monthlyDebtPayments":10000,"requestedAmount":500000,"loanTenure":60,
+				 "employmentType":"FULL_TIME"}"""))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.applicationId").isNotEmpty());
+	}
+
+	private String beanName(Class<?> type) {
+		return beanFactory.getBeanNamesForType(type, true, false)[0];
+	}
+}
@@ -0,0 +1,413 @@
+package com.loan.eligibility;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.loan.entity.IdempotencyRecord;
+import com.loan.entity.LoanApplication;
+import com.loan.entity.User;
+import com.loan.repository.reactive.ReactiveIdempotencyRecordRepository;
+import com.loan.repository.reactive.ReactiveLoanApplicationRepository;
+import com.loan.repository.reactive.ReactiveUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The "reactive" profile's /api/** routes, with the reactive repositories mocked so no MongoDB server is needed
+@SpringBootTest(properties = "grpc.server.port=0")
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+class ReactiveApiTests {
+
+	@Autowired
+	private WebTestClient client;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@MockitoBean
+	private ReactiveLoanApplicationRepository applicationRepository;
+
+	@MockitoBean
+	private ReactiveUserRepository userRepository;
+
+	@MockitoBean
+	private ReactiveIdempotencyRecordRepository idempotencyRecordRepository;
+
+	private final Map<String, IdempotencyRecord> idempotencyRecords = new ConcurrentHashMap<>();
+
+	private LoanApplication first;
+	private LoanApplication second;
+
+	@BeforeEach
+	void setUp() {
+		first = application("app-1", "APPROVED", 500000);
+		second = application("app-2", "PENDING", 250000);
+		when(applicationRepository.save(any(LoanApplication.class))).thenAnswer(invocation -> {
+			LoanApplication saved = invocation.getArgument(0);
+			if (saved.getId() == null) {
+				saved.setId("app-new");
+			}
+			return Mono.just(saved);
+		});
+		when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+			User saved = invocation.getArgument(0);
+			if (saved.getId() == null) {
+				saved.setId("user-new");
+			}
+			return Mono.just(saved);
+		});
+		when(userRepository.findByEmail(any())).thenReturn(Mono.empty());
+
+		// A map standing in for the idempotency_keys collection, with its unique _id
+		idempotencyRecords.clear();
+		when(idempotencyRecordRepository.insert(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+			IdempotencyRecord record = invocation.getArgument(0);
+			if (record.getCreatedAt() == null) {
+				record.setCreatedAt(LocalDateTime.now());
+			}
+			return idempotencyRecords.putIfAbsent(record.getId(), record) == null
+					? Mono.just(record)
+					: Mono.error(new DuplicateKeyException(record.getId()));
+		});
+		when(idempotencyRecordRepository.completeByIdAndClaimToken(anyString(), any(), anyInt(), any())).thenAnswer(invocation -> {
+			IdempotencyRecord record = idempotencyRecords.get(invocation.<String>getArgument(0));
+			if (record == null || !Objects.equals(record.getClaimToken(), invocation.getArgument(1))) {
+				return Mono.just(0L);
+			}
+			record.setStatus("COMPLETED");
+			record.setHttpStatus(invocation.getArgument(2));
+			record.setResponseBody(invocation.getArgument(3));
+			record.setLeaseExpiresAt(null);
+			return Mono.just(1L);
+		});
+		when(idempotencyRecordRepository.findById(anyString()))
+				.thenAnswer(invocation -> Mono.justOrEmpty(idempotencyRecords.get(invocation.<String>getArgument(0))));
+		when(idempotencyRecordRepository.deleteByIdAndClaimToken(anyString(), any())).thenAnswer(invocation -> {
+			IdempotencyRecord record = idempotencyRecords.get(invocation.<String>getArgument(0));
+			boolean removed = record != null && Objects.equals(record.getClaimToken(), invocation.getArgument(1))
+					&& idempotencyRecords.remove(record.getId(), record);
+			return Mono.just(removed ? 1L : 0L);
+		});
+	}
+
+	private static LoanApplication application(String id, String status, double approvedAmount) {
+		LoanApplication application = new LoanApplication();
+		application.setId(id);
+		application.setEmail("asha@example.com");
+		application.setStatus(status);
+		application.setCreditScore(760);
+		application.setRequestedAmount(500000);
+		application.setApprovedAmount(approvedAmount);
+		application.setCreatedAt(LocalDateTime.now());
+		return application;
+	}
+
+	private static Map<String, Object> applicationBody() {
+		Map<String, Object> body = new HashMap<>();
+		body.put("name", "Asha Rao");
+		body.put("email", "asha@example.com");
+		body.put("phone", "9876543210");
+		body.put("age", 32);
+		body.put("annualIncome", 1500000);
+		body.put("creditScore", 760);
+		body.put("monthlyDebtPayments", 10000);
+		body.put("requestedAmount", 500000);
+		body.put("loanTenure", 60);
+		body.put("employmentType", "SALARIED");
+		body.put("loanPurpose", "HOME");
+		return body;
+	}
+
+	@Test
+	void healthEndpoints() {
+		client.get().uri("/api/health").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.status").isEqualTo("UP");
+		client.get().uri("/api/auth/health").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.status").isEqualTo("OK");
+	}
+
+	@Test
+	void checkEligibilityValidatesAndScores() {
+		client.post().uri("/api/check-eligibility").bodyValue(applicationBody()).exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.eligible").isEqualTo(true)
+				.jsonPath("$.interestRate").exists();
+
+		Map<String, Object> invalid = applicationBody();
+		invalid.put("creditScore", 100);
+		client.post().uri("/api/check-eligibility").bodyValue(invalid).exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.success").isEqualTo(false)
+				.jsonPath("$.validationErrors.creditScore").exists();
+	}
+
+	@Test
+	void checkEligibilityNegotiatesCborAndSmile() throws Exception {
+		for (Map.Entry<MediaType, ObjectMapper> format : Map.of(MediaType.APPLICATION_CBOR, new ObjectMapper(new CBORFactory()),
+				MediaType.parseMediaType("application/x-jackson-smile"), new ObjectMapper(new SmileFactory())).entrySet()) {
+			byte[] response = client.post().uri("/api/check-eligibility").contentType(format.getKey()).accept(format.getKey())
+					.bodyValue(format.getValue().writeValueAsBytes(applicationBody())).exchange()
+					.expectStatus().isOk()
+					.expectHeader().contentType(format.getKey())
+					.expectBody(byte[].class).returnResult().getResponseBody();
+			assertTrue(format.getValue().readTree(response).get("eligible").asBoolean());
+		}
+	}
+
+	@Test
+	void saveApplicationAndCheckEligibilityAndSave() {
+		client.post().uri("/api/save-application").bodyValue(applicationBody()).exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.success").isEqualTo(true)
+				.jsonPath("$.applicationId").isEqualTo("app-new")
+				.jsonPath("$.status").isEqualTo("PENDING");
+
+		client.post().uri("/api/check-eligibility-and-save").bodyValue(applicationBody()).exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.eligible").isEqualTo(true)
+				.jsonPath("$.applicationId").isEqualTo("app-new")
+				.jsonPath("$.applicationStatus").isEqualTo("PENDING");
+	}
+
+	@Test
+	void submissionsHonourIdempotencyKey() {
+		client.post().uri("/api/save-application").header("Idempotency-Key", "retry-1").bodyValue(applicationBody()).exchange()
+				.expectStatus().isOk()
+				.expectHeader().doesNotExist("Idempotent-Replayed")
+				.expectBody().jsonPath("$.applicationId").isEqualTo("app-new");
+
+		client.post().uri("/api/save-application").header("Idempotency-Key", "retry-1").bodyValue(applicationBody()).exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals("Idempotent-Replayed", "true")
+				.expectBody().jsonPath("$.applicationId").isEqualTo("app-new");
+		verify(applicationRepository, times(1)).save(any(LoanApplication.class));
+
+		Map<String, Object> different = applicationBody();
+		different.put("requestedAmount", 600000);
+		client.post().uri("/api/save-application").header("Idempotency-Key", "retry-1").bodyValue(different).exchange()
+				.expectStatus().isEqualTo(422)
+				.expectBody().jsonPath("$.code").isEqualTo("IDEMPOTENCY_KEY_REUSED");
+	}
+
+	@Test
+	void getApplicationsNegotiatesJsonAndNdjson() {
+		when(applicationRepository.findByEmailOrderByCreatedAtDesc("asha@example.com")).thenReturn(Flux.just(first, second));
+
+		client.get().uri("/api/get-applications?email=asha@example.com").accept(MediaType.APPLICATION_JSON).exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+				.expectBody()
+				.jsonPath("$.count").isEqualTo(2)
+				.jsonPath("$.applications[0].id").isEqualTo("app-1");
+
+		List<LoanApplication> streamed = client.get().uri("/api/get-applications?email=asha@example.com")
+				.accept(MediaType.APPLICATION_NDJSON).exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.returnResult(LoanApplication.class).getResponseBody().collectList().block();
+		assertEquals(List.of("app-1", "app-2"), streamed.stream().map(LoanApplication::getId).toList());
+
+		client.get().uri("/api/get-applications").exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.success").isEqualTo(false)
+				.jsonPath("$.error").isEqualTo("Missing required parameter")
+				.jsonPath("$.parameterName").isEqualTo("email");
+	}
+
+	@Test
+	void adminApplicationsNegotiatesJsonAndNdjson() {
+		when(applicationRepository.findAllByOrderByCreatedAtDesc()).thenReturn(Flux.just(first, second));
+
+		client.get().uri("/api/admin/applications").exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+				.expectBody().jsonPath("$.count").isEqualTo(2);
+
+		String ndjson = client.get().uri("/api/admin/applications").accept(MediaType.APPLICATION_NDJSON).exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.expectBody(String.class).returnResult().getResponseBody();
+		String[] lines = ndjson.trim().split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[1].contains("\"app-2\""));
+	}
+
+	@Test
+	void getApplicationById() {
+		when(applicationRepository.findById("app-1")).thenReturn(Mono.just(first));
+		when(applicationRepository.findById("missing")).thenReturn(Mono.empty());
+
+		client.get().uri("/api/application/app-1").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.application.id").isEqualTo("app-1");
+		client.get().uri("/api/application/missing").exchange()
+				.expectStatus().isNotFound()
+				.expectBody().jsonPath("$.error").isEqualTo("Application not found");
+	}
+
+	@Test
+	void updateApplicationStatus() {
+		when(applicationRepository.findById("app-2")).thenReturn(Mono.just(second));
+		when(applicationRepository.findById("missing")).thenReturn(Mono.empty());
+
+		client.put().uri("/api/admin/application/app-2/status").bodyValue(Map.of("status", "approved")).exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.application.status").isEqualTo("APPROVED");
+		client.put().uri("/api/admin/application/app-2/status").bodyValue(Map.of()).exchange()
+				.expectStatus().isBadRequest();
+		client.put().uri("/api/admin/application/missing/status").bodyValue(Map.of("status", "APPROVED")).exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void bulkUpdateApplicationStatus() {
+		LoanApplication processing = application("app-3", "PROCESSING", 0);
+		when(applicationRepository.findStatusesByIdIn(any())).thenReturn(Flux.just(first, second, processing));
+		when(applicationRepository.updateStatusByIdInAndStatusIn(any(), any(), anyString(), any())).thenReturn(Mono.just(2L));
+
+		client.post().uri("/api/admin/applications/status")
+				.bodyValue(Map.of("status", "rejected", "ids", List.of("app-1", "app-2", "app-3", "missing"))).exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.updated").isEqualTo(2)
+				.jsonPath("$.results[0].outcome").isEqualTo("INVALID_TRANSITION")
+				.jsonPath("$.results[1].outcome").isEqualTo("UPDATED")
+				.jsonPath("$.results[2].outcome").isEqualTo("UPDATED")
+				.jsonPath("$.results[3].outcome").isEqualTo("NOT_FOUND");
+		client.post().uri("/api/admin/applications/status").bodyValue(Map.of("status", "REJECTED")).exchange()
+				.expectStatus().isBadRequest();
+		client.post().uri("/api/admin/applications/status")
+				.bodyValue(Map.of("status", "CLOSED", "ids", List.of("app-1"))).exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.error").isEqualTo("Invalid bulk status update");
+	}
+
+	@Test
+	void applicationStats() {
+		when(applicationRepository.findAll()).thenReturn(Flux.just(first, second));
+
+		client.get().uri("/api/admin/stats").exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.stats.totalApplications").isEqualTo(2)
+				.jsonPath("$.stats.approvedApplications").isEqualTo(1)
+				.jsonPath("$.stats.pendingApplications").isEqualTo(1)
+				.jsonPath("$.stats.totalApprovedAmount").isEqualTo(750000.0);
+	}
+
+	@Test
+	void getUserByEmail() {
+		User user = new User("Asha Rao", "asha@example.com", "9876543210");
+		user.setId("user-1");
+		when(userRepository.findByEmail("asha@example.com")).thenReturn(Mono.just(user));
+
+		client.get().uri("/api/user?email=asha@example.com").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.user.id").isEqualTo("user-1");
+		client.get().uri("/api/user?email=nobody@example.com").exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void signupAndLogin() {
+		when(userRepository.existsByEmail("new@example.com")).thenReturn(Mono.just(false));
+		when(userRepository.existsByEmail("taken@example.com")).thenReturn(Mono.just(true));
+
+		client.post().uri("/api/auth/signup")
+				.bodyValue(Map.of("name", "New User", "email", "new@example.com", "password", "secret123")).exchange()
+				.expectStatus().isCreated()
+				.expectBody()
+				.jsonPath("$.user.id").isEqualTo("user-new")
+				.jsonPath("$.user.password").doesNotExist();
+		client.post().uri("/api/auth/signup")
+				.bodyValue(Map.of("name", "Taken", "email", "taken@example.com", "password", "secret123")).exchange()
+				.expectStatus().isEqualTo(409)
+				.expectBody().jsonPath("$.code").isEqualTo("DUPLICATE_EMAIL");
+
+		User user = new User("Asha Rao", "asha@example.com", "9876543210");
+		user.setId("user-1");
+		user.setPassword(passwordEncoder.encode("secret123"));
+		user.setCreatedAt(LocalDateTime.now());
+		when(userRepository.findByEmail("asha@example.com")).thenReturn(Mono.just(user));
+
+		client.post().uri("/api/auth/login").bodyValue(Map.of("email", "asha@example.com", "password", "secret123")).exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.user.id").isEqualTo("user-1");
+		client.post().uri("/api/auth/login").bodyValue(Map.of("email", "asha@example.com", "password", "wrong")).exchange()
+				.expectStatus().isUnauthorized()
+				.expectBody().jsonPath("$.code").isEqualTo("INVALID_CREDENTIALS");
+	}
+
+	@Test
+	void repeatedLoginAttemptsAreRateLimited() {
+		Map<String, String> attempt = Map.of("email", "stuffed@example.com", "password", "guess");
+		for (int i = 0; i < 5; i++) {
+			client.post().uri("/api/auth/login").bodyValue(attempt).exchange()
+					.expectStatus().isUnauthorized();
+		}
+		client.post().uri("/api/auth/login").bodyValue(attempt).exchange()
+				.expectStatus().isEqualTo(429)
+				.expectHeader().exists("Retry-After")
+				.expectBody().jsonPath("$.code").isEqualTo("TOO_MANY_ATTEMPTS");
+		verify(userRepository, times(5)).findByEmail("stuffed@example.com");
+	}
+
+	@Test
+	void bearerTokensFromLoginAreVerified() {
+		User user = new User("Asha Rao", "asha@example.com", "9876543210");
+		user.setId("user-1");
+		user.setPassword(passwordEncoder.encode("secret123"));
+		user.setCreatedAt(LocalDateTime.now());
+		when(userRepository.findByEmail("asha@example.com")).thenReturn(Mono.just(user));
+
+		String token = (String) client.post().uri("/api/auth/login")
+				.bodyValue(Map.of("email", "asha@example.com", "password", "secret123")).exchange()
+				.expectStatus().isOk()
+				.expectBody(Map.class).returnResult().getResponseBody().get("token");
+		assertNotNull(token);
+
+		client.get().uri("/api/health").header("Authorization", "Bearer " + token).exchange()
+				.expectStatus().isOk();
+		client.get().uri("/api/health").header("Authorization", "Bearer " + token + "x").exchange()
+				.expectStatus().isUnauthorized()
+				.expectBody().jsonPath("$.code").isEqualTo("INVALID_TOKEN");
+		// Anything outside /api/** still needs a principal
+		client.get().uri("/internal").exchange()
+				.expectStatus().isUnauthorized();
+		client.get().uri("/internal").header("Authorization", "Bearer " + token).exchange()
+				.expectStatus().value(status -> assertNotEquals(401, status));
+	}
+}
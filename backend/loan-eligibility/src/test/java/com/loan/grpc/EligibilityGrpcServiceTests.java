@@ -0,0 +1,121 @@
+package com.loan.grpc;
+
+import com.loan.grpc.api.EligibilityCheck;
+import com.loan.grpc.api.EligibilityDecision;
+import com.loan.grpc.api.EligibilityGrpc;
+import com.loan.service.LoanEligibilityService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityGrpcServiceTests {
+
+	private SimpleMeterRegistry registry;
+	private Server server;
+	private ManagedChannel channel;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		registry = new SimpleMeterRegistry();
+		LoanEligibilityService eligibilityService = new LoanEligibilityService();
+		ReflectionTestUtils.setField(eligibilityService, "meterRegistry", registry);
+		ReflectionTestUtils.invokeMethod(eligibilityService, "registerMetrics");
+		EligibilityGrpcService service = new EligibilityGrpcService();
+		ReflectionTestUtils.setField(service, "eligibilityService", eligibilityService);
+		ReflectionTestUtils.setField(service, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+
+		String name = InProcessServerBuilder.generateName();
+		server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+		channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		channel.shutdownNow();
+		server.shutdownNow();
+	}
+
+	private static EligibilityCheck.Builder check(String id) {
+		return EligibilityCheck.newBuilder().setCorrelationId(id).setName("Asha Rao").setAge(32)
+				.setAnnualIncome(1_500_000).setCreditScore(760).setMonthlyDebtPayments(10_000)
+				.setRequestedAmount(500_000).setLoanTenure(60).setEmploymentType("FULL_TIME");
+	}
+
+	private long evaluated() {
+		return registry.get("loan.eligibility.check").timer().count();
+	}
+
+	@Test
+	void answersEachCheckInOrderOnOneStream() throws Exception {
+		CompletableFuture<List<EligibilityDecision>> done = new CompletableFuture<>();
+		List<EligibilityDecision> decisions = new CopyOnWriteArrayList<>();
+		StreamObserver<EligibilityCheck> checks = EligibilityGrpc.newStub(channel).checkEligibility(new StreamObserver<>() {
+			public void onNext(EligibilityDecision decision) { decisions.add(decision); }
+			public void onError(Throwable t) { done.completeExceptionally(t); }
+			public void onCompleted() { done.complete(decisions); }
+		});
+		checks.onNext(check("approved").build());
+		checks.onNext(check("low-score").setCreditScore(600).build());
+		checks.onNext(check("invalid").setCreditScore(100).setEmploymentType("").build());
+		checks.onNext(check("after-invalid").build());
+		checks.onCompleted();
+
+		List<EligibilityDecision> result = done.get(5, TimeUnit.SECONDS);
+		assertEquals(List.of("approved", "low-score", "invalid", "after-invalid"),
+				result.stream().map(EligibilityDecision::getCorrelationId).toList());
+		assertTrue(result.get(0).getEligible());
+		assertEquals(500_000, result.get(0).getApprovedAmount());
+		assertFalse(result.get(1).getEligible());
+		assertEquals("Credit score must be at least 650", result.get(1).getReason());
+		// Same constraints and messages as the REST endpoint; the stream carries on after a rejected check
+		assertEquals("Credit score must be at least 300", result.get(2).getValidationErrorsMap().get("creditScore"));
+		assertEquals("Employment type is required", result.get(2).getValidationErrorsMap().get("employmentType"));
+		assertTrue(result.get(3).getEligible());
+		assertEquals(3, evaluated());
+	}
+
+	@Test
+	void stopsReadingChecksWhileTheClientIsNotReadingDecisions() throws Exception {
+		CountDownLatch threeDecisions = new CountDownLatch(3);
+		CompletableFuture<ClientCallStreamObserver<EligibilityCheck>> call = new CompletableFuture<>();
+		EligibilityGrpc.newStub(channel).checkEligibility(new ClientResponseObserver<EligibilityCheck, EligibilityDecision>() {
+			public void beforeStart(ClientCallStreamObserver<EligibilityCheck> requestStream) {
+				requestStream.disableAutoRequestWithInitial(0);
+				call.complete(requestStream);
+			}
+			public void onNext(EligibilityDecision decision) { threeDecisions.countDown(); }
+			public void onError(Throwable t) { }
+			public void onCompleted() { }
+		});
+		ClientCallStreamObserver<EligibilityCheck> checks = call.get(5, TimeUnit.SECONDS);
+		for (int i = 0; i < 50; i++) {
+			checks.onNext(check("check-" + i).build());
+		}
+		Thread.sleep(200);
+		assertEquals(0, evaluated());
+
+		checks.request(3);
+		assertTrue(threeDecisions.await(5, TimeUnit.SECONDS));
+		Thread.sleep(200);
+		assertTrue(evaluated() <= 4, "evaluated " + evaluated());
+		checks.cancel("done", null);
+	}
+}
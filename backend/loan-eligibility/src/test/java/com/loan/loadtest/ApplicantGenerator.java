@@ -0,0 +1,127 @@
+package com.loan.loadtest;
+
+import com.loan.controller.LoanController;
+
+import java.util.Random;
+
+// Synthesizes request bodies for the load test. Applicants come from a fixed pool (person i always has the same
+// name, email and phone), so repeat submissions go through the user upsert's update path and per-email reads
+// find several applications, as with real returning users. Financials are drawn per request:
+//   age     normal(mean, sd), clamped to 18..65 (the DTO's bounds)
+//   income  log-normal around a median, sigma in log space (a long right tail, like real incomes)
+//   score   normal(mean, sd), clamped to 300..850
+//   debt    monthly debt payments as a normal(mean, sd) fraction of monthly income, clamped to 0..0.9
+//   amount  requested amount as a uniform 0.2..max multiple of annual income
+//   tenure  one of the frontend's tenure options; employment type and purpose weighted like the form's options
+// The same seed and settings give the same request sequence per thread, so runs are comparable.
+final class ApplicantGenerator {
+
+    private static final int[] TENURES = {12, 24, 36, 48, 60, 84, 120, 180, 240, 360};
+    private static final String[] EMPLOYMENT_TYPES = {"FULL_TIME", "FULL_TIME", "FULL_TIME", "FULL_TIME", "FULL_TIME",
+            "FULL_TIME", "SELF_EMPLOYED", "SELF_EMPLOYED", "CONTRACT", "PART_TIME"};
+    private static final String[] PURPOSES = {"HOME", "HOME", "VEHICLE", "EDUCATION", "PERSONAL", "PERSONAL", "BUSINESS"};
+    private static final String[] FIRST_NAMES = {"Asha", "Rahul", "Priya", "Vikram", "Neha", "Arjun", "Kavya", "Rohan",
+            "Ananya", "Siddharth", "Meera", "Karan", "Divya", "Aditya", "Isha", "Manish"};
+    private static final String[] LAST_NAMES = {"Rao", "Sharma", "Iyer", "Patel", "Gupta", "Reddy", "Nair", "Singh",
+            "Mehta", "Das", "Kulkarni", "Joshi"};
+
+    // Parsed from --age=mean:sd, --income=median:sigma, --score=mean:sd, --debt=mean:sd, --amount=max-multiple
+    record Distributions(double ageMean, double ageSd, double incomeMedian, double incomeSigma, double scoreMean,
+                         double scoreSd, double debtMean, double debtSd, double amountMaxMultiple) {
+
+        static final Distributions DEFAULT = new Distributions(36, 10, 600_000, 0.6, 700, 70, 0.2, 0.15, 3.0);
+
+        Distributions with(String name, String value) {
+            String[] parts = value.split(":");
+            double first = Double.parseDouble(parts[0]);
+            double second = parts.length > 1 ? Double.parseDouble(parts[1]) : Double.NaN;
+            return switch (name) {
+                case "age" -> new Distributions(first, or(second, ageSd), incomeMedian, incomeSigma, scoreMean, scoreSd,
+                        debtMean, debtSd, amountMaxMultiple);
+                case "income" -> new Distributions(ageMean, ageSd, first, or(second, incomeSigma), scoreMean, scoreSd,
+                        debtMean, debtSd, amountMaxMultiple);
+                case "score" -> new Distributions(ageMean, ageSd, incomeMedian, incomeSigma, first, or(second, scoreSd),
+                        debtMean, debtSd, amountMaxMultiple);
+                case "debt" -> new Distributions(ageMean, ageSd, incomeMedian, incomeSigma, scoreMean, scoreSd,
+                        first, or(second, debtSd), amountMaxMultiple);
+                case "amount" -> new Distributions(ageMean, ageSd, incomeMedian, incomeSigma, scoreMean, scoreSd,
+                        debtMean, debtSd, first);
+                default -> throw new IllegalArgumentException("Unknown distribution " + name);
+            };
+        }
+
+        private static double or(double value, double fallback) {
+            return Double.isNaN(value) ? fallback : value;
+        }
+
+        @Override
+        public String toString() {
+            return "age=" + ageMean + ":" + ageSd + " income=" + incomeMedian + ":" + incomeSigma
+                    + " score=" + scoreMean + ":" + scoreSd + " debt=" + debtMean + ":" + debtSd
+                    + " amount=" + amountMaxMultiple;
+        }
+    }
+
+    private final Distributions distributions;
+    private final int applicants;
+    private final Random random;
+
+    ApplicantGenerator(Distributions distributions, int applicants, long seed) {
+        this.distributions = distributions;
+        this.applicants = applicants;
+        this.random = new Random(seed);
+    }
+
+    // Not thread-safe: each load-test worker owns a generator seeded from the run seed and its index
+    LoanController.EligibilityRequestDTO eligibilityRequest() {
+        LoanController.EligibilityRequestDTO request = new LoanController.EligibilityRequestDTO();
+        fill(request, random.nextInt(applicants));
+        return request;
+    }
+
+    LoanController.SaveApplicationRequestDTO saveRequest() {
+        LoanController.SaveApplicationRequestDTO request = new LoanController.SaveApplicationRequestDTO();
+        int person = random.nextInt(applicants);
+        fill(request, person);
+        request.setEmail(email(person));
+        request.setPhone(String.valueOf(9_000_000_000L + person));
+        request.setLoanPurpose(pick(PURPOSES));
+        return request;
+    }
+
+    // An applicant from the pool, for per-email reads
+    String randomEmail() {
+        return email(random.nextInt(applicants));
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    static String email(int person) {
+        return "applicant" + person + "@loadtest.example.com";
+    }
+
+    private void fill(LoanController.EligibilityRequestDTO request, int person) {
+        Distributions d = distributions;
+        request.setName(FIRST_NAMES[person % FIRST_NAMES.length] + " " + LAST_NAMES[(person / FIRST_NAMES.length) % LAST_NAMES.length]);
+        request.setAge((int) Math.round(clamp(d.ageMean() + random.nextGaussian() * d.ageSd(), 18, 65)));
+        double income = Math.round(d.incomeMedian() * Math.exp(random.nextGaussian() * d.incomeSigma()));
+        request.setAnnualIncome(income);
+        request.setCreditScore((int) Math.round(clamp(d.scoreMean() + random.nextGaussian() * d.scoreSd(), 300, 850)));
+        double debtRatio = clamp(d.debtMean() + random.nextGaussian() * d.debtSd(), 0, 0.9);
+        request.setMonthlyDebtPayments(Math.round(income / 12 * debtRatio));
+        double multiple = 0.2 + random.nextDouble() * Math.max(0, d.amountMaxMultiple() - 0.2);
+        request.setRequestedAmount(Math.max(1000, Math.round(income * multiple / 1000) * 1000));
+        request.setLoanTenure(TENURES[random.nextInt(TENURES.length)]);
+        request.setEmploymentType(pick(EMPLOYMENT_TYPES));
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,62 @@
+package com.loan.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loan.controller.LoanController;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicantGeneratorTests {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void generatedBodiesPassRequestValidationEvenAtExtremeSettings() {
+		Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+		ApplicantGenerator.Distributions extreme = ApplicantGenerator.Distributions.DEFAULT
+				.with("age", "20:40").with("score", "500:400").with("debt", "0.5:1").with("income", "5000:2");
+		ApplicantGenerator generator = new ApplicantGenerator(extreme, 100, 7);
+		for (int i = 0; i < 2_000; i++) {
+			LoanController.SaveApplicationRequestDTO request = generator.saveRequest();
+			assertEquals(List.of(), validator.validate(request).stream().map(v -> v.getPropertyPath() + " " + v.getMessage()).toList());
+			assertTrue(request.getEmail().endsWith("@loadtest.example.com"));
+		}
+	}
+
+	@Test
+	void sameSeedGivesTheSameRequestSequence() throws Exception {
+		ApplicantGenerator first = new ApplicantGenerator(ApplicantGenerator.Distributions.DEFAULT, 1_000, 42);
+		ApplicantGenerator second = new ApplicantGenerator(ApplicantGenerator.Distributions.DEFAULT, 1_000, 42);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(mapper.writeValueAsString(first.eligibilityRequest()), mapper.writeValueAsString(second.eligibilityRequest()));
+			assertEquals(mapper.writeValueAsString(first.saveRequest()), mapper.writeValueAsString(second.saveRequest()));
+		}
+	}
+
+	@Test
+	void incomesFollowTheConfiguredMedian() {
+		ApplicantGenerator generator = new ApplicantGenerator(
+				ApplicantGenerator.Distributions.DEFAULT.with("income", "800000:0.5"), 1_000, 1);
+		double[] incomes = new double[10_001];
+		for (int i = 0; i < incomes.length; i++) {
+			incomes[i] = generator.eligibilityRequest().getAnnualIncome();
+		}
+		Arrays.sort(incomes);
+		assertEquals(800_000, incomes[incomes.length / 2], 40_000);
+	}
+
+	@Test
+	void comparesReportsByEndpoint() {
+		List<String> baseline = List.of("target\tembedded", "", LatencyReport.HEADER,
+				"all\t100\t0\t50.0\t2.000\t4.000\t8.000\t10.000\t12.000");
+		List<String> current = List.of("target\tembedded", "", LatencyReport.HEADER,
+				"all\t120\t0\t60.0\t1.000\t4.000\t10.000\t10.000\t0.000");
+		assertEquals(List.of("endpoint\tthroughput\tp50\tp90\tp99\tp999\tmax",
+				"all\t+20.0%\t-50.0%\t+0.0%\t+25.0%\t+0.0%\t-100.0%"), LatencyReport.compare(baseline, current));
+	}
+}
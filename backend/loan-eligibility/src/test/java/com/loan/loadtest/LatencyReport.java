@@ -0,0 +1,128 @@
+package com.loan.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency (HdrHistogram, microsecond resolution up to a minute, 3 significant digits) and error
+// counts for the measured part of a run, written as a tab-separated report. The report holds only the run's
+// settings and results, one line each in a fixed order, so two reports can be compared with diff or with
+// --baseline, which prints the relative change of each endpoint's throughput and percentiles.
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    static final String HEADER = "endpoint\trequests\terrors\tthroughput_rps\tp50_ms\tp90_ms\tp99_ms\tp999_ms\tmax_ms";
+
+    private final Map<String, Series> series = new LinkedHashMap<>();
+
+    LatencyReport(List<String> endpoints) {
+        for (String endpoint : endpoints) {
+            series.put(endpoint, new Series());
+        }
+    }
+
+    // Thread-safe; latency of a request that got a response other than an error status
+    void success(String endpoint, long nanos) {
+        series.get(endpoint).recorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, nanos / 1_000)));
+    }
+
+    // Error statuses (4xx, 5xx), timeouts and connection failures; not in the latency figures
+    void error(String endpoint) {
+        series.get(endpoint).errors.increment();
+    }
+
+    List<String> lines(Map<String, String> settings, double measuredSeconds) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# LoanCheck load test report: settings, then one line per endpoint (compare runs with diff or --baseline)");
+        settings.forEach((key, value) -> lines.add(key + "\t" + value));
+        lines.add("");
+        lines.add(HEADER);
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long allErrors = 0;
+        List<String> endpointLines = new ArrayList<>();
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            long errors = entry.getValue().errors.sum();
+            if (histogram.getTotalCount() == 0 && errors == 0) {
+                continue;
+            }
+            all.add(histogram);
+            allErrors += errors;
+            endpointLines.add(line(entry.getKey(), histogram, errors, measuredSeconds));
+        }
+        lines.add(line("all", all, allErrors, measuredSeconds));
+        lines.addAll(endpointLines);
+        return lines;
+    }
+
+    private static String line(String endpoint, Histogram histogram, long errors, double seconds) {
+        long requests = histogram.getTotalCount() + errors;
+        return String.format(Locale.ROOT, "%s\t%d\t%d\t%.1f\t%.3f\t%.3f\t%.3f\t%.3f\t%.3f", endpoint, requests, errors,
+                requests / seconds, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                millis(histogram, 99.9), histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    // Relative change against an earlier report, per endpoint present in both: + is higher (slower for latency)
+    static List<String> compare(List<String> baseline, List<String> current) {
+        Map<String, String[]> before = rows(baseline);
+        Map<String, String[]> after = rows(current);
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint\tthroughput\tp50\tp90\tp99\tp999\tmax");
+        after.forEach((endpoint, row) -> {
+            String[] old = before.get(endpoint);
+            if (old == null) {
+                return;
+            }
+            StringBuilder line = new StringBuilder(endpoint);
+            for (int column = 3; column < row.length; column++) {
+                line.append('\t').append(change(Double.parseDouble(old[column]), Double.parseDouble(row[column])));
+            }
+            lines.add(line.toString());
+        });
+        return lines;
+    }
+
+    static List<String> read(Path report) throws IOException {
+        return Files.readAllLines(report);
+    }
+
+    private static Map<String, String[]> rows(List<String> report) {
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        boolean table = false;
+        for (String line : report) {
+            if (line.equals(HEADER)) {
+                table = true;
+            } else if (table && !line.isBlank()) {
+                String[] row = line.split("\t");
+                rows.put(row[0], row);
+            }
+        }
+        return rows;
+    }
+
+    private static String change(double before, double after) {
+        if (before == 0) {
+            return after == 0 ? "0.0%" : "n/a";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (after - before) / before * 100);
+    }
+
+    private static final class Series {
+        final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+}
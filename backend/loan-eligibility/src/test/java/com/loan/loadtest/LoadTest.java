@@ -0,0 +1,393 @@
+package com.loan.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loan.LoanEligibilityApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Drives a mix of read and write endpoints with synthetic applicants (ApplicantGenerator) and reports throughput
+// and p50/p90/p99/p99.9/max latency per endpoint (LatencyReport):
+//   mvn -Pload-test test-compile exec:exec -Dload-test.args="--target=embedded --duration=60s --concurrency=32"
+//
+// Targets:
+//   --target=embedded   starts the application in this JVM on the embedded profile (in-memory-mapped storage in a
+//                       temporary directory, no mongod needed)
+//   --target=mongo      starts the application in this JVM on the default profile, against the mongod configured in
+//                       application.properties, using database --mongo-database (default loadtest)
+//   --target=<url>      an already running instance, e.g. http://localhost:8080; the cleanest numbers, as the client
+//                       then does not share the JVM (and on a small box, the cores) with the server
+//
+// Load model:
+//   --concurrency=N     closed model: N virtual-thread clients, each sending its next request when the last completes
+//   --rate=R            open model: R requests per second on a fixed schedule whatever the response times; latency is
+//                       measured from each request's scheduled time, so server stalls are not hidden by the client
+//                       backing off (coordinated omission)
+//
+// Other options: --duration=60s, --warmup=15s (sent but not reported), --seed-applications=200 (saved before the
+// warmup so reads find data), --applicants=10000 (distinct people), --seed=42, --timeout=10s, --bearer=<token>
+// (for /api/admin/** when jwt.require-auth-for-admin is on), --report=target/load-test/report.tsv,
+// --baseline=<earlier report>, --mix=check-eligibility:45,check-eligibility-and-save:20,get-applications:20,
+// application:10,admin-stats:5 and the applicant distributions --age=36:10 --income=600000:0.6 --score=700:70
+// --debt=0.2:0.15 --amount=3 (see ApplicantGenerator).
+public final class LoadTest {
+
+    private static final Pattern APPLICATION_ID = Pattern.compile("\"applicationId\":\"([^\"]+)\"");
+    private static final int KNOWN_IDS = 4096;
+
+    enum Endpoint {
+        CHECK_ELIGIBILITY("check-eligibility"),
+        CHECK_ELIGIBILITY_AND_SAVE("check-eligibility-and-save"),
+        SAVE_APPLICATION("save-application"),
+        GET_APPLICATIONS("get-applications"),
+        APPLICATION("application"),
+        ADMIN_STATS("admin-stats"),
+        ADMIN_APPLICATIONS("admin-applications");
+
+        final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        static Endpoint of(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint " + key);
+        }
+    }
+
+    private final Map<String, String> options;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client;
+    private final Duration timeout;
+    private final Endpoint[] mix;
+    private final ApplicantGenerator.Distributions distributions;
+    private final int applicants;
+    private final long seed;
+    private final String bearer;
+    private final AtomicReferenceArray<String> knownIds = new AtomicReferenceArray<>(KNOWN_IDS);
+    private final AtomicLong savedCount = new AtomicLong();
+    private URI base;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.timeout = duration(option("timeout", "10s"));
+        this.mix = mix(option("mix", "check-eligibility:45,check-eligibility-and-save:20,get-applications:20,"
+                + "application:10,admin-stats:5"));
+        ApplicantGenerator.Distributions parsed = ApplicantGenerator.Distributions.DEFAULT;
+        for (String name : List.of("age", "income", "score", "debt", "amount")) {
+            if (options.containsKey(name)) {
+                parsed = parsed.with(name, options.get(name));
+            }
+        }
+        this.distributions = parsed;
+        this.applicants = Integer.parseInt(option("applicants", "10000"));
+        this.seed = Long.parseLong(option("seed", "42"));
+        this.bearer = options.get("bearer");
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+        // The in-process server and the HTTP client's selector threads are not daemons
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        String target = option("target", "embedded");
+        try (AutoCloseable server = start(target)) {
+            seedApplications(Integer.parseInt(option("seed-applications", "200")));
+
+            Duration warmup = duration(option("warmup", "15s"));
+            Duration measured = duration(option("duration", "60s"));
+            List<String> endpointKeys = new ArrayList<>();
+            for (Endpoint endpoint : Endpoint.values()) {
+                endpointKeys.add(endpoint.key);
+            }
+            LatencyReport report = new LatencyReport(endpointKeys);
+
+            long startNanos = System.nanoTime();
+            long measureFrom = startNanos + warmup.toNanos();
+            long measureUntil = measureFrom + measured.toNanos();
+            String model;
+            if (options.containsKey("rate")) {
+                double rate = Double.parseDouble(options.get("rate"));
+                model = "open rate=" + rate + "/s";
+                runOpen(rate, report, startNanos, measureFrom, measureUntil);
+            } else {
+                int concurrency = Integer.parseInt(option("concurrency", "32"));
+                model = "closed concurrency=" + concurrency;
+                runClosed(concurrency, report, measureFrom, measureUntil);
+            }
+
+            Map<String, String> settings = new LinkedHashMap<>();
+            settings.put("target", target);
+            settings.put("model", model);
+            settings.put("warmup_s", String.valueOf(warmup.toSeconds()));
+            settings.put("duration_s", String.valueOf(measured.toSeconds()));
+            settings.put("mix", option("mix", "default"));
+            settings.put("applicants", applicants + " " + distributions);
+            settings.put("seed", String.valueOf(seed));
+            settings.put("jvm", Runtime.version() + " cores=" + Runtime.getRuntime().availableProcessors());
+            List<String> lines = report.lines(settings, measured.toNanos() / 1e9);
+
+            Path path = Path.of(option("report", "target/load-test/report.tsv"));
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.write(path, lines);
+            lines.forEach(System.out::println);
+            System.out.println("Report written to " + path.toAbsolutePath());
+            if (options.containsKey("baseline")) {
+                System.out.println();
+                System.out.println("Change against " + options.get("baseline") + ":");
+                LatencyReport.compare(LatencyReport.read(Path.of(options.get("baseline"))), lines)
+                        .forEach(System.out::println);
+            }
+        }
+    }
+
+    // Closed model: each client waits for its response before sending the next request
+    private void runClosed(int concurrency, LatencyReport report, long measureFrom, long measureUntil)
+            throws InterruptedException {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                ApplicantGenerator generator = new ApplicantGenerator(distributions, applicants, seed * 1_000_003 + i);
+                clients.submit(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < measureUntil) {
+                        send(generator, report, now, now >= measureFrom);
+                    }
+                    return null;
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(measureUntil - System.nanoTime() + timeout.toNanos() * 2, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Open model: requests go out on a fixed schedule, each on its own virtual thread; the bodies are generated on
+    // the scheduling thread so the sequence depends only on the seed
+    private void runOpen(double rate, LatencyReport report, long startNanos, long measureFrom, long measureUntil)
+            throws InterruptedException {
+        ApplicantGenerator generator = new ApplicantGenerator(distributions, applicants, seed);
+        long interval = (long) (1e9 / rate);
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = startNanos; scheduled < measureUntil; scheduled += interval) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                Call call = next(generator);
+                long intended = scheduled;
+                requests.submit(() -> execute(call, report, intended, intended >= measureFrom));
+            }
+        }
+    }
+
+    private void send(ApplicantGenerator generator, LatencyReport report, long start, boolean recorded) {
+        execute(next(generator), report, start, recorded);
+    }
+
+    // One request: the endpoint drawn from the mix, with its body or path parameter
+    private record Call(Endpoint endpoint, HttpRequest request) {
+    }
+
+    private Call next(ApplicantGenerator generator) {
+        Endpoint endpoint = mix[generator.nextInt(mix.length)];
+        if (endpoint == Endpoint.APPLICATION && savedCount.get() == 0) {
+            endpoint = Endpoint.GET_APPLICATIONS;
+        }
+        HttpRequest request = switch (endpoint) {
+            case CHECK_ELIGIBILITY -> post("/api/check-eligibility", generator.eligibilityRequest());
+            case CHECK_ELIGIBILITY_AND_SAVE -> post("/api/check-eligibility-and-save", generator.saveRequest());
+            case SAVE_APPLICATION -> post("/api/save-application", generator.saveRequest());
+            case GET_APPLICATIONS -> get("/api/get-applications?email=" + generator.randomEmail());
+            case APPLICATION -> get("/api/application/" + knownId(generator));
+            case ADMIN_STATS -> get("/api/admin/stats");
+            case ADMIN_APPLICATIONS -> get("/api/admin/applications");
+        };
+        return new Call(endpoint, request);
+    }
+
+    private void execute(Call call, LatencyReport report, long start, boolean recorded) {
+        try {
+            HttpResponse<String> response = client.send(call.request(), HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() >= 400) {
+                if (recorded) {
+                    report.error(call.endpoint().key);
+                }
+                return;
+            }
+            if (call.endpoint() == Endpoint.CHECK_ELIGIBILITY_AND_SAVE || call.endpoint() == Endpoint.SAVE_APPLICATION) {
+                remember(response.body());
+            }
+            if (recorded) {
+                report.success(call.endpoint().key, elapsed);
+            }
+        } catch (IOException e) {
+            if (recorded) {
+                report.error(call.endpoint().key);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void seedApplications(int count) throws Exception {
+        ApplicantGenerator generator = new ApplicantGenerator(distributions, applicants, seed - 1);
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = client.send(post("/api/check-eligibility-and-save", generator.saveRequest()),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+            remember(response.body());
+        }
+    }
+
+    private void remember(String body) {
+        Matcher matcher = APPLICATION_ID.matcher(body);
+        if (matcher.find()) {
+            knownIds.set((int) (savedCount.getAndIncrement() % KNOWN_IDS), matcher.group(1));
+        }
+    }
+
+    private String knownId(ApplicantGenerator generator) {
+        int bound = (int) Math.min(savedCount.get(), KNOWN_IDS);
+        String id = knownIds.get(generator.nextInt(bound));
+        return id != null ? id : knownIds.get(0);
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return builder(path).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body))).build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(timeout);
+        if (bearer != null) {
+            builder.header("Authorization", "Bearer " + bearer);
+        }
+        return builder;
+    }
+
+    private AutoCloseable start(String target) throws IOException {
+        if (target.startsWith("http://") || target.startsWith("https://")) {
+            base = URI.create(target);
+            return () -> { };
+        }
+        // Devtools (on the test classpath) would otherwise rerun main in a restart class loader, without the options;
+        // it reads this switch only from system properties
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        // The event log would otherwise write a console line per submission
+        properties.put("logging.level.com.loan.events", "WARN");
+        Path storage = null;
+        String profile;
+        switch (target) {
+            case "embedded" -> {
+                storage = Files.createTempDirectory("loan-load-test");
+                properties.put("embedded.storage.directory", storage.toString());
+                profile = "embedded";
+            }
+            case "mongo" -> {
+                properties.put("spring.data.mongodb.database", option("mongo-database", "loadtest"));
+                profile = "default";
+            }
+            default -> throw new IllegalArgumentException("Unknown target " + target + " (embedded, mongo or a URL)");
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LoanEligibilityApplication.class)
+                .profiles(profile)
+                .properties(properties)
+                .run();
+        base = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+        Path directory = storage;
+        return () -> {
+            context.close();
+            if (directory != null) {
+                FileSystemUtils.deleteRecursively(directory);
+            }
+        };
+    }
+
+    // name:weight pairs expanded into a table the generator draws from uniformly
+    private static Endpoint[] mix(String spec) {
+        List<Endpoint> table = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Endpoint endpoint = Endpoint.of(parts[0]);
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            for (int i = 0; i < weight; i++) {
+                table.add(endpoint);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix " + spec);
+        }
+        return table.toArray(Endpoint[]::new);
+    }
+
+    // 500ms, 30s, 2m
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Expected a duration like 500ms, 30s or 2m, got " + value);
+        };
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+}
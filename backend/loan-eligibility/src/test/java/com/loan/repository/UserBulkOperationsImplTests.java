@@ -0,0 +1,89 @@
+package com.loan.repository;
+
+import com.loan.entity.User;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class UserBulkOperationsImplTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final BulkOperations bulkOperations = mock(BulkOperations.class);
+	private final UserBulkOperationsImpl operations = new UserBulkOperationsImpl();
+
+	private static List<User> users(int count) {
+		return IntStream.range(0, count)
+				.mapToObj(i -> new User("User " + i, "user" + i + "@example.com", null))
+				.toList();
+	}
+
+	private static BulkWriteResult inserted(int count) {
+		return BulkWriteResult.acknowledged(count, 0, 0, 0, List.of(), List.of());
+	}
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(operations, "mongoTemplate", mongoTemplate);
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)).thenReturn(bulkOperations);
+		when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+	}
+
+	@Test
+	void insertsTheBatchInOneUnorderedBulkWrite() {
+		List<User> batch = users(3);
+		when(bulkOperations.execute()).thenReturn(inserted(3));
+
+		UserBulkOperations.BulkInsertResult result = operations.insertUnordered(batch);
+
+		assertEquals(3, result.getInserted());
+		assertEquals(List.of(), result.getFailures());
+		verify(mongoTemplate).bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+		verify(bulkOperations).insert(batch);
+		verify(bulkOperations).execute();
+	}
+
+	@Test
+	void reportsDuplicatesAndOtherWriteErrorsByPositionInTheBatch() {
+		List<BulkWriteError> errors = List.of(
+				new BulkWriteError(11000, "E11000 duplicate key error collection: users index: email", new BsonDocument(), 1),
+				new BulkWriteError(121, "Document failed validation", new BsonDocument(), 3));
+		when(bulkOperations.execute()).thenThrow(new BulkOperationException("Bulk write failed",
+				new MongoBulkWriteException(inserted(2), errors, null, new ServerAddress(), Set.of())));
+
+		UserBulkOperations.BulkInsertResult result = operations.insertUnordered(users(4));
+
+		assertEquals(2, result.getInserted());
+		assertEquals(2, result.getFailures().size());
+		UserBulkOperations.InsertFailure duplicate = result.getFailures().get(0);
+		assertEquals(1, duplicate.getIndex());
+		assertTrue(duplicate.isDuplicateKey());
+		UserBulkOperations.InsertFailure invalid = result.getFailures().get(1);
+		assertEquals(3, invalid.getIndex());
+		assertFalse(invalid.isDuplicateKey());
+		assertEquals("Document failed validation", invalid.getMessage());
+	}
+
+	@Test
+	void emptyBatchDoesNotReachMongo() {
+		UserBulkOperations.BulkInsertResult result = operations.insertUnordered(List.of());
+
+		assertEquals(0, result.getInserted());
+		verifyNoInteractions(mongoTemplate);
+	}
+}
@@ -0,0 +1,90 @@
+package com.loan.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTests {
+
+	private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+	private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+		return new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimiter.Settings(initialLimit, 4, 200, 1.5,
+				TimeUnit.SECONDS.toNanos(1), 10, 600, 0.2), now::get);
+	}
+
+	// One second of traffic: batches of `concurrency` requests that each take rttMillis
+	private void window(AdaptiveConcurrencyLimiter limiter, int concurrency, long rttMillis) {
+		long end = now.get() + TimeUnit.SECONDS.toNanos(1);
+		while (now.get() < end) {
+			long[] starts = new long[concurrency];
+			for (int i = 0; i < concurrency; i++) {
+				starts[i] = limiter.tryAcquire();
+				assertTrue(starts[i] >= 0);
+			}
+			now.addAndGet(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+			for (long start : starts) {
+				limiter.release(start);
+			}
+		}
+	}
+
+	@Test
+	void refusesBeyondTheLimitUntilAPermitIsReleased() {
+		AdaptiveConcurrencyLimiter limiter = limiter(5);
+		long[] starts = new long[5];
+		for (int i = 0; i < 5; i++) {
+			starts[i] = limiter.tryAcquire();
+			assertTrue(starts[i] >= 0);
+		}
+		assertEquals(-1, limiter.tryAcquire());
+		assertEquals(5, limiter.getInflight());
+
+		limiter.release(starts[0]);
+		assertTrue(limiter.tryAcquire() >= 0);
+		assertEquals(-1, limiter.tryAcquire());
+	}
+
+	@Test
+	void growsWhileLatencyHoldsUnderFullLoad() {
+		AdaptiveConcurrencyLimiter limiter = limiter(20);
+		int previous = limiter.getLimit();
+		for (int i = 0; i < 20; i++) {
+			window(limiter, limiter.getLimit(), 10);
+			assertTrue(limiter.getLimit() >= previous);
+			previous = limiter.getLimit();
+		}
+		assertTrue(limiter.getLimit() > 40, "limit " + limiter.getLimit());
+	}
+
+	@Test
+	void shrinksWhenLatencyRises() {
+		AdaptiveConcurrencyLimiter limiter = limiter(50);
+		for (int i = 0; i < 10; i++) {
+			window(limiter, limiter.getLimit(), 10);
+		}
+		int settled = limiter.getLimit();
+		// The backend slows down fivefold
+		for (int i = 0; i < 10; i++) {
+			window(limiter, limiter.getLimit(), 50);
+		}
+		assertTrue(limiter.getLimit() < settled / 2, "limit " + limiter.getLimit() + " was " + settled);
+		assertTrue(limiter.getLimit() >= 4);
+	}
+
+	@Test
+	void lightLoadLeavesTheLimitAlone() {
+		AdaptiveConcurrencyLimiter limiter = limiter(40);
+		for (int i = 0; i < 10; i++) {
+			window(limiter, 5, 10);
+		}
+		// Slow, but far below the limit: nothing says the limit is too high
+		for (int i = 0; i < 10; i++) {
+			window(limiter, 5, 100);
+		}
+		assertEquals(40, limiter.getLimit());
+	}
+}
@@ -0,0 +1,95 @@
+package com.loan.service;
+
+import com.loan.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminBulkheadTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final CountDownLatch release = new CountDownLatch(1);
+	private AdminBulkhead bulkhead;
+
+	private AdminBulkhead bulkhead(int threads, int queueCapacity, long timeoutMs) {
+		bulkhead = new AdminBulkhead();
+		ReflectionTestUtils.setField(bulkhead, "meterRegistry", registry);
+		ReflectionTestUtils.setField(bulkhead, "threads", threads);
+		ReflectionTestUtils.setField(bulkhead, "queueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(bulkhead, "timeoutMs", timeoutMs);
+		ReflectionTestUtils.invokeMethod(bulkhead, "init");
+		return bulkhead;
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		ReflectionTestUtils.invokeMethod(bulkhead, "shutdown");
+	}
+
+	private double rejected(String reason) {
+		return registry.get("admin.bulkhead.rejected").tag("reason", reason).counter().count();
+	}
+
+	@Test
+	void runsTheQueryOnTheBulkheadAndPassesItsFailuresThrough() {
+		AdminBulkhead bulkhead = bulkhead(2, 4, 5000);
+		assertTrue(bulkhead.call(() -> Thread.currentThread().getName()).startsWith("admin-bulkhead-"));
+		IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+				() -> bulkhead.call(() -> { throw new IllegalArgumentException("bad range"); }));
+		assertEquals("bad range", failure.getMessage());
+	}
+
+	@Test
+	void refusesQueriesBeyondThePoolAndQueue() throws Exception {
+		AdminBulkhead bulkhead = bulkhead(1, 1, 5000);
+		CountDownLatch running = new CountDownLatch(1);
+		List<CompletableFuture<String>> held = new ArrayList<>();
+		held.add(CompletableFuture.supplyAsync(() -> bulkhead.call(() -> {
+			running.countDown();
+			release.await();
+			return "first";
+		})));
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+		held.add(CompletableFuture.supplyAsync(() -> bulkhead.call(() -> "queued")));
+		while (registry.get("admin.bulkhead.queue").gauge().value() < 1) {
+			Thread.sleep(5);
+		}
+
+		GlobalExceptionHandler.AdminBusyException refused =
+				assertThrows(GlobalExceptionHandler.AdminBusyException.class, () -> bulkhead.call(() -> "third"));
+		assertTrue(refused.getMessage().contains("Too many admin queries"));
+		assertEquals(1.0, rejected("queue-full"));
+
+		release.countDown();
+		assertEquals("first", held.get(0).get(5, TimeUnit.SECONDS));
+		assertEquals("queued", held.get(1).get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void interruptsQueriesThatOverrunTheTimeout() throws Exception {
+		AdminBulkhead bulkhead = bulkhead(1, 1, 100);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		assertThrows(GlobalExceptionHandler.AdminBusyException.class, () -> bulkhead.call(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return null;
+		}));
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		assertEquals(1.0, rejected("timeout"));
+		// The thread is free again for the next query
+		assertEquals("next", bulkhead.call(() -> "next"));
+	}
+}
@@ -0,0 +1,129 @@
+package com.loan.service;
+
+import com.loan.entity.User;
+import com.loan.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApplicantSearchTests {
+
+	private static User user(String id, String name, String email, String phone) {
+		User user = new User(name, email, phone);
+		user.setId(id);
+		return user;
+	}
+
+	private static List<String> ids(LoanApplicationService.UserSearchPage page) {
+		return page.getUsers().stream().map(LoanApplicationService.UserMatch::getId).toList();
+	}
+
+	private static NGramSearchIndex sample() {
+		return new NGramSearchIndex(List.of(
+				user("u1", "Asha Rao", "asha.rao@example.com", "98765 43210"),
+				user("u2", "Rashmi Iyer", "rashmi@example.com", "9123456789"),
+				user("u3", "Prakash Rao", "prakash@mail.in", "+91-90000-11111"),
+				user("u4", "Ashok Kumar", "ak@example.com", null)));
+	}
+
+	@Test
+	void matchesSubstringsOfNameEmailAndPhone() {
+		NGramSearchIndex index = sample();
+		// Two name prefixes first, then the substring matches by name
+		assertEquals(List.of("u1", "u4", "u3", "u2"), ids(index.search("ash", 0, 10)));
+		assertEquals(List.of("u3"), ids(index.search("mail.in", 0, 10)));
+		assertEquals(List.of("u1"), ids(index.search("87654", 0, 10)));
+		// Phone-like queries are compared on digits only
+		assertEquals(List.of("u3"), ids(index.search("90000-111", 0, 10)));
+		assertTrue(index.search("zzz", 0, 10).getUsers().isEmpty());
+	}
+
+	@Test
+	void rankingPrefersExactThenPrefixThenSubstring() {
+		NGramSearchIndex index = sample();
+		LoanApplicationService.UserSearchPage exact = index.search("rashmi@example.com", 0, 10);
+		assertEquals(List.of("u2"), ids(exact));
+		assertEquals(100, exact.getUsers().get(0).getScore());
+
+		// A name prefix outranks a match further into the name
+		LoanApplicationService.UserSearchPage ashok = index.search("ashok", 0, 10);
+		assertEquals(List.of("u4"), ids(ashok));
+		assertEquals(60, ashok.getUsers().get(0).getScore());
+		LoanApplicationService.UserSearchPage shmi = index.search("shmi", 0, 10);
+		assertEquals(20, shmi.getUsers().get(0).getScore());
+		assertEquals(List.of("u1", "u3"), ids(index.search("rao", 0, 10)));
+	}
+
+	@Test
+	void everyTermMustMatchAndShortTermsArePrefixes() {
+		NGramSearchIndex index = sample();
+		assertEquals(List.of("u1", "u3"), ids(index.search("RAO", 0, 10)));
+		assertEquals(List.of("u3"), ids(index.search("pra rao", 0, 10)));
+		// Two characters only match at the start of a word, email or phone
+		assertEquals(List.of("u4"), ids(index.search("ak", 0, 10)));
+		assertTrue(index.search("sh", 0, 10).getUsers().isEmpty());
+		// Trigrams shared with a field are not enough; the term must occur contiguously
+		assertTrue(index.search("ashrao", 0, 10).getUsers().isEmpty());
+		assertTrue(index.search("a", 0, 10).getUsers().isEmpty());
+	}
+
+	@Test
+	void pagesThroughRankedResults() {
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < 45; i++) {
+			users.add(user(String.format("u%02d", i), "Meera " + i, "meera" + i + "@example.com", null));
+		}
+		NGramSearchIndex index = new NGramSearchIndex(users);
+
+		LoanApplicationService.UserSearchPage first = index.search("meera", 0, 20);
+		LoanApplicationService.UserSearchPage last = index.search("meera", 2, 20);
+		assertEquals(45, first.getTotal());
+		assertEquals(20, first.getUsers().size());
+		assertEquals(5, last.getUsers().size());
+		assertTrue(index.search("meera", 3, 20).getUsers().isEmpty());
+	}
+
+	@Test
+	void reindexingAUserReplacesItsOldTerms() {
+		NGramSearchIndex index = sample();
+		index.put(user("u1", "Asha Menon", "asha.menon@example.com", "98765 43210"));
+
+		assertEquals(4, index.size());
+		assertTrue(index.search("rao", 0, 10).getUsers().stream().noneMatch(match -> match.getId().equals("u1")));
+		assertEquals(List.of("u1"), ids(index.search("menon", 0, 10)));
+	}
+
+	@Test
+	void usersSavedDuringRebuildAreIndexed() throws Exception {
+		UserRepository repository = mock(UserRepository.class);
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		when(repository.findAll()).thenAnswer(invocation -> {
+			reading.countDown();
+			proceed.await(5, TimeUnit.SECONDS);
+			return List.of(user("u1", "Asha Rao", "asha@example.com", null));
+		});
+		ApplicantSearchIndex searchIndex = new ApplicantSearchIndex();
+		ReflectionTestUtils.setField(searchIndex, "userRepository", repository);
+		assertFalse(searchIndex.isReady());
+
+		CompletableFuture<Void> rebuild = CompletableFuture.runAsync(searchIndex::rebuild);
+		assertTrue(reading.await(5, TimeUnit.SECONDS));
+		searchIndex.indexed(user("u2", "Neha Shah", "neha@example.com", null));
+		proceed.countDown();
+		rebuild.get(5, TimeUnit.SECONDS);
+
+		assertTrue(searchIndex.isReady());
+		assertEquals(List.of("u1"), ids(searchIndex.search("asha", 0, 10)));
+		assertEquals(List.of("u2"), ids(searchIndex.search("neha", 0, 10)));
+	}
+}
@@ -0,0 +1,93 @@
+package com.loan.service;
+
+import com.loan.entity.LoanApplication;
+import com.loan.repository.embedded.EmbeddedCollection;
+import com.loan.repository.embedded.EmbeddedLoanApplicationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ApplicationVersionTests {
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedCollection<LoanApplication> collection;
+	private EmbeddedLoanApplicationRepository repository;
+	private LoanApplicationService service;
+	private LocalDateTime clock = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+	@BeforeEach
+	void setUp() throws IOException {
+		collection = new EmbeddedCollection<>("loan_applications", LoanApplication.class,
+				LoanApplication::getId, LoanApplication::setId,
+				directory.resolve("loan_applications.log"), 4096, false, 0.5, Integer.MAX_VALUE);
+		repository = new EmbeddedLoanApplicationRepository(collection);
+		service = new LoanApplicationService();
+		ReflectionTestUtils.setField(service, "loanApplicationRepository", repository);
+		ReflectionTestUtils.setField(service, "adminApplicationRepository", mock(ObjectProvider.class));
+		ReflectionTestUtils.setField(service, "bulkStatusMaxApplications", 500);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		collection.close();
+	}
+
+	private LoanApplication application(String email) {
+		LoanApplication application = new LoanApplication("Asha Rao", email, "9876543210", 30,
+				900000, 720, 10000, 500000, 36, "SALARIED", "HOME");
+		application.setStatus("PENDING");
+		clock = clock.plusSeconds(1);
+		application.setCreatedAt(clock);
+		application.setUpdatedAt(clock);
+		return repository.save(application);
+	}
+
+	@Test
+	void probesAgreeWithTheFullDocuments() {
+		LoanApplication first = application("asha@example.com");
+		application("asha@example.com");
+		application("neha@example.com");
+
+		assertEquals(LoanApplicationService.versionOf(first), service.getApplicationVersion(first.getId()).orElseThrow());
+		assertTrue(service.getApplicationVersion("missing").isEmpty());
+		// The full list is newest first, the probe is not; the version ignores order
+		List<LoanApplication> applications = service.getApplicationsByEmail("asha@example.com");
+		assertEquals(LoanApplicationService.versionOf(applications), service.getApplicationsVersionByEmail("asha@example.com"));
+		assertNotEquals(service.getApplicationsVersionByEmail("asha@example.com"), service.getApplicationsVersionByEmail("neha@example.com"));
+		assertEquals(LoanApplicationService.versionOf(List.of()), service.getApplicationsVersionByEmail("nobody@example.com"));
+	}
+
+	@Test
+	void versionsMoveWithInsertsAndStatusChanges() {
+		LoanApplication first = application("asha@example.com");
+		long applicationVersion = service.getApplicationVersion(first.getId()).orElseThrow();
+		long listVersion = service.getApplicationsVersionByEmail("asha@example.com");
+		long statsVersion = service.getStatsVersion();
+		assertEquals(statsVersion, service.getStatsVersion());
+
+		application("asha@example.com");
+		assertEquals(applicationVersion, service.getApplicationVersion(first.getId()).orElseThrow());
+		assertNotEquals(listVersion, service.getApplicationsVersionByEmail("asha@example.com"));
+		assertNotEquals(statsVersion, service.getStatsVersion());
+
+		listVersion = service.getApplicationsVersionByEmail("asha@example.com");
+		statsVersion = service.getStatsVersion();
+		service.updateApplicationStatuses(List.of(first.getId()), "APPROVED");
+		assertNotEquals(applicationVersion, service.getApplicationVersion(first.getId()).orElseThrow());
+		assertNotEquals(listVersion, service.getApplicationsVersionByEmail("asha@example.com"));
+		assertNotEquals(statsVersion, service.getStatsVersion());
+	}
+}
@@ -0,0 +1,56 @@
+package com.loan.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTests {
+
+	@Test
+	void neverReportsAnAddedKeyAsMissing() {
+		BloomFilter filter = new BloomFilter(100_000, 0.01);
+		for (int i = 0; i < 100_000; i++) {
+			filter.put("save-application:key-" + i);
+		}
+		for (int i = 0; i < 100_000; i++) {
+			assertTrue(filter.mightContain("save-application:key-" + i), "false negative for key-" + i);
+		}
+	}
+
+	@Test
+	void concurrentPutsAreNotLost() {
+		BloomFilter filter = new BloomFilter(80_000, 0.01);
+		CompletableFuture<?>[] writers = IntStream.range(0, 8)
+				.mapToObj(t -> CompletableFuture.runAsync(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						filter.put("t" + t + "-" + i);
+					}
+				}))
+				.toArray(CompletableFuture[]::new);
+		CompletableFuture.allOf(writers).join();
+
+		for (int t = 0; t < 8; t++) {
+			for (int i = 0; i < 10_000; i++) {
+				assertTrue(filter.mightContain("t" + t + "-" + i));
+			}
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTheConfiguredRate() {
+		BloomFilter filter = new BloomFilter(50_000, 0.01);
+		for (int i = 0; i < 50_000; i++) {
+			filter.put("present-" + i);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("absent-" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 2_000, "false positive rate " + falsePositives / 100_000.0);
+	}
+}
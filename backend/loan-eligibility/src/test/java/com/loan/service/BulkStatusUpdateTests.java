@@ -0,0 +1,138 @@
+package com.loan.service;
+
+import com.loan.entity.LoanApplication;
+import com.loan.repository.LoanApplicationRepository;
+import com.loan.repository.embedded.EmbeddedCollection;
+import com.loan.repository.embedded.EmbeddedLoanApplicationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+
+class BulkStatusUpdateTests {
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedCollection<LoanApplication> collection;
+	private EmbeddedLoanApplicationRepository repository;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		collection = new EmbeddedCollection<>("loan_applications", LoanApplication.class,
+				LoanApplication::getId, LoanApplication::setId,
+				directory.resolve("loan_applications.log"), 4096, false, 0.5, Integer.MAX_VALUE);
+		repository = new EmbeddedLoanApplicationRepository(collection);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		collection.close();
+	}
+
+	private LoanApplicationService service(LoanApplicationRepository repository, int maxApplications) {
+		LoanApplicationService service = new LoanApplicationService();
+		ReflectionTestUtils.setField(service, "loanApplicationRepository", repository);
+		ReflectionTestUtils.setField(service, "adminApplicationRepository", mock(ObjectProvider.class));
+		ReflectionTestUtils.setField(service, "bulkStatusMaxApplications", maxApplications);
+		return service;
+	}
+
+	private String application(String status, boolean eligible) {
+		LoanApplication application = new LoanApplication("Asha Rao", "asha@example.com", "9876543210", 30,
+				900000, 720, 10000, 500000, 36, "SALARIED", "HOME");
+		application.setStatus(status);
+		application.setEligible(eligible);
+		return repository.save(application).getId();
+	}
+
+	private static Map<String, String> outcomes(LoanApplicationService.BulkStatusResult result) {
+		return result.getResults().stream().collect(Collectors.toMap(
+				LoanApplicationService.StatusChangeOutcome::getId, LoanApplicationService.StatusChangeOutcome::getOutcome));
+	}
+
+	@Test
+	void reportsAnOutcomePerRequestedId() {
+		String pending = application("PENDING", true);
+		String processing = application("PROCESSING", true);
+		String approved = application("APPROVED", true);
+		String rejected = application("REJECTED", false);
+
+		LoanApplicationService.BulkStatusResult result = service(repository, 500)
+				.updateApplicationStatuses(List.of(pending, processing, approved, rejected, "missing", pending), "APPROVED");
+
+		assertEquals(2, result.getUpdated());
+		// Request order, duplicates collapsed
+		assertEquals(List.of(pending, processing, approved, rejected, "missing"),
+				result.getResults().stream().map(LoanApplicationService.StatusChangeOutcome::getId).toList());
+		assertEquals(Map.of(pending, "UPDATED", processing, "UPDATED", approved, "UNCHANGED",
+				rejected, "INVALID_TRANSITION", "missing", "NOT_FOUND"), outcomes(result));
+		assertEquals("PROCESSING", result.getResults().get(1).getPreviousStatus());
+		assertEquals("APPROVED", repository.findById(pending).get().getStatus());
+		assertEquals("REJECTED", repository.findById(rejected).get().getStatus());
+	}
+
+	@Test
+	void applicationsChangedByAnotherReviewerAreConflicts() {
+		String first = application("PENDING", true);
+		String second = application("PENDING", true);
+		LoanApplicationRepository racing = spy(repository);
+		// Another reviewer rejects the second application between the read and the update
+		doAnswer(invocation -> {
+			LoanApplication other = repository.findById(second).get();
+			other.setStatus("REJECTED");
+			repository.save(other);
+			return invocation.callRealMethod();
+		}).when(racing).updateStatusByIdInAndStatusIn(any(), any(), any(), any());
+
+		LoanApplicationService.BulkStatusResult result = service(racing, 500)
+				.updateApplicationStatuses(List.of(first, second), "APPROVED");
+
+		assertEquals(1, result.getUpdated());
+		assertEquals(Map.of(first, "UPDATED", second, "CONFLICT"), outcomes(result));
+		assertEquals("REJECTED", repository.findById(second).get().getStatus());
+	}
+
+	@Test
+	void filterSelectsByStatusAndEligibility() {
+		String eligible = application("PENDING", true);
+		String ineligible = application("PENDING", false);
+		application("APPROVED", true);
+
+		LoanApplicationService.BulkStatusResult result = service(repository, 500)
+				.updateApplicationStatusesMatching("PENDING", false, "REJECTED");
+
+		assertEquals(Map.of(ineligible, "UPDATED"), outcomes(result));
+		assertEquals("PENDING", repository.findById(eligible).get().getStatus());
+
+		result = service(repository, 500).updateApplicationStatusesMatching("PENDING", null, "PROCESSING");
+		assertEquals(Map.of(eligible, "UPDATED"), outcomes(result));
+	}
+
+	@Test
+	void rejectsUnknownStatusesAndOversizedBatches() {
+		for (int i = 0; i < 3; i++) {
+			application("PENDING", true);
+		}
+		LoanApplicationService service = service(repository, 2);
+
+		assertThrows(IllegalArgumentException.class, () -> service.updateApplicationStatuses(List.of("a"), "CLOSED"));
+		assertThrows(IllegalArgumentException.class, () -> service.updateApplicationStatuses(List.of("a", "b", "c"), "APPROVED"));
+		assertThrows(IllegalArgumentException.class, () -> service.updateApplicationStatusesMatching("PENDING", null, "APPROVED"));
+		assertEquals(3, repository.countByStatus("PENDING"));
+	}
+}
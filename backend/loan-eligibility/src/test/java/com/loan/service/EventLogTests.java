@@ -0,0 +1,156 @@
+package com.loan.service;
+
+import com.loan.config.EventLogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogTests {
+
+	@Test
+	void ringBufferRefusesWhenFullAndKeepsOrderAcrossLaps() {
+		EventLog.RingBuffer<Integer> buffer = new EventLog.RingBuffer<>(3);
+		assertEquals(4, buffer.capacity());
+		for (int lap = 0; lap < 3; lap++) {
+			for (int i = 0; i < 4; i++) {
+				assertTrue(buffer.offer(lap * 10 + i));
+			}
+			assertFalse(buffer.offer(99));
+			for (int i = 0; i < 4; i++) {
+				assertEquals(lap * 10 + i, buffer.poll());
+			}
+			assertNull(buffer.poll());
+			assertTrue(buffer.isEmpty());
+		}
+	}
+
+	@Test
+	void concurrentProducersLoseNothingThatWasAccepted() throws Exception {
+		EventLog.RingBuffer<Integer> buffer = new EventLog.RingBuffer<>(64);
+		ExecutorService producers = Executors.newFixedThreadPool(4);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> accepted = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			int producer = t;
+			accepted.add(producers.submit(() -> {
+				start.await();
+				int count = 0;
+				for (int i = 0; i < 20_000; i++) {
+					if (buffer.offer(producer * 1_000_000 + i)) {
+						count++;
+					}
+				}
+				return count;
+			}));
+		}
+		start.countDown();
+
+		int[] lastSeen = {-1, -1, -1, -1};
+		int consumed = 0;
+		while (!allDone(accepted) || !buffer.isEmpty()) {
+			Integer value = buffer.poll();
+			if (value == null) {
+				Thread.onSpinWait();
+				continue;
+			}
+			// Each producer's accepted elements come out in the order it offered them
+			int producer = value / 1_000_000;
+			assertTrue(value % 1_000_000 > lastSeen[producer]);
+			lastSeen[producer] = value % 1_000_000;
+			consumed++;
+		}
+		producers.shutdown();
+
+		int total = 0;
+		for (Future<Integer> result : accepted) {
+			total += result.get(10, TimeUnit.SECONDS);
+		}
+		assertEquals(total, consumed);
+	}
+
+	@Test
+	void writesSampledEventsAsJsonLines() throws Exception {
+		List<String> lines = new CopyOnWriteArrayList<>();
+		EventLogProperties properties = new EventLogProperties();
+		properties.setSampleRates(Map.of("auth.login.success", 0.0));
+		EventLog eventLog = eventLog(properties, (line, error) -> lines.add(line));
+
+		eventLog.log("auth.login.success", "email", "asha@example.com");
+		eventLog.log("auth.login.failure", "email", "a\"sha@example.com", "reason", "bad_password");
+		eventLog.log("application.submitted", "eligible", true, "requestedAmount", 500000.0, "userId", null);
+		eventLog.log("auth.login.error", "email", "neha@example.com", new IllegalStateException("boom"));
+		eventLog.shutdown();
+
+		assertEquals(3, lines.size());
+		assertTrue(lines.get(0).matches("\\{\"ts\":\"[^\"]+Z\",\"event\":\"auth.login.failure\","
+				+ "\"email\":\"a\\\\\"sha@example.com\",\"reason\":\"bad_password\"}"), lines.get(0));
+		assertTrue(lines.get(1).endsWith("\"event\":\"application.submitted\",\"eligible\":true,"
+				+ "\"requestedAmount\":500000.0,\"userId\":null}"), lines.get(1));
+		assertTrue(lines.get(2).endsWith("\"email\":\"neha@example.com\",\"error\":\"java.lang.IllegalStateException: boom\"}"),
+				lines.get(2));
+	}
+
+	@Test
+	void dropsAndCountsEventsWhenTheBufferIsFull() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<String> lines = new CopyOnWriteArrayList<>();
+		EventLogProperties properties = new EventLogProperties();
+		properties.setCapacity(4);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		EventLog eventLog = eventLog(properties, registry, (line, error) -> {
+			writing.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			lines.add(line);
+		});
+
+		// The writer takes the first event and stalls in the sink; four more fill the buffer
+		eventLog.log("auth.login.failure", "n", 0);
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+		long started = System.nanoTime();
+		for (int i = 1; i <= 7; i++) {
+			eventLog.log("auth.login.failure", "n", i);
+		}
+		assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1));
+		assertEquals(3, registry.get("event.log.dropped").tag("event", "auth.login.failure").counter().count());
+
+		release.countDown();
+		eventLog.shutdown();
+		assertEquals(5, lines.size());
+		assertTrue(lines.get(4).contains("\"n\":4"));
+	}
+
+	private static boolean allDone(List<Future<Integer>> futures) {
+		return futures.stream().allMatch(Future::isDone);
+	}
+
+	private static EventLog eventLog(EventLogProperties properties, BiConsumer<String, Throwable> sink) {
+		return eventLog(properties, new SimpleMeterRegistry(), sink);
+	}
+
+	private static EventLog eventLog(EventLogProperties properties, SimpleMeterRegistry registry, BiConsumer<String, Throwable> sink) {
+		EventLog eventLog = new EventLog();
+		ReflectionTestUtils.setField(eventLog, "properties", properties);
+		ReflectionTestUtils.setField(eventLog, "meterRegistry", registry);
+		ReflectionTestUtils.setField(eventLog, "sink", sink);
+		eventLog.init();
+		return eventLog;
+	}
+}
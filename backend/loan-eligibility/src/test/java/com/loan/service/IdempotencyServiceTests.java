@@ -0,0 +1,218 @@
+package com.loan.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loan.entity.IdempotencyRecord;
+import com.loan.repository.IdempotencyRecordRepository;
+import com.loan.repository.embedded.EmbeddedCollection;
+import com.loan.repository.embedded.EmbeddedIdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class IdempotencyServiceTests {
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedCollection<IdempotencyRecord> collection;
+	private EmbeddedIdempotencyRecordRepository repository;
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() throws IOException {
+		collection = new EmbeddedCollection<>("idempotency_keys", IdempotencyRecord.class,
+				IdempotencyRecord::getId, IdempotencyRecord::setId,
+				directory.resolve("idempotency_keys.log"), 4096, false, 0.5, Integer.MAX_VALUE);
+		repository = new EmbeddedIdempotencyRecordRepository(collection);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		collection.close();
+	}
+
+	private IdempotencyService service(IdempotencyRecordRepository repository, long leaseMs) {
+		IdempotencyService service = new IdempotencyService();
+		ReflectionTestUtils.setField(service, "idempotencyRecordRepository", repository);
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(service, "expectedKeys", 1000L);
+		ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+		ReflectionTestUtils.setField(service, "inProgressLeaseMs", leaseMs);
+		service.init();
+		return service;
+	}
+
+	private ResponseEntity<?> saved() {
+		return ResponseEntity.ok(Map.of("applicationId", "app-" + runs.incrementAndGet()));
+	}
+
+	@Test
+	void retryReplaysTheStoredResponse() {
+		IdempotencyService service = service(repository, 30000);
+		ResponseEntity<?> first = service.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+		ResponseEntity<?> retry = service.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+
+		assertEquals(1, runs.get());
+		assertEquals(200, retry.getStatusCode().value());
+		assertEquals("true", retry.getHeaders().getFirst("Idempotent-Replayed"));
+		assertEquals("{\"applicationId\":\"app-1\"}", retry.getBody().toString());
+		assertNull(first.getHeaders().getFirst("Idempotent-Replayed"));
+
+		// Keys are scoped per endpoint
+		service.execute("key-1", "check-eligibility-and-save", Map.of("amount", 1), this::saved);
+		assertEquals(2, runs.get());
+	}
+
+	@Test
+	void reusingAKeyWithADifferentBodyIsRejected() {
+		IdempotencyService service = service(repository, 30000);
+		service.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+		ResponseEntity<?> reused = service.execute("key-1", "save-application", Map.of("amount", 2), this::saved);
+
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+		assertEquals("IDEMPOTENCY_KEY_REUSED", ((Map<?, ?>) reused.getBody()).get("code"));
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void concurrentRetryWhileInFlightGetsConflict() throws Exception {
+		IdempotencyService service = service(repository, 30000);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+				service.execute("key-1", "save-application", Map.of("amount", 1), () -> {
+					running.countDown();
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return saved();
+				}));
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+
+		ResponseEntity<?> concurrent = service.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+		assertEquals(HttpStatus.CONFLICT, concurrent.getStatusCode());
+		assertEquals("IDEMPOTENCY_KEY_IN_PROGRESS", ((Map<?, ?>) concurrent.getBody()).get("code"));
+
+		release.countDown();
+		assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatusCode().value());
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void failedAttemptsReleaseTheKey() {
+		IdempotencyService service = service(repository, 30000);
+		ResponseEntity<?> failed = service.execute("key-1", "save-application", Map.of("amount", 1),
+				() -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("success", false)));
+		assertEquals(500, failed.getStatusCode().value());
+		assertThrows(IllegalStateException.class, () -> service.execute("key-1", "save-application", Map.of("amount", 1),
+				() -> { throw new IllegalStateException("boom"); }));
+		assertEquals(0, repository.count());
+
+		ResponseEntity<?> retry = service.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+		assertEquals(200, retry.getStatusCode().value());
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void claimLeftByACrashedInstanceCanBeReclaimedAfterItsLease() {
+		IdempotencyService service = service(repository, 30000);
+		IdempotencyRecord abandoned = new IdempotencyRecord("save-application:key-1", "whatever",
+				"dead-owner", LocalDateTime.now().minusSeconds(1));
+		repository.insert(abandoned);
+
+		ResponseEntity<?> response = service.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+		assertEquals(200, response.getStatusCode().value());
+		assertEquals(1, runs.get());
+		assertEquals("COMPLETED", repository.findById("save-application:key-1").orElseThrow().getStatus());
+	}
+
+	@Test
+	void expiredRecordIsReclaimedAfterRestart() {
+		// A record past the TTL that neither Mongo's TTL monitor nor the embedded sweep has removed yet;
+		// the new service instance has an empty Bloom filter, so it goes straight to the insert
+		IdempotencyService before = service(repository, 30000);
+		before.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+		IdempotencyRecord stored = repository.findById("save-application:key-1").orElseThrow();
+		stored.setCreatedAt(LocalDateTime.now().minusHours(IdempotencyRecord.TTL_HOURS + 1));
+		repository.save(stored);
+
+		IdempotencyService restarted = service(repository, 30000);
+		ResponseEntity<?> response = restarted.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+		assertEquals(200, response.getStatusCode().value());
+		assertNull(response.getHeaders().getFirst("Idempotent-Replayed"));
+		assertEquals(2, runs.get());
+	}
+
+	@Test
+	void failedCompletionSaveStillAnswersAndReleasesTheKey() {
+		IdempotencyRecordRepository failingSaves = spy(repository);
+		doThrow(new DataAccessResourceFailureException("disk full")).when(failingSaves)
+				.completeByIdAndClaimToken(anyString(), anyString(), anyInt(), anyString());
+		IdempotencyService service = service(failingSaves, 30000);
+
+		ResponseEntity<?> response = service.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+		assertEquals(200, response.getStatusCode().value());
+		assertEquals(0, repository.count());
+
+		// Not stuck IN_PROGRESS: the next attempt runs
+		service.execute("key-1", "save-application", Map.of("amount", 1), this::saved);
+		assertEquals(2, runs.get());
+	}
+
+	@Test
+	void completionAfterALostLeaseLeavesTheNewClaimAlone() {
+		IdempotencyService service = service(repository, 30000);
+		ResponseEntity<?> response = service.execute("key-1", "save-application", Map.of("amount", 1), () -> {
+			// Meanwhile our lease ran out and another request took the key and finished
+			IdempotencyRecord ours = repository.findById("save-application:key-1").orElseThrow();
+			repository.deleteByIdAndClaimToken(ours.getId(), ours.getClaimToken());
+			IdempotencyRecord theirs = new IdempotencyRecord(ours.getId(), ours.getRequestHash(), "other-owner", null);
+			theirs.setStatus("COMPLETED");
+			theirs.setHttpStatus(200);
+			theirs.setResponseBody("{\"applicationId\":\"theirs\"}");
+			repository.insert(theirs);
+			return saved();
+		});
+
+		assertEquals(200, response.getStatusCode().value());
+		IdempotencyRecord stored = repository.findById("save-application:key-1").orElseThrow();
+		assertEquals("other-owner", stored.getClaimToken());
+		assertEquals("{\"applicationId\":\"theirs\"}", stored.getResponseBody());
+	}
+
+	@Test
+	void ttlSweepRemovesExpiredRecords() {
+		IdempotencyService service = service(repository, 30000);
+		service.execute("old", "save-application", Map.of("amount", 1), this::saved);
+		service.execute("new", "save-application", Map.of("amount", 1), this::saved);
+		IdempotencyRecord old = repository.findById("save-application:old").orElseThrow();
+		old.setCreatedAt(LocalDateTime.now().minusHours(IdempotencyRecord.TTL_HOURS + 1));
+		repository.save(old);
+
+		assertEquals(1, repository.deleteExpired());
+		assertFalse(repository.existsById("save-application:old"));
+		assertTrue(repository.existsById("save-application:new"));
+	}
+}
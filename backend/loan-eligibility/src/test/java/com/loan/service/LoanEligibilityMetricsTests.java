@@ -0,0 +1,64 @@
+package com.loan.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoanEligibilityMetricsTests {
+
+	private SimpleMeterRegistry registry;
+	private LoanEligibilityService service;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		service = new LoanEligibilityService();
+		ReflectionTestUtils.setField(service, "meterRegistry", registry);
+		service.registerMetrics();
+	}
+
+	@Test
+	void countsDecisionsByOutcomeAndRejectionReason() {
+		service.checkEligibility(request(30, 1_200_000, 780, 0, 2_000_000));
+		service.checkEligibility(request(30, 600_000, 720, 0, 50_000_000));
+		service.checkEligibility(request(17, 1_200_000, 780, 0, 2_000_000));
+		service.checkEligibility(request(30, 1_200_000, 600, 0, 2_000_000));
+		service.checkEligibility(request(30, 1_200_000, 600, 0, 2_000_000));
+		service.checkEligibility(request(30, 1_200_000, 780, 50_000, 2_000_000));
+		service.checkEligibility(null);
+
+		assertEquals(1, decisions("approved", "none"));
+		assertEquals(1, decisions("approved_capped", "none"));
+		assertEquals(1, decisions("rejected", "age"));
+		assertEquals(2, decisions("rejected", "credit_score"));
+		assertEquals(1, decisions("rejected", "debt_to_income"));
+		assertEquals(1, decisions("rejected", "invalid_request"));
+		assertEquals(0, decisions("rejected", "income"));
+		assertEquals(7, registry.get("loan.eligibility.check").timer().count());
+	}
+
+	@Test
+	void recordsOnlyApprovedAmounts() {
+		LoanEligibilityService.EligibilityResult capped = service.checkEligibility(request(30, 600_000, 720, 0, 50_000_000));
+		service.checkEligibility(request(30, 1_200_000, 780, 0, 2_000_000));
+		service.checkEligibility(request(30, 1_200_000, 600, 0, 2_000_000));
+
+		DistributionSummary amounts = registry.get("loan.eligibility.approved.amount").summary();
+		assertEquals(2, amounts.count());
+		assertEquals(2_000_000 + capped.getApprovedAmount(), amounts.totalAmount(), 0.01);
+	}
+
+	private double decisions(String outcome, String reason) {
+		return registry.get("loan.eligibility.decisions").tag("outcome", outcome).tag("reason", reason).counter().count();
+	}
+
+	private static LoanEligibilityService.EligibilityRequest request(int age, double income, int creditScore,
+			double monthlyDebt, double amount) {
+		return new LoanEligibilityService.EligibilityRequest("Applicant", age, income, creditScore, monthlyDebt, amount,
+				120, "SALARIED");
+	}
+}
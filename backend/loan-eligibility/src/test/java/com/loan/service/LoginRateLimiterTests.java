@@ -0,0 +1,114 @@
+package com.loan.service;
+
+import com.loan.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTests {
+
+	private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+	@Test
+	void allowsABurstThenRefillsAtTheConfiguredRate() {
+		// 3 attempts at once, then one every 10 seconds
+		LoginRateLimiter.TokenBuckets buckets = new LoginRateLimiter.TokenBuckets(3, 6, 100, now::get);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, buckets.tryAcquire("asha@example.com"));
+		}
+		assertEquals(TimeUnit.SECONDS.toNanos(10), buckets.tryAcquire("asha@example.com"));
+		assertEquals(0, buckets.tryAcquire("neha@example.com"));
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+		assertEquals(TimeUnit.SECONDS.toNanos(6), buckets.tryAcquire("asha@example.com"));
+		now.addAndGet(TimeUnit.SECONDS.toNanos(6));
+		assertEquals(0, buckets.tryAcquire("asha@example.com"));
+		assertTrue(buckets.tryAcquire("asha@example.com") > 0);
+	}
+
+	@Test
+	void concurrentAttemptsNeverExceedTheBurst() throws Exception {
+		LoginRateLimiter.TokenBuckets buckets = new LoginRateLimiter.TokenBuckets(50, 1, 100, now::get);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			results.add(pool.submit(() -> {
+				start.await();
+				int granted = 0;
+				for (int i = 0; i < 100; i++) {
+					if (buckets.tryAcquire("10.0.0.1") == 0) {
+						granted++;
+					}
+				}
+				return granted;
+			}));
+		}
+		start.countDown();
+		int granted = 0;
+		for (Future<Integer> result : results) {
+			granted += result.get(10, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+		assertEquals(50, granted);
+	}
+
+	@Test
+	void idleKeysAreSweptAndOverflowKeysStayLimited() {
+		LoginRateLimiter.TokenBuckets buckets = new LoginRateLimiter.TokenBuckets(1, 60, 4, now::get);
+		for (int i = 0; i < 4; i++) {
+			assertEquals(0, buckets.tryAcquire("user" + i));
+		}
+		assertEquals(4, buckets.size());
+
+		// The map is full of live buckets, so a new key shares an overflow bucket - still limited
+		assertEquals(0, buckets.tryAcquire("late"));
+		assertTrue(buckets.tryAcquire("late") > 0);
+		assertEquals(4, buckets.size());
+
+		// Once refilled the buckets hold no state and are dropped to make room
+		now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+		assertEquals(0, buckets.tryAcquire("fresh"));
+		assertEquals(1, buckets.size());
+	}
+
+	@Test
+	void limitsByClientIpBeforeEmail() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		LoginRateLimiter limiter = new LoginRateLimiter();
+		ReflectionTestUtils.setField(limiter, "meterRegistry", registry);
+		ReflectionTestUtils.setField(limiter, "enabled", true);
+		ReflectionTestUtils.setField(limiter, "emailBurst", 2);
+		ReflectionTestUtils.setField(limiter, "emailPerMinute", 1);
+		ReflectionTestUtils.setField(limiter, "ipBurst", 2);
+		ReflectionTestUtils.setField(limiter, "ipPerMinute", 1);
+		ReflectionTestUtils.setField(limiter, "maxKeys", 100);
+		limiter.init();
+
+		limiter.acquire("asha@example.com", "10.0.0.1");
+		limiter.acquire(" ASHA@example.com", "10.0.0.2");
+		GlobalExceptionHandler.TooManyLoginAttemptsException byEmail = assertThrows(
+				GlobalExceptionHandler.TooManyLoginAttemptsException.class, () -> limiter.acquire("asha@example.com", "10.0.0.3"));
+		assertTrue(byEmail.getRetryAfterSeconds() > 0 && byEmail.getRetryAfterSeconds() <= 60);
+
+		limiter.acquire("neha@example.com", "10.0.0.1");
+		assertThrows(GlobalExceptionHandler.TooManyLoginAttemptsException.class, () -> limiter.acquire("ravi@example.com", "10.0.0.1"));
+		// The IP refusal did not use ravi's email budget
+		limiter.acquire("ravi@example.com", "10.0.0.4");
+		limiter.acquire("ravi@example.com", "10.0.0.5");
+
+		assertEquals(1, registry.get("auth.login.rate-limited").tag("key", "email").counter().count());
+		assertEquals(1, registry.get("auth.login.rate-limited").tag("key", "ip").counter().count());
+	}
+}
@@ -0,0 +1,89 @@
+package com.loan.service;
+
+import com.loan.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private PasswordHashingService service;
+
+	private PasswordHashingService service(int threads, int queueCapacity, boolean calibrate) {
+		service = new PasswordHashingService();
+		ReflectionTestUtils.setField(service, "meterRegistry", registry);
+		ReflectionTestUtils.setField(service, "threads", threads);
+		ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(service, "targetMs", 250L);
+		ReflectionTestUtils.setField(service, "minCost", 4);
+		ReflectionTestUtils.setField(service, "maxCost", 14);
+		ReflectionTestUtils.setField(service, "calibrate", calibrate);
+		service.init();
+		return service;
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void encodesAndVerifiesOnThePool() {
+		PasswordHashingService service = service(2, 8, false);
+		String hash = service.encodeAndWait("secret123");
+
+		assertTrue(hash.startsWith("$2a$04$"));
+		assertTrue(service.matchesAndWait("secret123", hash));
+		assertFalse(service.matchesAndWait("wrong", hash));
+		assertFalse(service.matchesAndWait("secret123", null));
+		assertEquals(3, registry.get("auth.password.hashing").tag("operation", "matches").timer().count());
+		assertEquals(1, registry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+	}
+
+	@Test
+	void refusesWorkOnceTheQueueIsFull() throws Exception {
+		PasswordHashingService service = service(1, 1, false);
+		ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch running = new CountDownLatch(1);
+		executor.execute(() -> {
+			running.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+
+		CompletableFuture<String> queued = service.encode("secret123");
+		assertThrows(GlobalExceptionHandler.PasswordHashingBusyException.class, () -> service.encode("secret123"));
+		assertThrows(GlobalExceptionHandler.PasswordHashingBusyException.class, () -> service.matchesAndWait("secret123", "$2a$04$x"));
+		assertEquals(2, registry.get("auth.password.hashing.rejected").counter().count());
+		assertEquals(1, registry.get("auth.password.hashing.queue").gauge().value());
+
+		release.countDown();
+		assertTrue(service.matchesAndWait("secret123", queued.get(5, TimeUnit.SECONDS)));
+	}
+
+	@Test
+	void calibrationPicksTheLargestCostWithinTheTarget() {
+		// 60 ms at cost 10 -> 120 ms at 11 -> 240 ms at 12
+		assertEquals(12, PasswordHashingService.costFor(60, 250, 10, 14));
+		assertEquals(11, PasswordHashingService.costFor(60, 239, 10, 14));
+		assertEquals(10, PasswordHashingService.costFor(400, 250, 10, 14));
+		assertEquals(14, PasswordHashingService.costFor(1, 10000, 10, 14));
+
+		int cost = service(1, 4, true).getCost();
+		assertTrue(cost >= 4 && cost <= 14);
+	}
+}
@@ -0,0 +1,172 @@
+package com.loan.service;
+
+import com.loan.entity.LoanApplication;
+import com.loan.repository.LoanApplicationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RangeIndexTests {
+
+	private static PrimitiveRangeIndex index(int... keysAndIds) {
+		int[] keys = new int[keysAndIds.length];
+		String[] ids = new String[keysAndIds.length];
+		for (int i = 0; i < keysAndIds.length; i++) {
+			keys[i] = keysAndIds[i];
+			ids[i] = "id-" + i;
+		}
+		return new PrimitiveRangeIndex(keys, ids);
+	}
+
+	private static LoanApplication application(String id, int creditScore, double requestedAmount, boolean eligible) {
+		LoanApplication application = new LoanApplication();
+		application.setId(id);
+		application.setCreditScore(creditScore);
+		application.setRequestedAmount(requestedAmount);
+		application.setEligible(eligible);
+		return application;
+	}
+
+	@Test
+	void rangeIsInclusiveAndOrderedAcrossBaseAndPendingRuns() {
+		PrimitiveRangeIndex index = index(720, 650, 800, 700);
+		index.add(710, "new-710");
+		index.add(700, "new-700");
+
+		assertEquals(List.of("id-3", "new-700", "new-710", "id-0"), index.range(700, 720));
+		assertEquals(List.of(), index.range(801, 900));
+		assertEquals(6, index.size());
+	}
+
+	@Test
+	void duplicateAddIsIgnored() {
+		PrimitiveRangeIndex index = index(700);
+		index.add(700, "id-0");
+		index.add(710, "x");
+		index.add(710, "x");
+
+		assertEquals(List.of("id-0", "x"), index.range(0, 1000));
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	void removedEntriesAreTombstonedAndDroppedOnMerge() {
+		PrimitiveRangeIndex index = index(700, 710, 720);
+		index.remove(710, "id-1");
+		index.add(715, "pending");
+		index.remove(715, "pending");
+		// Removing with the wrong key is a no-op
+		index.remove(999, "id-0");
+
+		assertEquals(List.of("id-0", "id-2"), index.range(0, 1000));
+		assertEquals(2, index.size());
+
+		// Overflow the pending run so it is merged into the base
+		for (int i = 0; i < 5000; i++) {
+			index.add(i, "bulk-" + i);
+		}
+		assertEquals(5002, index.size());
+		assertEquals(List.of("id-0", "bulk-700", "bulk-701"), index.range(700, 701));
+		assertFalse(index.range(0, Integer.MAX_VALUE).contains("id-1"));
+
+		index.remove(720, "id-2");
+		assertEquals(List.of("bulk-720"), index.range(720, 720));
+	}
+
+	@Test
+	void pendingRunOverflowKeepsEveryEntry() {
+		PrimitiveRangeIndex index = index();
+		for (int i = 4095; i >= 0; i--) {
+			index.add(i, "k" + i);
+		}
+		// The 4097th add triggers the merge
+		index.add(4096, "k4096");
+
+		List<String> all = index.range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+		assertEquals(4097, all.size());
+		for (int i = 0; i < all.size(); i++) {
+			assertEquals("k" + i, all.get(i));
+		}
+	}
+
+	@Test
+	void keyAtIntegerMaxValueSortsLast() {
+		PrimitiveRangeIndex index = index(5);
+		index.add(Integer.MAX_VALUE, "top");
+		index.add(Integer.MAX_VALUE, "top-2");
+		index.add(7, "seven");
+
+		assertEquals(List.of("id-0", "seven", "top", "top-2"), index.range(Integer.MIN_VALUE, Integer.MAX_VALUE));
+	}
+
+	@Test
+	void highValueQueryChecksTheExactAmountOfRupeeKeyedCandidates() {
+		LoanApplication below = application("below", 700, 500000.25, true);
+		LoanApplication at = application("at", 700, 500000.50, true);
+		LoanApplication ineligible = application("ineligible", 700, 900000, false);
+		LoanApplicationRepository repository = mock(LoanApplicationRepository.class);
+		when(repository.findAll()).thenReturn(new ArrayList<>(List.of(below, at, ineligible)));
+		when(repository.findAllById(List.of("below", "at"))).thenReturn(new ArrayList<>(List.of(below, at)));
+
+		ApplicationRangeIndex rangeIndex = new ApplicationRangeIndex();
+		ReflectionTestUtils.setField(rangeIndex, "loanApplicationRepository", repository);
+		ReflectionTestUtils.setField(rangeIndex, "adminApplicationRepository", mock(ObjectProvider.class));
+		rangeIndex.rebuild();
+		LoanApplicationService service = new LoanApplicationService();
+		ReflectionTestUtils.setField(service, "loanApplicationRepository", repository);
+		ReflectionTestUtils.setField(service, "adminApplicationRepository", mock(ObjectProvider.class));
+		ReflectionTestUtils.setField(service, "rangeIndex", rangeIndex);
+
+		// Both share the 500000 rupee key; only one is at least the requested amount
+		assertEquals(List.of("below", "at"), rangeIndex.idsOfEligibleWithAmountAtLeast(500000.50));
+		assertEquals(List.of(at), service.getHighValueEligibleApplications(500000.50));
+	}
+
+	@Test
+	void writesDuringRebuildAreReplayedOntoTheNewIndexes() throws Exception {
+		LoanApplication inSnapshot = application("a", 700, 600000, true);
+		LoanApplication deletedDuringRebuild = application("b", 710, 900000, true);
+		LoanApplication addedDuringRebuild = application("c", 705, 800000, true);
+
+		CountDownLatch reading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		LoanApplicationRepository repository = mock(LoanApplicationRepository.class);
+		when(repository.findAll()).thenAnswer(invocation -> {
+			reading.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return new ArrayList<>(List.of(inSnapshot, deletedDuringRebuild));
+		});
+
+		ApplicationRangeIndex index = new ApplicationRangeIndex();
+		ReflectionTestUtils.setField(index, "loanApplicationRepository", repository);
+		ReflectionTestUtils.setField(index, "adminApplicationRepository", mock(ObjectProvider.class));
+		assertFalse(index.isReady());
+
+		CompletableFuture<Void> rebuild = CompletableFuture.runAsync(index::rebuild);
+		assertTrue(reading.await(5, TimeUnit.SECONDS));
+		index.added(addedDuringRebuild);
+		index.added(inSnapshot);
+		index.removed(deletedDuringRebuild);
+		release.countDown();
+		rebuild.get(5, TimeUnit.SECONDS);
+
+		assertTrue(index.isReady());
+		assertEquals(List.of("a", "c"), index.idsByCreditScore(0, 900));
+		assertEquals(List.of("c"), index.idsOfEligibleWithAmountAtLeast(700000));
+
+		// After the rebuild, writes apply directly; ineligible applications stay out of the amount index
+		index.added(application("d", 690, 5000000, false));
+		assertEquals(List.of("d", "a"), index.idsByCreditScore(600, 700));
+		assertEquals(List.of(), index.idsOfEligibleWithAmountAtLeast(1000000));
+	}
+}
@@ -0,0 +1,74 @@
+package com.loan.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loan.controller.LoanController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupWarmUpTests {
+
+	@Test
+	void corpusTakesEveryBranchTheEndpointCanReach() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		LoanEligibilityService service = new LoanEligibilityService();
+		ReflectionTestUtils.setField(service, "meterRegistry", registry);
+		service.registerMetrics();
+
+		Set<Double> rates = new HashSet<>();
+		for (int i = 0; i < 400; i++) {
+			LoanEligibilityService.EligibilityRequest request = StartupWarmUp.eligibilityRequest(i, new Random(i));
+			if (request.getAge() >= 18) {
+				LoanEligibilityService.EligibilityResult result = service.checkEligibility(request);
+				if (result.isEligible()) {
+					rates.add(result.getInterestRate());
+				}
+			}
+		}
+
+		for (String[] decision : new String[][] {{"approved", "none"}, {"approved_capped", "none"},
+				{"rejected", "income"}, {"rejected", "credit_score"}, {"rejected", "debt_to_income"}}) {
+			assertTrue(registry.get("loan.eligibility.decisions").tags("outcome", decision[0], "reason", decision[1])
+					.counter().count() > 0, decision[0] + "/" + decision[1]);
+		}
+		assertEquals(Set.of(7.0, 7.5, 8.0, 8.5), rates);
+	}
+
+	@Test
+	void checksDuringWarmUpAreLeftOutOfTheMetrics() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		LoanEligibilityService service = new LoanEligibilityService();
+		ReflectionTestUtils.setField(service, "meterRegistry", registry);
+		service.registerMetrics();
+
+		service.setWarmingUp(true);
+		assertTrue(service.checkEligibility(StartupWarmUp.eligibilityRequest(5, new Random(5))).isEligible());
+		assertEquals(0, registry.get("loan.eligibility.check").timer().count());
+		assertEquals(0, registry.get("loan.eligibility.approved.amount").summary().count());
+		assertEquals(0, registry.get("loan.eligibility.decisions").counters().stream().mapToDouble(c -> c.count()).sum());
+
+		service.setWarmingUp(false);
+		service.checkEligibility(StartupWarmUp.eligibilityRequest(5, new Random(5)));
+		assertEquals(1, registry.get("loan.eligibility.decisions").tags("outcome", "approved", "reason", "none").counter().count());
+		assertEquals(1, registry.get("loan.eligibility.approved.amount").summary().count());
+	}
+
+	@Test
+	void onlyTheValidationCaseFailsRequestValidation() {
+		ObjectMapper mapper = new ObjectMapper();
+		Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+		for (int i = 0; i < 400; i++) {
+			LoanEligibilityService.EligibilityRequest request = StartupWarmUp.eligibilityRequest(i, new Random(i));
+			LoanController.EligibilityRequestDTO dto = mapper.convertValue(request, LoanController.EligibilityRequestDTO.class);
+			assertEquals(i % 8 == 0, !validator.validate(dto).isEmpty(), "request " + i);
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package com.loan.service;
+
+import com.loan.entity.LoanApplication;
+import com.loan.entity.User;
+import com.loan.exception.GlobalExceptionHandler;
+import com.loan.repository.LoanApplicationRepository;
+import com.loan.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubmissionScopeTests {
+
+	// Blocks until interrupted, then takes a moment to "clean up" so close() has something to wait for
+	private static Object blockUntilInterrupted(CountDownLatch started, AtomicBoolean interrupted, AtomicBoolean finished) {
+		started.countDown();
+		try {
+			new CountDownLatch(1).await();
+		} catch (InterruptedException e) {
+			interrupted.set(true);
+			long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+			while (System.nanoTime() < until) {
+				Thread.onSpinWait();
+			}
+		} finally {
+			finished.set(true);
+		}
+		return null;
+	}
+
+	@Test
+	void joinWaitsForEverySubtask() throws Exception {
+		Future<Integer> first;
+		Future<String> second;
+		try (SubmissionScope scope = new SubmissionScope()) {
+			first = scope.fork(() -> {
+				Thread.sleep(50);
+				return 1;
+			});
+			second = scope.fork(() -> "two");
+			scope.join(5000);
+		}
+		assertEquals(1, first.resultNow());
+		assertEquals("two", second.resultNow());
+	}
+
+	@Test
+	void firstFailureCancelsTheSiblingAndIsRethrown() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		AtomicBoolean finished = new AtomicBoolean();
+
+		try (SubmissionScope scope = new SubmissionScope()) {
+			scope.fork(() -> blockUntilInterrupted(started, interrupted, finished));
+			scope.fork(() -> {
+				started.await();
+				throw new IllegalArgumentException("eligibility failed");
+			});
+			ExecutionException failure = assertThrows(ExecutionException.class, () -> scope.join(5000));
+			assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+		}
+		assertTrue(interrupted.get());
+		assertTrue(finished.get());
+	}
+
+	@Test
+	void deadlineCancelsRemainingSubtasksAndCloseWaitsForThem() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		AtomicBoolean finished = new AtomicBoolean();
+
+		SubmissionScope scope = new SubmissionScope();
+		Future<Object> slow = scope.fork(() -> blockUntilInterrupted(started, interrupted, finished));
+		Future<String> fast = scope.fork(() -> "done");
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertThrows(TimeoutException.class, () -> scope.join(50));
+		assertTrue(slow.isCancelled());
+		assertEquals("done", fast.get());
+
+		scope.close();
+		// close() returns only once the interrupted subtask has actually finished
+		assertTrue(interrupted.get());
+		assertTrue(finished.get());
+	}
+
+	@Test
+	void closeWithoutJoinStopsSubtasks() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		AtomicBoolean finished = new AtomicBoolean();
+
+		try (SubmissionScope scope = new SubmissionScope()) {
+			scope.fork(() -> blockUntilInterrupted(started, interrupted, finished));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+		}
+		assertTrue(interrupted.get());
+		assertTrue(finished.get());
+	}
+
+	@Test
+	void timedOutUserLookupIsInterruptedBeforeTheServiceGivesUp() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		AtomicBoolean finished = new AtomicBoolean();
+
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findByEmail(any())).thenAnswer(invocation -> {
+			blockUntilInterrupted(started, interrupted, finished);
+			throw new IllegalStateException("lookup was cancelled");
+		});
+		LoanApplicationRepository applicationRepository = mock(LoanApplicationRepository.class);
+
+		LoanEligibilityService eligibilityService = new LoanEligibilityService();
+		ReflectionTestUtils.setField(eligibilityService, "meterRegistry", new SimpleMeterRegistry());
+		eligibilityService.registerMetrics();
+		LoanApplicationService service = new LoanApplicationService();
+		ReflectionTestUtils.setField(service, "userRepository", userRepository);
+		ReflectionTestUtils.setField(service, "loanApplicationRepository", applicationRepository);
+		ReflectionTestUtils.setField(service, "eligibilityService", eligibilityService);
+		ReflectionTestUtils.setField(service, "submissionTimeoutMs", 100L);
+
+		LoanEligibilityService.EligibilityRequest eligibilityRequest = new LoanEligibilityService.EligibilityRequest(
+				"Asha Rao", 32, 1500000, 760, 10000, 500000, 60, "SALARIED");
+		LoanApplicationService.LoanApplicationRequest request = new LoanApplicationService.LoanApplicationRequest();
+		request.setEmail("asha@example.com");
+
+		assertThrows(GlobalExceptionHandler.SubmissionTimeoutException.class,
+				() -> service.checkEligibilityAndSave(eligibilityRequest, request));
+		assertTrue(started.await(0, TimeUnit.SECONDS));
+		assertTrue(interrupted.get());
+		assertTrue(finished.get());
+		assertFalse(Thread.currentThread().isInterrupted());
+		verify(applicationRepository, never()).save(any(LoanApplication.class));
+		verify(userRepository, never()).save(any(User.class));
+	}
+}
@@ -0,0 +1,86 @@
+package com.loan.service;
+
+import com.loan.entity.LoanApplication;
+import com.loan.entity.User;
+import com.loan.repository.LoanApplicationRepository;
+import com.loan.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SubmissionTimingsTests {
+
+	@Test
+	void formatsCompletedPhasesInMillisecondsAndSkipsTheRest() {
+		SubmissionTimings timings = new SubmissionTimings();
+		assertEquals("", timings.serverTiming());
+
+		long now = System.nanoTime();
+		ReflectionTestUtils.setField(timings, "nanos", new long[] {412_345, -1, 3_008_000, 12_345_678_901L, 15_000});
+		assertEquals("validation;dur=0.412, user-upsert;dur=3.008, insert;dur=12345.678, total;dur=0.015",
+				timings.serverTiming());
+
+		timings.record(SubmissionTimings.Phase.ELIGIBILITY, now);
+		assertTrue(timings.nanos(SubmissionTimings.Phase.ELIGIBILITY) >= 0);
+	}
+
+	@Test
+	void serviceRecordsEachSubmissionPhase() {
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.findByEmail(any())).thenAnswer(invocation -> {
+			TimeUnit.MILLISECONDS.sleep(20);
+			User user = new User();
+			user.setId("user-1");
+			return Optional.of(user);
+		});
+		when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		LoanApplicationRepository applicationRepository = mock(LoanApplicationRepository.class);
+		when(applicationRepository.save(any(LoanApplication.class))).thenAnswer(invocation -> {
+			TimeUnit.MILLISECONDS.sleep(10);
+			LoanApplication application = invocation.getArgument(0);
+			application.setId("app-1");
+			return application;
+		});
+
+		LoanEligibilityService eligibilityService = new LoanEligibilityService();
+		ReflectionTestUtils.setField(eligibilityService, "meterRegistry", new SimpleMeterRegistry());
+		eligibilityService.registerMetrics();
+		LoanApplicationService service = new LoanApplicationService();
+		ReflectionTestUtils.setField(service, "userRepository", userRepository);
+		ReflectionTestUtils.setField(service, "loanApplicationRepository", applicationRepository);
+		ReflectionTestUtils.setField(service, "eligibilityService", eligibilityService);
+		ReflectionTestUtils.setField(service, "rangeIndex", mock(ApplicationRangeIndex.class));
+		ReflectionTestUtils.setField(service, "eventLog", mock(EventLog.class));
+		ReflectionTestUtils.setField(service, "searchIndex", mock(ApplicantSearchIndex.class));
+		ReflectionTestUtils.setField(service, "submissionTimeoutMs", 5000L);
+
+		LoanEligibilityService.EligibilityRequest eligibilityRequest = new LoanEligibilityService.EligibilityRequest(
+				"Asha Rao", 32, 1500000, 760, 10000, 500000, 60, "SALARIED");
+		LoanApplicationService.LoanApplicationRequest request = new LoanApplicationService.LoanApplicationRequest();
+		request.setEmail("asha@example.com");
+		SubmissionTimings timings = new SubmissionTimings();
+
+		service.checkEligibilityAndSave(eligibilityRequest, request, timings);
+
+		assertTrue(timings.nanos(SubmissionTimings.Phase.ELIGIBILITY) >= 0);
+		assertTrue(timings.nanos(SubmissionTimings.Phase.USER_UPSERT) >= TimeUnit.MILLISECONDS.toNanos(20));
+		assertTrue(timings.nanos(SubmissionTimings.Phase.INSERT) >= TimeUnit.MILLISECONDS.toNanos(10));
+		assertEquals(-1, timings.nanos(SubmissionTimings.Phase.VALIDATION));
+
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SubmissionPhaseMetrics metrics = new SubmissionPhaseMetrics();
+		ReflectionTestUtils.setField(metrics, "meterRegistry", registry);
+		metrics.registerTimers();
+		metrics.record(timings, SubmissionPhaseMetrics.SUCCESS);
+		assertEquals(1, registry.get("loan.submission.phase").tag("phase", "insert").tag("outcome", "success").timer().count());
+		assertEquals(0, registry.get("loan.submission.phase").tag("phase", "validation").tag("outcome", "success").timer().count());
+	}
+}
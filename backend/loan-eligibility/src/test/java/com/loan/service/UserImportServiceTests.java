@@ -0,0 +1,158 @@
+package com.loan.service;
+
+import com.loan.entity.User;
+import com.loan.repository.embedded.EmbeddedCollection;
+import com.loan.repository.embedded.EmbeddedUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportServiceTests {
+
+	@TempDir
+	Path directory;
+
+	private EmbeddedCollection<User> collection;
+	private EmbeddedUserRepository repository;
+	private PasswordHashingService passwordHashing;
+	private UserImportService importService;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		collection = new EmbeddedCollection<>("users", User.class, User::getId, User::setId,
+				directory.resolve("users.log"), 4096, false, 0.5, Integer.MAX_VALUE);
+		repository = new EmbeddedUserRepository(collection);
+
+		passwordHashing = new PasswordHashingService();
+		ReflectionTestUtils.setField(passwordHashing, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(passwordHashing, "threads", 1);
+		ReflectionTestUtils.setField(passwordHashing, "queueCapacity", 1);
+		ReflectionTestUtils.setField(passwordHashing, "minCost", 4);
+		ReflectionTestUtils.setField(passwordHashing, "calibrate", false);
+		passwordHashing.init();
+
+		importService = new UserImportService();
+		ReflectionTestUtils.setField(importService, "userRepository", repository);
+		ReflectionTestUtils.setField(importService, "passwordHashing", passwordHashing);
+		ReflectionTestUtils.setField(importService, "searchIndex", new ApplicantSearchIndex());
+		ReflectionTestUtils.setField(importService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+		ReflectionTestUtils.setField(importService, "batchSize", 3);
+		ReflectionTestUtils.setField(importService, "parallelism", 2);
+		importService.init();
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		importService.shutdown();
+		passwordHashing.shutdown();
+		collection.close();
+	}
+
+	private static InputStream csv(String... lines) {
+		return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private UserImportService.ImportJob importAndWait(InputStream csv) throws Exception {
+		return importService.startImport(csv).completion().get(30, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void importsValidRowsAndReportsDuplicatesAndRejects() throws Exception {
+		User existing = new User("Asha Rao", "asha@example.com", "9876543210");
+		repository.save(existing);
+
+		UserImportService.ImportJob job = importAndWait(csv(
+				"name,email,password,phone",
+				"Neha Shah,neha@example.com,secret123,9123456789",
+				"Asha Again,asha@example.com,secret123,",
+				"\"Iyer, Ravi\",ravi@example.com,\"pa\"\"ss,word\"",
+				"",
+				"X,not-an-email,123",
+				"Neha Twice,neha@example.com,secret123",
+				"too,few",
+				"Meera Nair,meera@example.com,secret123"));
+
+		assertEquals(UserImportService.ImportJob.Status.COMPLETED, job.getStatus());
+		assertSame(job, importService.findJob(job.getId()).orElseThrow());
+		UserImportService.ImportReport report = job.getReport();
+
+		assertEquals(7, report.getTotalRows());
+		assertEquals(3, report.getImported());
+		assertEquals(2, report.getDuplicates());
+		assertEquals(2, report.getRejected());
+		assertEquals(List.of(3, 6, 7, 8), report.getRejectedRows().stream().map(UserImportService.RejectedRow::getLine).toList());
+		assertEquals("Duplicate email", report.getRejectedRows().get(0).getReason());
+		assertTrue(report.getRejectedRows().get(1).getReason().contains("valid email"));
+		assertTrue(report.getRowsPerSecond() > 0);
+
+		User ravi = repository.findByEmail("ravi@example.com").orElseThrow();
+		assertEquals("Iyer, Ravi", ravi.getName());
+		assertTrue(new BCryptPasswordEncoder().matches("pa\"ss,word", ravi.getPassword()));
+		assertEquals("9123456789", repository.findByEmail("neha@example.com").orElseThrow().getPhone());
+		assertEquals(4, repository.count());
+	}
+
+	@Test
+	void rejectsFilesWithoutTheHeaderRow() throws Exception {
+		assertThrows(IllegalArgumentException.class,
+				() -> importService.startImport(csv("Neha Shah,neha@example.com,secret123")));
+		assertEquals(0, repository.count());
+
+		// The refusal does not hold the import slot
+		assertEquals(UserImportService.ImportJob.Status.COMPLETED,
+				importAndWait(csv("name,email,password", "Neha Shah,neha@example.com,secret123")).getStatus());
+		assertEquals(1, repository.count());
+	}
+
+	@Test
+	void secondImportIsRefusedWhileOneIsRunning() throws Exception {
+		CountDownLatch hashing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordHashingService blocking = new PasswordHashingService() {
+			@Override
+			public String encodeInline(String rawPassword) {
+				hashing.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return passwordHashing.encodeInline(rawPassword);
+			}
+		};
+		ReflectionTestUtils.setField(importService, "passwordHashing", blocking);
+		UserImportService.ImportJob first =
+				importService.startImport(csv("name,email,password", "Neha Shah,neha@example.com,secret123"));
+		assertTrue(hashing.await(10, TimeUnit.SECONDS));
+
+		assertEquals(UserImportService.ImportJob.Status.RUNNING, first.getStatus());
+		assertNull(first.getReport());
+		assertThrows(UserImportService.ImportAlreadyRunningException.class,
+				() -> importService.startImport(csv("name,email,password")));
+		release.countDown();
+
+		assertEquals(1, first.completion().get(10, TimeUnit.SECONDS).getReport().getImported());
+		assertTrue(importService.findJob("no-such-job").isEmpty());
+	}
+
+	@Test
+	void splitsQuotedCsvFields() {
+		assertEquals(List.of("a", "b,c", "d\"e", ""), UserImportService.splitCsv("a,\"b,c\",\"d\"\"e\","));
+	}
+}